@@ -0,0 +1,47 @@
+package io.github.kaleidscoper.abysscurse.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 层级判断（ConfigManager.getLayerByHeight 委托给 LayerTable.layerOf）
+ * 高度在 -64 到 320 之间均匀分布，覆盖七个层级与层级之外
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LayerTableBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private LayerTable table;
+    private double[] heights;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // 与 config.yml 默认层级一致
+        table = new LayerTable(
+            new double[] {85.0, 75.0, 40.0, 0.0, -8.0, -28.0, -64.0},
+            new double[] {96.0, 85.0, 75.0, 40.0, 0.0, -8.0, -28.0});
+        Random random = new Random(42);
+        heights = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            heights[i] = -64.0 + random.nextDouble() * 384.0;
+        }
+    }
+
+    @Benchmark
+    public int layerOf() {
+        double y = heights[next];
+        next = (next + 1) & (SAMPLES - 1);
+        return table.layerOf(y);
+    }
+}
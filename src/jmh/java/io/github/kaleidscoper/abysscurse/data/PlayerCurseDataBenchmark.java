@@ -0,0 +1,47 @@
+package io.github.kaleidscoper.abysscurse.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 累计上升记录
+ * 上升与下降成对执行，记录数量保持稳定；getTotalRise 在约 40 条记录（接近 2 格阈值）上测量
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerCurseDataBenchmark {
+    // 每 tick 上升约 0.05 格（缓慢攀爬）
+    private static final double STEP = 0.05;
+    private static final int RECORDS = 39;
+
+    private PlayerCurseData data;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        data = new PlayerCurseData(64.0);
+        for (int i = 0; i < RECORDS; i++) {
+            data.addRiseDelta(STEP);
+        }
+    }
+
+    @Benchmark
+    public double riseThenDescend() {
+        data.addRiseDelta(STEP);
+        data.consumeRiseDelta(STEP);
+        return data.getTotalRise();
+    }
+
+    @Benchmark
+    public double totalRise() {
+        return data.getTotalRise();
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.kaleidscoper.abysscurse.data;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * 玩家数据的编码与解码（与 PlayerDataManager 读写玩家文件相同的 YAML 格式，不含磁盘读写）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerDataCodecBenchmark {
+    private final Logger logger = Logger.getLogger("PlayerDataCodecBenchmark");
+
+    private PlayerCurseData data;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        data = new PlayerCurseData(-12.5);
+        data.setLastY(-30.25);
+        data.setCurrentLayer(6);
+        data.setCurseStartTime(1_700_000_000_000L);
+        data.setCurseDuration(1200);
+        data.setCurseArm(3);
+        data.setNarehate(true);
+        data.setNarehateType(PlayerCurseData.NarehateType.LUCKY);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public String encode() {
+        YamlConfiguration config = new YamlConfiguration();
+        PlayerDataManager.encode(config, data);
+        return config.saveToString();
+    }
+
+    @Benchmark
+    public PlayerCurseData decode() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(encoded);
+        return PlayerDataManager.decode(config, logger);
+    }
+}
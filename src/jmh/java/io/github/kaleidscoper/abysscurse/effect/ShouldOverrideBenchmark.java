@@ -0,0 +1,52 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 效果覆盖判断（EffectManager 在施加与刷新效果时调用）
+ * 来源、优先级、强度与是否永久随机组合，分支不可预测
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShouldOverrideBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private long[] existing;
+    private long[] candidates;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        EffectManager.EffectSource[] sources = EffectManager.EffectSource.values();
+        existing = new long[SAMPLES];
+        candidates = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            existing[i] = randomSlot(random, sources);
+            candidates[i] = randomSlot(random, sources);
+        }
+    }
+
+    private static long randomSlot(Random random, EffectManager.EffectSource[] sources) {
+        boolean permanent = random.nextBoolean();
+        return PlayerEffectState.pack(random.nextInt(3), sources[random.nextInt(sources.length)],
+            random.nextInt(4), permanent, permanent ? 0L : 1_700_000_000_000L + random.nextInt(60_000));
+    }
+
+    @Benchmark
+    public boolean shouldOverride() {
+        int i = next;
+        next = (i + 1) & (SAMPLES - 1);
+        return PlayerEffectState.shouldOverride(existing[i], candidates[i]);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.kaleidscoper.abysscurse.region;
+
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 豁免判断（RegionManager.isAffectedByCurse 中与豁免区数量相关的部分）
+ * 豁免区与豁免者使用与 RegionManager 相同的 CopyOnWriteArrayList；
+ * 模式与 Abyss 范围判断依赖运行中的服务端配置，不在此测量
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExemptionZoneBenchmark {
+    @Param({"0", "100", "10000"})
+    public int zones;
+
+    private List<ExemptionZone> exemptionZones;
+    private List<UUID> exemptPlayers;
+    // 不在任何豁免区内（需要检查全部豁免区）
+    private Location outside;
+    // 在最后一个豁免区内
+    private Location insideLast;
+    private UUID player;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        exemptionZones = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < zones; i++) {
+            int x = random.nextInt(20000) - 10000;
+            int z = random.nextInt(20000) - 10000;
+            exemptionZones.add(new ExemptionZone(x, 60, z, x + 16, 80, z + 16));
+        }
+        exemptPlayers = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            exemptPlayers.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        outside = new Location(null, 0.5, 200.0, 0.5);
+        insideLast = zones > 0
+            ? new Location(null, exemptionZones.get(zones - 1).getMinX() + 1, 70.0, exemptionZones.get(zones - 1).getMinZ() + 1)
+            : outside;
+        player = new UUID(random.nextLong(), random.nextLong());
+    }
+
+    @Benchmark
+    public boolean affectedOutsideZones() {
+        return !RegionManager.isInAnyZone(exemptionZones, outside) && !exemptPlayers.contains(player);
+    }
+
+    @Benchmark
+    public boolean affectedInsideLastZone() {
+        return !RegionManager.isInAnyZone(exemptionZones, insideLast) && !exemptPlayers.contains(player);
+    }
+}
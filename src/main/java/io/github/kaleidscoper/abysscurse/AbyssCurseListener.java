@@ -4,9 +4,12 @@ import io.github.kaleidscoper.abysscurse.config.ConfigManager;
 import io.github.kaleidscoper.abysscurse.curse.CurseManager;
 import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
-import io.github.kaleidscoper.abysscurse.mode.ModeManager;
-import io.github.kaleidscoper.abysscurse.mode.PluginMode;
+import io.github.kaleidscoper.abysscurse.eventlog.GameEvent;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import io.github.kaleidscoper.abysscurse.trace.TraceFormat;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -25,12 +28,7 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.scoreboard.Objective;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -39,22 +37,21 @@ import java.util.UUID;
  */
 public class AbyssCurseListener implements Listener {
     private final AbyssCursePlugin plugin;
+    private final TaskScheduler scheduler;
     private final PlayerDataManager playerDataManager;
     private final RegionManager regionManager;
-    private final ModeManager modeManager;
     private final CurseManager curseManager;
     private final ConfigManager configManager;
-    
-    // 存储每个玩家的定时检查任务（每20tick检查一次Y坐标变化）
-    private final Map<UUID, BukkitTask> playerCheckTasks = new HashMap<>();
+    private final TickProfiler profiler;
 
     public AbyssCurseListener(AbyssCursePlugin plugin) {
         this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
         this.playerDataManager = plugin.getPlayerDataManager();
         this.regionManager = plugin.getRegionManager();
-        this.modeManager = plugin.getModeManager();
         this.curseManager = plugin.getCurseManager();
         this.configManager = plugin.getConfigManager();
+        this.profiler = plugin.getTickProfiler();
     }
 
     /**
@@ -91,9 +88,9 @@ public class AbyssCurseListener implements Listener {
                         plugin.getEffectManager().removeCurseEffects(player);
                     }
                     
-                    // 停止第三层随机音效
-                    if (currentLayer == 3 && plugin.getSoundManager() != null) {
-                        plugin.getSoundManager().stopRandomSounds(player);
+                    // 停止环境音效
+                    if (plugin.getSoundManager() != null) {
+                        plugin.getSoundManager().stopAmbientSounds(player);
                     }
                 }
             } else {
@@ -119,11 +116,16 @@ public class AbyssCurseListener implements Listener {
         // 清空累计上升记录（玩家重新进入游戏时从新的安全高度开始）
         data.clearRiseRecords();
         
+        // 深层诅咒仍在持续则按已暴露时长继续生骸转换计时，否则清除残留的暴露状态
+        if (plugin.getNarehateManager() != null) {
+            plugin.getNarehateManager().resumeExposure(player);
+        }
+        
         // 如果玩家是生骸，重新应用生骸效果
         if (data.isNarehate() && data.getNarehateType() != null) {
             if (plugin.getNarehateManager() != null) {
                 // 延迟一小段时间确保玩家完全加载
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                scheduler.runForPlayerLater(player, () -> {
                     if (player.isOnline()) {
                         plugin.getNarehateManager().applyNarehateEffects(player, data.getNarehateType());
                     }
@@ -134,14 +136,16 @@ public class AbyssCurseListener implements Listener {
         // 发送欢迎消息
         player.sendMessage("§8[§5AbyssCurse§8] §7欢迎来到深渊，探窟家" + player.getName() + "！");
         
-        // 启动定时检查任务（每20tick检查一次Y坐标变化）
-        startPlayerCheckTask(player);
+        plugin.getTraceRecorder().record(TraceFormat.JOIN, player.getUniqueId(), player.getLocation());
+        
+        // 加入诅咒检测流水线（每10tick检查一次Y坐标变化）
+        plugin.getCurseTickPipeline().track(player);
         
-        // 初始化层级记分
+        // 初始化深度层级
         int initialLayer = regionManager.isInAbyss(player.getLocation())
                 ? configManager.getLayerByHeight(player.getLocation().getY())
                 : 0;
-        updateLayerScore(player, initialLayer);
+        plugin.getCurseTickPipeline().updateDepthLayer(player, initialLayer);
     }
 
     /**
@@ -153,10 +157,18 @@ public class AbyssCurseListener implements Listener {
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
         
-        // 停止定时检查任务
-        BukkitTask task = playerCheckTasks.remove(uuid);
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
+        // 移出诅咒检测流水线
+        plugin.getCurseTickPipeline().untrack(uuid);
+        plugin.getTraceRecorder().recordQuit(uuid);
+        
+        // 取消待执行的生骸转换（暴露开始时间保留在玩家数据中）
+        if (plugin.getNarehateManager() != null) {
+            plugin.getNarehateManager().cancelTransformation(uuid);
+        }
+        
+        // 让玩家离开层级 BossBar
+        if (plugin.getVisualManager() != null) {
+            plugin.getVisualManager().clearLayerDisplay(player);
         }
         
         // 清理滤镜管理器中的玩家数据
@@ -164,8 +176,21 @@ public class AbyssCurseListener implements Listener {
             plugin.getFilterManager().cleanupPlayer(uuid);
         }
         
+        // 清理成就完成缓存
+        if (plugin.getAchievementManager() != null) {
+            plugin.getAchievementManager().cleanupPlayer(uuid);
+        }
+        
+        // 清理 ActionBar 通道中的玩家状态
+        if (plugin.getActionBarChannel() != null) {
+            plugin.getActionBarChannel().cleanupPlayer(uuid);
+        }
+        
+        // 移除玩家的累计耗时
+        profiler.forgetPlayer(uuid);
+        
         // 归零层级记分，防止旧分数保留
-        updateLayerScore(player, 0);
+        plugin.getCurseTickPipeline().resetDepthLayer(player);
         
         // 保存玩家数据
         playerDataManager.savePlayerData(player);
@@ -238,6 +263,7 @@ public class AbyssCurseListener implements Listener {
         Location deathLocation = player.getLocation();
         data.setSafeHeight(deathLocation.getY());
         data.setLastY(deathLocation.getY());
+        plugin.getTraceRecorder().record(TraceFormat.DEATH, player.getUniqueId(), deathLocation);
         
         // 清除诅咒效果
         if (plugin.getEffectManager() != null) {
@@ -252,7 +278,7 @@ public class AbyssCurseListener implements Listener {
         // 停止诅咒检查任务（如果存在）
         curseManager.stopCurseCheck(player);
         
-        plugin.getLogger().info("玩家 " + player.getName() + " 死亡，已清空累计上升记录并重置安全高度");
+        plugin.getEventLog().log(GameEvent.PLAYER_DIED, player.getName());
     }
 
     /**
@@ -277,17 +303,27 @@ public class AbyssCurseListener implements Listener {
         
         // 确保累计上升记录已清空（死亡时应该已清空，但这里再次确保）
         data.clearRiseRecords();
+        plugin.getTraceRecorder().record(TraceFormat.RESPAWN, player.getUniqueId(), respawnLocation);
         
-        plugin.getLogger().info("玩家 " + player.getName() + " 复活，已重置安全高度为: " + respawnY);
+        plugin.getEventLog().log(GameEvent.PLAYER_RESPAWNED, player.getName(), respawnY);
     }
 
     /**
      * 玩家移动事件
      * 注意：这个事件触发频率很高，主要用于检测玩家进入/离开 Abyss 区域
-     * 实际的 Y 坐标检查在定时任务中进行（每20tick一次）
+     * 实际的 Y 坐标检查在 CurseTickPipeline 中进行（每10tick一次）
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerMove(PlayerMoveEvent event) {
+        long start = profiler.start();
+        try {
+            handlePlayerMove(event);
+        } finally {
+            profiler.stop(Subsystem.MOVE_EVENT, start, event.getPlayer().getUniqueId());
+        }
+    }
+
+    private void handlePlayerMove(PlayerMoveEvent event) {
         // 只检查位置是否改变（忽略旋转）
         Location from = event.getFrom();
         Location to = event.getTo();
@@ -319,115 +355,6 @@ public class AbyssCurseListener implements Listener {
         }
     }
 
-    /**
-     * 启动玩家的定时检查任务
-     * 每10tick（0.5秒）检查一次玩家的Y坐标变化
-     */
-    private void startPlayerCheckTask(Player player) {
-        UUID uuid = player.getUniqueId();
-        
-        // 如果已有任务，先取消
-        BukkitTask existingTask = playerCheckTasks.get(uuid);
-        if (existingTask != null && !existingTask.isCancelled()) {
-            existingTask.cancel();
-        }
-        
-        // 创建新任务
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                // 检查玩家是否在线
-                if (!player.isOnline()) {
-                    this.cancel();
-                    playerCheckTasks.remove(uuid);
-                    return;
-                }
-                
-                // 如果插件处于 OFF 模式，不处理
-                if (modeManager.getCurrentMode() == PluginMode.OFF) {
-                    return;
-                }
-                
-                // 获取玩家数据
-                PlayerCurseData data = playerDataManager.getData(player);
-                if (data == null) {
-                    return;
-                }
-                
-                Location location = player.getLocation();
-                double currentY = location.getY();
-                double lastY = data.getLastY();
-                
-                // 判定深度层级并同步到 scoreboard（用于 advancement 条件）
-                int depthLayer = regionManager.isInAbyss(location) ? configManager.getLayerByHeight(currentY) : 0;
-                updateLayerScore(player, depthLayer);
-                
-                // 检查玩家是否受诅咒影响
-                if (!regionManager.isAffectedByCurse(location, uuid)) {
-                    // 不受诅咒影响，只更新 lastY，不处理上升/下降
-                    data.setLastY(currentY);
-                    return;
-                }
-                
-                // 处理 Y 坐标变化
-                if (currentY > lastY) {
-                    // 上升：记录真实浮点增量，避免因四舍五入误判
-                    double riseDelta = currentY - lastY;
-                    
-                    // 忽略极小抖动
-                    if (riseDelta >= 0.01) {
-                        data.addRiseDelta(riseDelta);
-                        
-                        // 获取当前累计上升高度（自动清理过期记录）
-                        double totalRise = data.getTotalRise();
-                        
-                        // 检查是否达到触发诅咒的阈值
-                        double threshold = configManager.getRiseThreshold();
-                        if (totalRise >= threshold) {
-                            // 触发诅咒
-                            double safeHeight = data.getSafeHeight();
-                            curseManager.triggerCurse(player, safeHeight);
-                            
-                            // 清空累计上升记录
-                            data.clearRiseRecords();
-                            // 累计上升高度清零时刷新安全高度（将当前高度设为新的安全高度）
-                            data.setSafeHeight(currentY);
-                        }
-                    }
-                } else if (currentY < lastY) {
-                    // 下降：减少累计上升高度，刷新安全高度
-                    double descendDelta = lastY - currentY;
-                    if (descendDelta >= 0.01) {
-                        data.consumeRiseDelta(descendDelta);
-                    }
-                    data.setSafeHeight(currentY);
-                }
-                
-                // 累计上升高度为零时，将当前高度设为新的安全高度
-                double totalRise = data.getTotalRise();
-                if (totalRise <= 1e-6 && data.getSafeHeight() != currentY) {
-                    data.setSafeHeight(currentY);
-                }
-                
-                // 更新 lastY
-                data.setLastY(currentY);
-            }
-        }.runTaskTimer(plugin, 0, 10); // 每10tick（0.5秒）执行一次
-        
-        playerCheckTasks.put(uuid, task);
-    }
-    
-    /**
-     * 同步玩家的深度层级到 scoreboard（供 advancement 使用）
-     */
-    private void updateLayerScore(Player player, int layer) {
-        Objective objective = plugin.getLayerObjective();
-        if (objective == null) {
-            return;
-        }
-        objective.getScore(player.getName()).setScore(layer);
-    }
-    
     /**
      * 检查玩家是否在第六层及以下（禁止聊天栏）
      * 无论是否是生骸或是否在豁免区，都要检查
@@ -496,6 +423,15 @@ public class AbyssCurseListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerChat(AsyncChatEvent event) {
+        long start = profiler.start();
+        try {
+            handlePlayerChat(event);
+        } finally {
+            profiler.stop(Subsystem.CHAT_EVENT, start, event.getPlayer().getUniqueId());
+        }
+    }
+
+    private void handlePlayerChat(AsyncChatEvent event) {
         Player player = event.getPlayer();
         
         // 检查是否在第六层及以下
@@ -525,6 +461,15 @@ public class AbyssCurseListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerInteract(PlayerInteractEvent event) {
+        long start = profiler.start();
+        try {
+            handlePlayerInteract(event);
+        } finally {
+            profiler.stop(Subsystem.INTERACT_EVENT, start, event.getPlayer().getUniqueId());
+        }
+    }
+
+    private void handlePlayerInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
         
         // 只处理右键事件
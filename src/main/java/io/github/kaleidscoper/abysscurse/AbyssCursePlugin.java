@@ -1,23 +1,33 @@
 package io.github.kaleidscoper.abysscurse;
 
 import io.github.kaleidscoper.abysscurse.achievement.AchievementManager;
+import io.github.kaleidscoper.abysscurse.achievement.AdvancementDefinitionLoader;
 import io.github.kaleidscoper.abysscurse.command.CommandHandler;
 import io.github.kaleidscoper.abysscurse.config.ConfigManager;
 import io.github.kaleidscoper.abysscurse.curse.CurseManager;
+import io.github.kaleidscoper.abysscurse.curse.CurseTickPipeline;
 import io.github.kaleidscoper.abysscurse.curse.NarehateManager;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
 import io.github.kaleidscoper.abysscurse.debug.DebugManager;
 import io.github.kaleidscoper.abysscurse.effect.EffectManager;
 import io.github.kaleidscoper.abysscurse.effect.LayerEffectManager;
+import io.github.kaleidscoper.abysscurse.eventlog.EventLog;
 import io.github.kaleidscoper.abysscurse.filter.FilterManager;
+import io.github.kaleidscoper.abysscurse.metrics.PrometheusExporter;
 import io.github.kaleidscoper.abysscurse.mode.ModeManager;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import io.github.kaleidscoper.abysscurse.sound.SoundManager;
+import io.github.kaleidscoper.abysscurse.trace.TraceRecorder;
+import io.github.kaleidscoper.abysscurse.visual.ActionBarChannel;
+import io.github.kaleidscoper.abysscurse.visual.ParticleService;
 import io.github.kaleidscoper.abysscurse.visual.VisualManager;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
@@ -29,34 +39,65 @@ import org.bukkit.scoreboard.ScoreboardManager;
  */
 public final class AbyssCursePlugin extends JavaPlugin {
 
+    private TickProfiler tickProfiler;
+    private TaskScheduler taskScheduler;
+    private PrometheusExporter metricsExporter;
     private ConfigManager configManager;
+    private EventLog eventLog;
+    private TraceRecorder traceRecorder;
     private ModeManager modeManager;
     private RegionManager regionManager;
     private PlayerDataManager playerDataManager;
     private EffectManager effectManager;
     private LayerEffectManager layerEffectManager;
     private CurseManager curseManager;
+    private CurseTickPipeline curseTickPipeline;
     private NarehateManager narehateManager;
+    private ActionBarChannel actionBarChannel;
     private FilterManager filterManager;
     private SoundManager soundManager;
     private VisualManager visualManager;
+    private ParticleService particleService;
     private CommandHandler commandHandler;
     private DebugManager debugManager;
     private AchievementManager achievementManager;
+    private AdvancementDefinitionLoader advancementLoader;
     private Objective layerObjective;
     
     // 定期自动保存任务
-    private BukkitTask autoSaveTask;
+    private ScheduledHandle autoSaveTask;
+
+    @Override
+    public void onLoad() {
+        // 在后台并行读取成就定义，onEnable 时直接取用
+        advancementLoader = new AdvancementDefinitionLoader(this);
+        advancementLoader.preload();
+    }
 
     @Override
     public void onEnable() {
         getLogger().info("正在加载 AbyssCurse 插件...");
 
         try {
+            // 初始化任务调度器（根据服务端选择 Paper 或 Folia 实现）
+            tickProfiler = new TickProfiler();
+            taskScheduler = TaskScheduler.create(this, tickProfiler);
+            getLogger().info("任务调度器已初始化（" + (taskScheduler.isRegionized() ? "Folia 区域化调度" : "Paper 主线程调度") + "）");
+
             // 初始化配置管理器
             configManager = new ConfigManager(this);
+            tickProfiler.setEnabled(configManager.isProfilingEnabled());
             getLogger().info("配置管理器已初始化");
 
+            // 初始化事件日志（后台线程写入 logs 目录）
+            eventLog = new EventLog(this);
+            eventLog.configure(configManager);
+            eventLog.start();
+
+            // 初始化移动轨迹记录（默认关闭）
+            traceRecorder = new TraceRecorder(this);
+            traceRecorder.reload();
+
             // 初始化模式管理器
             modeManager = new ModeManager(this, configManager);
             getLogger().info("模式管理器已初始化，当前模式: " + modeManager.getCurrentMode().name());
@@ -66,52 +107,66 @@ public final class AbyssCursePlugin extends JavaPlugin {
             getLogger().info("区域管理器已初始化");
 
             // 初始化玩家数据管理器
-            playerDataManager = new PlayerDataManager(this);
+            playerDataManager = new PlayerDataManager(this, taskScheduler);
             getLogger().info("玩家数据管理器已初始化");
 
             // 初始化效果管理器
-            effectManager = new EffectManager(this, playerDataManager);
+            effectManager = new EffectManager(this, taskScheduler, playerDataManager);
+            effectManager.updateEffectTables(configManager.getEffectTables());
             getLogger().info("效果管理器已初始化");
             
+            // 初始化 ActionBar 通道（滤镜与调试信息共用）
+            actionBarChannel = new ActionBarChannel();
+            
             // 初始化滤镜管理器（需要在 CurseManager 之前创建）
-            filterManager = new FilterManager(this, playerDataManager, configManager);
+            filterManager = new FilterManager(this, taskScheduler, playerDataManager, configManager, actionBarChannel);
             getLogger().info("滤镜管理器已初始化");
             
             // 初始化音效管理器（需要在 CurseManager 之前创建）
-            soundManager = new SoundManager(this);
+            soundManager = new SoundManager(this, taskScheduler);
+            soundManager.updateSoundPools(configManager.getSoundPools());
             getLogger().info("音效管理器已初始化");
             
             // 初始化视觉管理器（需要在 LayerEffectManager 之前创建）
             visualManager = new VisualManager(this);
+            particleService = new ParticleService(this);
             getLogger().info("视觉管理器已初始化");
             
             // 初始化层级效果管理器
-            layerEffectManager = new LayerEffectManager(this, playerDataManager, effectManager, configManager, modeManager, regionManager);
+            layerEffectManager = new LayerEffectManager(this, taskScheduler, playerDataManager, effectManager, configManager, modeManager, regionManager);
             layerEffectManager.setVisualManager(visualManager);
             getLogger().info("层级效果管理器已初始化");
             
             // 初始化诅咒管理器（需要在依赖管理器创建之后）
-            curseManager = new CurseManager(this, playerDataManager, regionManager, configManager);
+            curseManager = new CurseManager(this, taskScheduler, playerDataManager);
             curseManager.setEffectHandler(effectManager);
             curseManager.setFilterManager(filterManager);
             curseManager.setSoundManager(soundManager);
+            curseManager.setEventLog(eventLog);
             getLogger().info("诅咒管理器已初始化");
             
             // 初始化生骸管理器
-            narehateManager = new NarehateManager(this, playerDataManager, regionManager);
+            narehateManager = new NarehateManager(this, taskScheduler, playerDataManager, regionManager);
+            narehateManager.setParticleService(particleService);
+            narehateManager.setEventLog(eventLog);
+            effectManager.setExposureListener(narehateManager);
             getLogger().info("生骸管理器已初始化");
 
             // 初始化成就管理器
             achievementManager = new AchievementManager(this);
-            achievementManager.initialize();
+            achievementManager.initialize(advancementLoader.await());
             getLogger().info("成就管理器已初始化");
 
             // 初始化调试管理器
-            debugManager = new DebugManager(this, configManager, modeManager, regionManager, playerDataManager);
+            debugManager = new DebugManager(this, taskScheduler, configManager, modeManager, regionManager, playerDataManager, actionBarChannel);
             getLogger().info("调试管理器已初始化");
 
-            // 初始化层级成就所需的 scoreboard
-            setupLayerObjective();
+            // 初始化层级成就所需的 scoreboard（直接授予模式下不需要）
+            if (achievementManager.isDirectAward()) {
+                getLogger().info("层级成就使用直接授予模式，不创建层级记分项");
+            } else {
+                setupLayerObjective();
+            }
 
             // 初始化命令处理器
             commandHandler = new CommandHandler(this, modeManager, configManager, debugManager, playerDataManager, regionManager);
@@ -119,16 +174,26 @@ public final class AbyssCursePlugin extends JavaPlugin {
             getCommand("abysscurse").setTabCompleter(commandHandler);
             getLogger().info("命令处理器已注册");
 
+            // 初始化诅咒检测流水线（需要在 CurseManager 与 scoreboard 之后）
+            curseTickPipeline = new CurseTickPipeline(this);
+            curseTickPipeline.start();
+            getLogger().info("诅咒检测流水线已启动");
+
             // 注册事件监听器
             getServer().getPluginManager().registerEvents(new AbyssCurseListener(this), this);
+            getServer().getPluginManager().registerEvents(achievementManager, this);
             getLogger().info("事件监听器已注册");
             
             // 启动定期自动保存任务（每5分钟保存一次）
-            autoSaveTask = getServer().getScheduler().runTaskTimer(this, () -> {
+            autoSaveTask = taskScheduler.runGlobalTimer(tickProfiler.wrap(Subsystem.AUTOSAVE, () -> {
                 playerDataManager.autoSave();
-            }, 6000, 6000); // 6000 tick = 5分钟
+            }), 6000, 6000); // 6000 tick = 5分钟
             getLogger().info("自动保存任务已启动");
 
+            // 启动指标导出（如果已开启）
+            metricsExporter = new PrometheusExporter(this);
+            metricsExporter.reload();
+
             // 启动调试管理器（如果全局调试开启）
             if (configManager.isDebugEnabled()) {
                 debugManager.start();
@@ -152,6 +217,21 @@ public final class AbyssCursePlugin extends JavaPlugin {
             autoSaveTask.cancel();
         }
 
+        // 停止指标导出
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+
+        // 停止诅咒检测流水线
+        if (curseTickPipeline != null) {
+            curseTickPipeline.stop();
+        }
+
+        // 停止轨迹记录
+        if (traceRecorder != null) {
+            traceRecorder.stop();
+        }
+
         // 保存所有玩家数据
         if (playerDataManager != null) {
             playerDataManager.saveAllPlayerData();
@@ -170,12 +250,18 @@ public final class AbyssCursePlugin extends JavaPlugin {
         if (visualManager != null) {
             visualManager.stop();
         }
+        if (soundManager != null) {
+            soundManager.stop();
+        }
         if (narehateManager != null) {
             narehateManager.stop();
         }
         if (debugManager != null) {
             debugManager.stop();
         }
+        if (actionBarChannel != null) {
+            actionBarChannel.stop();
+        }
         if (achievementManager != null) {
             achievementManager.shutdown();
         }
@@ -185,9 +271,49 @@ public final class AbyssCursePlugin extends JavaPlugin {
             configManager.saveConfig();
         }
 
+        // 写完剩余事件后停止事件日志
+        if (eventLog != null) {
+            eventLog.stop();
+        }
+
         getLogger().info("AbyssCurse 插件已卸载！");
     }
 
+    /**
+     * 获取任务调度器
+     */
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * 获取定时任务耗时统计
+     */
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
+    /**
+     * 获取指标导出
+     */
+    public PrometheusExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+
+    /**
+     * 获取事件日志
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * 获取移动轨迹记录
+     */
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+
     /**
      * 获取配置管理器
      */
@@ -237,6 +363,13 @@ public final class AbyssCursePlugin extends JavaPlugin {
         return curseManager;
     }
     
+    /**
+     * 获取诅咒检测流水线
+     */
+    public CurseTickPipeline getCurseTickPipeline() {
+        return curseTickPipeline;
+    }
+    
     /**
      * 获取效果管理器
      */
@@ -251,6 +384,13 @@ public final class AbyssCursePlugin extends JavaPlugin {
         return filterManager;
     }
     
+    /**
+     * 获取 ActionBar 通道
+     */
+    public ActionBarChannel getActionBarChannel() {
+        return actionBarChannel;
+    }
+
     /**
      * 获取音效管理器
      */
@@ -265,6 +405,13 @@ public final class AbyssCursePlugin extends JavaPlugin {
         return visualManager;
     }
     
+    /**
+     * 获取粒子效果服务
+     */
+    public ParticleService getParticleService() {
+        return particleService;
+    }
+    
     /**
      * 获取生骸管理器
      */
@@ -280,20 +427,27 @@ public final class AbyssCursePlugin extends JavaPlugin {
     }
 
     /**
-     * 获取层级记分板目标
+     * 获取层级记分板目标（直接授予成就模式下或 Folia 上为 null）
      */
     public Objective getLayerObjective() {
         return layerObjective;
     }
 
     private void setupLayerObjective() {
-        ScoreboardManager manager = Bukkit.getScoreboardManager();
-        if (manager == null) {
+        ScoreboardManager manager;
+        Scoreboard scoreboard;
+        try {
+            manager = Bukkit.getScoreboardManager();
+            scoreboard = manager != null ? manager.getMainScoreboard() : null;
+        } catch (UnsupportedOperationException e) {
+            // Folia 不支持主记分板
+            scoreboard = null;
+        }
+        if (scoreboard == null) {
             getLogger().warning("无法初始化层级记分板，部分成就可能无法触发");
             return;
         }
 
-        Scoreboard scoreboard = manager.getMainScoreboard();
         Objective objective = scoreboard.getObjective("abyss_layer");
         if (objective == null) {
             try {
@@ -17,39 +17,39 @@ public enum Achievement {
      * 赤笛
      * 描述：望向深渊
      */
-    RED_WHISTLE("red_whistle", "赤笛", "望向深渊", ABYSS_EDGE, false),
+    RED_WHISTLE("red_whistle", "赤笛", "望向深渊", ABYSS_EDGE, false, false, 1),
     
     /**
      * 苍笛
      * 描述：离开摇篮
      */
-    BLUE_WHISTLE("blue_whistle", "苍笛", "离开摇篮", RED_WHISTLE, false),
+    BLUE_WHISTLE("blue_whistle", "苍笛", "离开摇篮", RED_WHISTLE, false, false, 2),
     
     /**
      * 月笛
      * 描述：刻写历史
      */
-    MOON_WHISTLE("moon_whistle", "月笛", "刻写历史", BLUE_WHISTLE, false),
+    MOON_WHISTLE("moon_whistle", "月笛", "刻写历史", BLUE_WHISTLE, false, false, 3),
     
     /**
      * 黑笛
      * 描述：带回故事
      */
-    BLACK_WHISTLE("black_whistle", "黑笛", "带回故事", MOON_WHISTLE, false),
+    BLACK_WHISTLE("black_whistle", "黑笛", "带回故事", MOON_WHISTLE, false, false, 4),
     
     /**
      * 白笛
      * 描述：成为传说
      * 挑战类进度，音效：ui.toast.challenge_complete
      */
-    WHITE_WHISTLE("white_whistle", "白笛", "成为传说", BLACK_WHISTLE, false, true),
+    WHITE_WHISTLE("white_whistle", "白笛", "成为传说", BLACK_WHISTLE, false, true, 5),
     
     /**
      * 绝界行
      * 描述：有去无回
      * 挑战类进度，音效：ui.toast.challenge_complete
      */
-    UNRETURNED("unreturned", "绝界行", "有去无回", WHITE_WHISTLE, false, true),
+    UNRETURNED("unreturned", "绝界行", "有去无回", WHITE_WHISTLE, false, true, 6),
     
     /**
      * 来自深渊
@@ -63,7 +63,18 @@ public enum Achievement {
      * 描述：故事不会从这里结束
      * 挑战类进度，音效：ui.toast.challenge_complete
      */
-    NARAKU("naraku", "奈落之底", "故事不会从这里结束", UNRETURNED, false, true);
+    NARAKU("naraku", "奈落之底", "故事不会从这里结束", UNRETURNED, false, true, 7);
+    
+    // 按层级索引的层级成就（下标即层级）
+    private static final Achievement[] BY_LAYER = new Achievement[8];
+    
+    static {
+        for (Achievement achievement : values()) {
+            if (achievement.layer > 0) {
+                BY_LAYER[achievement.layer] = achievement;
+            }
+        }
+    }
     
     private final String id;
     private final String name;
@@ -71,6 +82,7 @@ public enum Achievement {
     private final Achievement parent;
     private final boolean defaultUnlocked;
     private final boolean isChallenge;
+    private final int layer;
     
     /**
      * 构造函数
@@ -96,12 +108,28 @@ public enum Achievement {
      * @param isChallenge 是否为挑战类进度
      */
     Achievement(String id, String name, String description, Achievement parent, boolean defaultUnlocked, boolean isChallenge) {
+        this(id, name, description, parent, defaultUnlocked, isChallenge, 0);
+    }
+    
+    /**
+     * 构造函数
+     * 
+     * @param id 成就ID（用于NamespacedKey）
+     * @param name 成就显示名称
+     * @param description 成就描述
+     * @param parent 父成就（null表示根节点）
+     * @param defaultUnlocked 是否默认解锁
+     * @param isChallenge 是否为挑战类进度
+     * @param layer 到达该层级时达成（0表示不是层级成就）
+     */
+    Achievement(String id, String name, String description, Achievement parent, boolean defaultUnlocked, boolean isChallenge, int layer) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.parent = parent;
         this.defaultUnlocked = defaultUnlocked;
         this.isChallenge = isChallenge;
+        this.layer = layer;
     }
     
     /**
@@ -146,6 +174,26 @@ public enum Achievement {
         return isChallenge;
     }
     
+    /**
+     * 获取对应的层级（0表示不是层级成就）
+     */
+    public int getLayer() {
+        return layer;
+    }
+    
+    /**
+     * 根据层级获取层级成就
+     * 
+     * @param layer 层级（1-7）
+     * @return 层级成就，不存在时返回 null
+     */
+    public static Achievement forLayer(int layer) {
+        if (layer <= 0 || layer >= BY_LAYER.length) {
+            return null;
+        }
+        return BY_LAYER[layer];
+    }
+    
     /**
      * 获取NamespacedKey（需要插件实例来创建）
      */
@@ -1,47 +1,182 @@
 package io.github.kaleidscoper.abysscurse.achievement;
 
 import io.github.kaleidscoper.abysscurse.AbyssCursePlugin;
+import io.github.kaleidscoper.abysscurse.event.AbyssLayerChangeEvent;
+import io.github.kaleidscoper.abysscurse.eventlog.GameEvent;
+import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.UnsafeValues;
+import org.bukkit.World;
 import org.bukkit.advancement.Advancement;
 import org.bukkit.advancement.AdvancementProgress;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerAdvancementDoneEvent;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 成就管理器
  * 负责注册和管理"深渊"成就树
+ * 直接授予模式下，层级成就以 minecraft:impossible 触发器注册，
+ * 由本管理器监听层级切换事件直接授予
+ * 成就句柄在初始化后解析一次并在数据包重载后刷新，玩家完成情况缓存为位图
  */
 @SuppressWarnings("deprecation")
-public class AchievementManager {
+public class AchievementManager implements Listener {
 
     private final AbyssCursePlugin plugin;
     private final Set<NamespacedKey> registeredAdvancements = new HashSet<>();
+    
+    // 是否直接授予层级成就（启动时读取，修改后需重启）
+    private final boolean directAward;
+    
+    // 各成就的 NamespacedKey（构造时创建一次）
+    private final Map<Achievement, NamespacedKey> keys = new EnumMap<>(Achievement.class);
+    private final Map<NamespacedKey, Achievement> byKey = new HashMap<>();
+    
+    // 已校验的成就定义（数据包重载后重新注册时复用）
+    private Map<Achievement, AdvancementDefinitionLoader.Definition> definitions = new EnumMap<>(Achievement.class);
+    
+    // 已解析的 Advancement 句柄（初始化后解析，数据包重载后刷新）
+    private volatile Map<Achievement, Advancement> handles = new EnumMap<>(Achievement.class);
+    
+    // 已加载玩家的标记位
+    private static final int LOADED_BIT = 1 << 31;
+    
+    // 每个玩家已完成成就的位图（按 ordinal 置位），首次查询时从进度加载
+    private final Map<UUID, AtomicInteger> completedBits = new ConcurrentHashMap<>();
 
     public AchievementManager(AbyssCursePlugin plugin) {
         this.plugin = plugin;
+        this.directAward = plugin.getConfigManager().isDirectAchievementAward();
+        for (Achievement achievement : Achievement.values()) {
+            NamespacedKey key = achievement.getKey(plugin);
+            keys.put(achievement, key);
+            byKey.put(key, achievement);
+        }
+    }
+    
+    /**
+     * 是否直接授予层级成就（此时不需要 abyss_layer 记分项）
+     */
+    public boolean isDirectAward() {
+        return directAward;
     }
 
     /**
      * 初始化成就系统
      * 通过 Bukkit 的动态注册接口载入 JSON 定义，避免玩家手动 reload
+     * 定义已在 onLoad 阶段于后台读取并校验，这里只在主线程一次性批量注册
+     *
+     * @param definitions 已校验的成就定义
      */
-    public void initialize() {
-        plugin.getLogger().info("正在初始化成就系统（使用动态注册 API）...");
+    public void initialize(Map<Achievement, AdvancementDefinitionLoader.Definition> definitions) {
+        this.definitions = definitions;
 
         for (Achievement achievement : Achievement.values()) {
             registerAdvancement(achievement);
         }
+        resolveHandles();
 
         plugin.getLogger().info("成就系统初始化完成，共动态注册 " + registeredAdvancements.size() + " 个成就");
     }
+    
+    /**
+     * 解析所有成就的 Advancement 句柄
+     */
+    private void resolveHandles() {
+        Map<Achievement, Advancement> resolved = new EnumMap<>(Achievement.class);
+        for (Map.Entry<Achievement, NamespacedKey> entry : keys.entrySet()) {
+            Advancement advancement = Bukkit.getAdvancement(entry.getValue());
+            if (advancement != null) {
+                resolved.put(entry.getKey(), advancement);
+            }
+        }
+        handles = resolved;
+    }
+    
+    /**
+     * 获取已解析的 Advancement 句柄
+     */
+    private Advancement getHandle(Achievement achievement) {
+        return handles.get(achievement);
+    }
+    
+    /**
+     * 数据包重载后重新解析句柄（缺失的成就重新注册），并清空玩家完成位图
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onResourcesReloaded(ServerResourcesReloadedEvent event) {
+        for (Achievement achievement : Achievement.values()) {
+            if (Bukkit.getAdvancement(keys.get(achievement)) == null) {
+                registeredAdvancements.remove(keys.get(achievement));
+                registerAdvancement(achievement);
+            }
+        }
+        resolveHandles();
+        completedBits.clear();
+        plugin.getLogger().info("数据包已重载，成就句柄已刷新");
+    }
+    
+    /**
+     * 玩家完成成就时更新完成位图（包括原版触发器达成的成就）
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAdvancementDone(PlayerAdvancementDoneEvent event) {
+        Achievement achievement = byKey.get(event.getAdvancement().getKey());
+        if (achievement != null) {
+            updateCompleted(event.getPlayer().getUniqueId(), achievement, true);
+        }
+    }
+    
+    /**
+     * 清理玩家的完成位图（玩家退出时调用）
+     */
+    public void cleanupPlayer(UUID uuid) {
+        completedBits.remove(uuid);
+    }
+    
+    /**
+     * 获取玩家的完成位图，首次查询时从进度加载
+     */
+    private int getCompletedBits(Player player) {
+        return completedBits.computeIfAbsent(player.getUniqueId(), uuid -> {
+            int bits = LOADED_BIT;
+            for (Map.Entry<Achievement, Advancement> entry : handles.entrySet()) {
+                if (player.getAdvancementProgress(entry.getValue()).isDone()) {
+                    bits |= 1 << entry.getKey().ordinal();
+                }
+            }
+            return new AtomicInteger(bits);
+        }).get();
+    }
+    
+    /**
+     * 更新已加载玩家的完成位图（未加载的玩家在下次查询时从进度加载）
+     */
+    private void updateCompleted(UUID uuid, Achievement achievement, boolean done) {
+        AtomicInteger bits = completedBits.get(uuid);
+        if (bits == null) {
+            return;
+        }
+        int mask = 1 << achievement.ordinal();
+        if (done) {
+            bits.getAndUpdate(value -> value | mask);
+        } else {
+            bits.getAndUpdate(value -> value & ~mask);
+        }
+    }
 
     /**
      * 插件卸载时撤销动态注册的成就，保持世界整洁
@@ -58,6 +193,8 @@ public class AchievementManager {
             }
         }
         registeredAdvancements.clear();
+        handles = new EnumMap<>(Achievement.class);
+        completedBits.clear();
         if (removed > 0) {
             plugin.getLogger().info("已撤销 " + removed + " 个动态注册的成就");
         }
@@ -69,7 +206,7 @@ public class AchievementManager {
      * @param achievement 成就枚举
      */
     private void registerAdvancement(Achievement achievement) {
-        NamespacedKey key = achievement.getKey(plugin);
+        NamespacedKey key = keys.get(achievement);
 
         Advancement existing = Bukkit.getAdvancement(key);
         if (existing != null) {
@@ -77,35 +214,44 @@ public class AchievementManager {
             return;
         }
 
-        String json = loadAdvancementJson(achievement);
-        if (json == null || json.isEmpty()) {
+        AdvancementDefinitionLoader.Definition definition = definitions.get(achievement);
+        if (definition == null) {
             plugin.getLogger().warning("无法读取成就定义: " + key);
             return;
         }
+        
+        // 直接授予模式：层级成就的条件改为 impossible，由插件授予
+        String json = directAward && achievement.getLayer() > 0
+            ? definition.getImpossibleJson()
+            : definition.getJson();
 
         try {
             Bukkit.getUnsafe().loadAdvancement(key, json);
             registeredAdvancements.add(key);
-            plugin.getLogger().info("已动态注册成就: " + achievement.getName() + " (" + key + ")");
+            plugin.getLogger().fine("已动态注册成就: " + achievement.getName() + " (" + key + ")");
         } catch (IllegalArgumentException e) {
             plugin.getLogger().warning("动态注册成就失败: " + key + " -> " + e.getMessage());
         }
     }
 
-    private String loadAdvancementJson(Achievement achievement) {
-        String resourcePath = "data/abysscurse/advancements/abyss/" + achievement.getId() + ".json";
-        try (InputStream stream = plugin.getResource(resourcePath)) {
-            if (stream == null) {
-                plugin.getLogger().warning("找不到资源文件: " + resourcePath);
-                return null;
-            }
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            stream.transferTo(buffer);
-            return buffer.toString(StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            plugin.getLogger().warning("读取资源失败: " + resourcePath + " -> " + e.getMessage());
-            return null;
+    /**
+     * 层级切换时直接授予对应的层级成就（仅直接授予模式）
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLayerChange(AbyssLayerChangeEvent event) {
+        if (!directAward) {
+            return;
         }
+        Achievement achievement = Achievement.forLayer(event.getToLayer());
+        if (achievement == null) {
+            return;
+        }
+        // 与原定义一致，只在主世界达成
+        Player player = event.getPlayer();
+        if (player.getWorld().getEnvironment() != World.Environment.NORMAL) {
+            return;
+        }
+        grantAchievement(player, achievement);
     }
 
     /**
@@ -115,11 +261,15 @@ public class AchievementManager {
      * @param achievement 成就
      */
     public void grantAchievement(Player player, Achievement achievement) {
-        NamespacedKey key = achievement.getKey(plugin);
-        Advancement advancement = Bukkit.getAdvancement(key);
+        Advancement advancement = getHandle(achievement);
 
         if (advancement == null) {
-            plugin.getLogger().warning("成就不存在: " + key + "，无法授予玩家 " + player.getName());
+            plugin.getLogger().warning("成就不存在: " + keys.get(achievement) + "，无法授予玩家 " + player.getName());
+            return;
+        }
+
+        if (hasAchievement(player, achievement)) {
+            plugin.getLogger().fine("玩家 " + player.getName() + " 已拥有成就: " + achievement.getName());
             return;
         }
 
@@ -129,28 +279,25 @@ public class AchievementManager {
                 progress.awardCriteria(criteria);
             }
 
-            plugin.getLogger().info("已授予玩家 " + player.getName() + " 成就: " + achievement.getName());
-        } else {
-            plugin.getLogger().fine("玩家 " + player.getName() + " 已拥有成就: " + achievement.getName());
+            plugin.getEventLog().log(GameEvent.ACHIEVEMENT_GRANTED, player.getName(), achievement.getName());
         }
+        updateCompleted(player.getUniqueId(), achievement, true);
     }
 
     /**
      * 检查玩家是否已获得成就
+     * 使用玩家的完成位图，不查询 AdvancementProgress
      *
      * @param player      玩家
      * @param achievement 成就
      * @return 是否已获得
      */
     public boolean hasAchievement(Player player, Achievement achievement) {
-        NamespacedKey key = achievement.getKey(plugin);
-        Advancement advancement = Bukkit.getAdvancement(key);
-
-        if (advancement == null) {
+        if (getHandle(achievement) == null) {
             return false;
         }
 
-        return player.getAdvancementProgress(advancement).isDone();
+        return (getCompletedBits(player) & (1 << achievement.ordinal())) != 0;
     }
 
     /**
@@ -160,11 +307,10 @@ public class AchievementManager {
      * @param achievement 成就
      */
     public void revokeAchievement(Player player, Achievement achievement) {
-        NamespacedKey key = achievement.getKey(plugin);
-        Advancement advancement = Bukkit.getAdvancement(key);
+        Advancement advancement = getHandle(achievement);
 
         if (advancement == null) {
-            plugin.getLogger().warning("成就不存在: " + key + "，无法撤销玩家 " + player.getName() + " 的成就");
+            plugin.getLogger().warning("成就不存在: " + keys.get(achievement) + "，无法撤销玩家 " + player.getName() + " 的成就");
             return;
         }
 
@@ -176,6 +322,6 @@ public class AchievementManager {
 
             plugin.getLogger().fine("已撤销玩家 " + player.getName() + " 的成就: " + achievement.getName());
         }
+        updateCompleted(player.getUniqueId(), achievement, false);
     }
 }
-
@@ -0,0 +1,164 @@
+package io.github.kaleidscoper.abysscurse.achievement;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 成就定义加载器
+ * 在 onLoad 阶段于后台线程并行读取并校验所有成就 JSON，
+ * onEnable 时只需取出结果，在主线程一次性批量注册。
+ */
+public class AdvancementDefinitionLoader {
+    private static final String RESOURCE_ROOT = "data/abysscurse/advancements/abyss/";
+
+    private final JavaPlugin plugin;
+
+    // 后台加载结果
+    private CompletableFuture<Map<Achievement, Definition>> pending;
+
+    /**
+     * 已校验的成就定义
+     */
+    public static final class Definition {
+        private final String json;
+        private final String impossibleJson;
+
+        private Definition(String json, String impossibleJson) {
+            this.json = json;
+            this.impossibleJson = impossibleJson;
+        }
+
+        /**
+         * 获取原始 JSON
+         */
+        public String getJson() {
+            return json;
+        }
+
+        /**
+         * 获取条件全部改写为 minecraft:impossible 的 JSON（用于直接授予模式）
+         */
+        public String getImpossibleJson() {
+            return impossibleJson;
+        }
+    }
+
+    public AdvancementDefinitionLoader(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 在后台线程并行读取所有成就定义（在 onLoad 中调用）
+     */
+    public void preload() {
+        Achievement[] achievements = Achievement.values();
+        int threads = Math.max(1, Math.min(achievements.length, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, newThreadFactory());
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Definition>[] futures = new CompletableFuture[achievements.length];
+        for (int i = 0; i < achievements.length; i++) {
+            Achievement achievement = achievements[i];
+            futures[i] = CompletableFuture.supplyAsync(() -> load(achievement), executor);
+        }
+
+        pending = CompletableFuture.allOf(futures).thenApply(ignored -> {
+            Map<Achievement, Definition> definitions = new EnumMap<>(Achievement.class);
+            for (int i = 0; i < achievements.length; i++) {
+                Definition definition = futures[i].join();
+                if (definition != null) {
+                    definitions.put(achievements[i], definition);
+                }
+            }
+            return definitions;
+        });
+        pending.whenComplete((definitions, error) -> executor.shutdown());
+    }
+
+    /**
+     * 获取加载结果（在 onEnable 中调用，未预加载时同步加载）
+     */
+    public Map<Achievement, Definition> await() {
+        if (pending == null) {
+            preload();
+        }
+        try {
+            return pending.join();
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("加载成就定义失败: " + e.getMessage());
+            return new EnumMap<>(Achievement.class);
+        }
+    }
+
+    /**
+     * 读取并校验单个成就定义（在后台线程执行）
+     * @return 定义，读取或校验失败时返回 null
+     */
+    private Definition load(Achievement achievement) {
+        String resourcePath = RESOURCE_ROOT + achievement.getId() + ".json";
+        byte[] content;
+        try (InputStream stream = plugin.getResource(resourcePath)) {
+            if (stream == null) {
+                plugin.getLogger().warning("找不到资源文件: " + resourcePath);
+                return null;
+            }
+            content = stream.readAllBytes();
+        } catch (IOException e) {
+            plugin.getLogger().warning("读取资源失败: " + resourcePath + " -> " + e.getMessage());
+            return null;
+        }
+
+        String json = new String(content, StandardCharsets.UTF_8);
+        try {
+            JsonElement element = JsonParser.parseString(json);
+            if (!element.isJsonObject() || !element.getAsJsonObject().has("criteria")) {
+                plugin.getLogger().warning("成就定义缺少 criteria: " + resourcePath);
+                return null;
+            }
+            return new Definition(json, toImpossibleCriteria(element.getAsJsonObject()));
+        } catch (JsonParseException | IllegalStateException e) {
+            plugin.getLogger().warning("成就定义格式错误: " + resourcePath + " -> " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 将成就定义中的所有条件改写为 minecraft:impossible 触发器
+     * 条件名称与 requirements 保持不变，原版不再对其做任何检测
+     */
+    private static String toImpossibleCriteria(JsonObject source) {
+        JsonObject root = source.deepCopy();
+        JsonObject criteria = root.getAsJsonObject("criteria");
+        JsonObject rewritten = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : criteria.entrySet()) {
+            JsonObject criterion = new JsonObject();
+            criterion.addProperty("trigger", "minecraft:impossible");
+            rewritten.add(entry.getKey(), criterion);
+        }
+        root.add("criteria", rewritten);
+        return root.toString();
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "AbyssCurse-AdvancementLoader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
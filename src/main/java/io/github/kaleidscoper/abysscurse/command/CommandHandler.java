@@ -6,9 +6,14 @@ import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
 import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.debug.DebugManager;
 import io.github.kaleidscoper.abysscurse.effect.EffectManager;
+import io.github.kaleidscoper.abysscurse.jfr.ConfigReloadedEvent;
 import io.github.kaleidscoper.abysscurse.mode.ModeManager;
 import io.github.kaleidscoper.abysscurse.mode.PluginMode;
+import io.github.kaleidscoper.abysscurse.profiler.PerfReport;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
@@ -18,6 +23,8 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -65,6 +72,8 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                 return handleDebugCommand(sender, args);
             case "narehate":
                 return handleNarehateCommand(sender, args);
+            case "perf":
+                return handlePerfCommand(sender, args);
             default:
                 sender.sendMessage("§8[§5AbyssCurse§8] §c未知命令: " + subCommand);
                 sendHelp(sender);
@@ -160,6 +169,8 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        ConfigReloadedEvent event = new ConfigReloadedEvent();
+        event.begin();
         try {
             // 重载配置文件（包括层级范围配置）
             configManager.reloadConfig();
@@ -170,13 +181,45 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
             // 重载区域配置（豁免区和豁免者）
             regionManager.reload();
             
+            // 替换效果表并同步在线玩家的诅咒与生骸效果
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getEffectManager() != null) {
+                ((AbyssCursePlugin) plugin).getEffectManager().updateEffectTables(configManager.getEffectTables());
+            }
+            
+            // 替换环境音效池
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getSoundManager() != null) {
+                ((AbyssCursePlugin) plugin).getSoundManager().updateSoundPools(configManager.getSoundPools());
+            }
+            
+            // 开启或关闭耗时统计
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getTickProfiler() != null) {
+                ((AbyssCursePlugin) plugin).getTickProfiler().setEnabled(configManager.isProfilingEnabled());
+            }
+            
+            // 更新事件日志级别
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getEventLog() != null) {
+                ((AbyssCursePlugin) plugin).getEventLog().configure(configManager);
+            }
+            
+            // 开始或停止轨迹记录
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getTraceRecorder() != null) {
+                ((AbyssCursePlugin) plugin).getTraceRecorder().reload();
+            }
+            
+            // 按新配置重启指标导出
+            if (plugin instanceof AbyssCursePlugin && ((AbyssCursePlugin) plugin).getMetricsExporter() != null) {
+                ((AbyssCursePlugin) plugin).getMetricsExporter().reload();
+            }
+            
+            event.success = true;
             sender.sendMessage("§8[§5AbyssCurse§8] §a配置已重载！");
-            plugin.getLogger().info("配置已重载（包括层级范围、模式和区域配置）");
+            plugin.getLogger().info("配置已重载（包括层级范围、效果、模式和区域配置）");
         } catch (Exception e) {
             sender.sendMessage("§8[§5AbyssCurse§8] §c重载失败: " + e.getMessage());
             plugin.getLogger().severe("重载配置时发生错误: " + e.getMessage());
             e.printStackTrace();
         }
+        event.commit();
         return true;
     }
 
@@ -266,6 +309,92 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * 从异步线程回复命令发送者
+     * 玩家在其所属线程发送（Folia 上为玩家所在区域线程），控制台等其他发送者在全局线程发送
+     */
+    private void sendFromAsync(TaskScheduler scheduler, CommandSender sender, String message) {
+        if (sender instanceof Player) {
+            Player player = (Player) sender;
+            scheduler.runForPlayer(player, () -> player.sendMessage(message));
+        } else {
+            scheduler.runGlobal(() -> sender.sendMessage(message));
+        }
+    }
+
+    /**
+     * 处理性能统计命令
+     * /abysscurse perf [页码|subsystem|csv|reset] [reset]
+     */
+    private boolean handlePerfCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("abysscurse.admin")) {
+            sender.sendMessage("§8[§5AbyssCurse§8] §c你没有权限使用此命令！");
+            return true;
+        }
+        if (!(plugin instanceof AbyssCursePlugin)) {
+            return true;
+        }
+        AbyssCursePlugin abyssPlugin = (AbyssCursePlugin) plugin;
+        TickProfiler profiler = abyssPlugin.getTickProfiler();
+
+        if (args.length < 2) {
+            sender.sendMessage(PerfReport.page(new PerfReport(abyssPlugin).overviewLines(), 1));
+            return true;
+        }
+
+        String action = args[1].toLowerCase();
+        switch (action) {
+            case "reset":
+                profiler.reset();
+                sender.sendMessage("§8[§5AbyssCurse§8] §a已清空全部性能统计");
+                return true;
+            case "csv":
+                // 在当前线程采集，在异步线程写文件，结果回到发送者所属线程回复
+                PerfReport report = new PerfReport(abyssPlugin);
+                List<String> rows = report.csvRows();
+                TaskScheduler scheduler = abyssPlugin.getTaskScheduler();
+                scheduler.runAsync(() -> {
+                    String message;
+                    try {
+                        File file = report.writeCsv(rows);
+                        message = "§8[§5AbyssCurse§8] §a性能统计已导出到 §e" + file.getPath();
+                    } catch (IOException e) {
+                        message = "§8[§5AbyssCurse§8] §c导出失败: " + e.getMessage();
+                        plugin.getLogger().warning("导出性能统计失败: " + e.getMessage());
+                    }
+                    sendFromAsync(scheduler, sender, message);
+                });
+                return true;
+            default:
+                break;
+        }
+
+        // 页码
+        try {
+            int page = Integer.parseInt(action);
+            sender.sendMessage(PerfReport.page(new PerfReport(abyssPlugin).overviewLines(), page));
+            return true;
+        } catch (NumberFormatException ignored) {
+            // 不是页码，按子系统处理
+        }
+
+        Subsystem subsystem = Subsystem.fromId(action);
+        if (subsystem == null) {
+            sender.sendMessage("§8[§5AbyssCurse§8] §c未知的子系统: " + action);
+            sender.sendMessage("§8[§5AbyssCurse§8] §7可用子系统: " + Arrays.stream(Subsystem.values())
+                .map(Subsystem::getId).collect(Collectors.joining(", ")));
+            return true;
+        }
+
+        if (args.length >= 3 && args[2].equalsIgnoreCase("reset")) {
+            profiler.reset(subsystem);
+            sender.sendMessage("§8[§5AbyssCurse§8] §a已清空 " + subsystem.getDisplayName() + " 的性能统计");
+            return true;
+        }
+        sender.sendMessage(PerfReport.page(new PerfReport(abyssPlugin).subsystemLines(subsystem), 1));
+        return true;
+    }
+
     /**
      * 处理生骸命令
      * /abysscurse narehate <set|remove|check> <player>
@@ -518,6 +647,8 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
         sender.sendMessage("§8[§5AbyssCurse§8] §7  调试模式控制");
         sender.sendMessage("§8[§5AbyssCurse§8] §e/abysscurse narehate <set|remove|check> <player>");
         sender.sendMessage("§8[§5AbyssCurse§8] §7  管理玩家生骸状态");
+        sender.sendMessage("§8[§5AbyssCurse§8] §e/abysscurse perf [页码|subsystem|csv|reset] [reset]");
+        sender.sendMessage("§8[§5AbyssCurse§8] §7  查看、导出或清空性能统计");
         sender.sendMessage("§8[§5AbyssCurse§8] §7==============================");
     }
 
@@ -527,7 +658,7 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             // 主命令补全
-            completions.addAll(Arrays.asList("mode", "reload", "info", "debug", "narehate"));
+            completions.addAll(Arrays.asList("mode", "reload", "info", "debug", "narehate", "perf"));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("debug")) {
             // 调试命令补全
             completions.addAll(Arrays.asList("on", "off", "toggle", "info", "global"));
@@ -554,6 +685,15 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                     completions.add("15");
                 }
             }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("perf")) {
+            // 性能统计补全
+            completions.addAll(Arrays.asList("csv", "reset"));
+            for (Subsystem subsystem : Subsystem.values()) {
+                completions.add(subsystem.getId());
+            }
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("perf") && Subsystem.fromId(args[1]) != null) {
+            // 单个子系统清空补全
+            completions.add("reset");
         } else if (args.length == 2 && args[0].equalsIgnoreCase("narehate")) {
             // 生骸命令补全
             completions.addAll(Arrays.asList("set", "remove", "check"));
@@ -1,6 +1,10 @@
 package io.github.kaleidscoper.abysscurse.config;
 
+import io.github.kaleidscoper.abysscurse.effect.EffectTables;
+import io.github.kaleidscoper.abysscurse.eventlog.EventCategory;
+import io.github.kaleidscoper.abysscurse.eventlog.EventLevel;
 import io.github.kaleidscoper.abysscurse.mode.PluginMode;
+import io.github.kaleidscoper.abysscurse.sound.SoundPools;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -17,6 +21,15 @@ public class ConfigManager {
     private final JavaPlugin plugin;
     private FileConfiguration config;
     private File configFile;
+    
+    // 编译后的层级高度表（加载/重载时整体替换，供多线程读取）
+    private volatile LayerTable layerTable;
+    
+    // 编译后的效果表（加载/重载时整体替换）
+    private volatile EffectTables effectTables;
+    
+    // 编译后的环境音效池（加载/重载时整体替换）
+    private volatile SoundPools soundPools;
 
     public ConfigManager(JavaPlugin plugin) {
         this.plugin = plugin;
@@ -50,6 +63,15 @@ public class ConfigManager {
             plugin.getLogger().info("已添加缺失的默认配置项");
         }
         
+        // 编译层级高度表
+        layerTable = compileLayerTable();
+        
+        // 编译效果表
+        effectTables = EffectTables.compile(config.getConfigurationSection("effects"), plugin.getLogger());
+        
+        // 编译环境音效池
+        soundPools = SoundPools.compile(config.getConfigurationSection("sounds"), plugin.getLogger());
+        
         plugin.getLogger().info("配置文件已加载");
     }
 
@@ -96,6 +118,61 @@ public class ConfigManager {
             hasNewDefaults = true;
         }
         
+        // 性能统计配置
+        if (!config.contains("profiling.enabled")) {
+            config.set("profiling.enabled", false);
+            hasNewDefaults = true;
+        }
+        
+        // 指标导出配置
+        if (!config.contains("metrics.enabled")) {
+            config.set("metrics.enabled", false);
+            hasNewDefaults = true;
+        }
+        if (!config.contains("metrics.host")) {
+            config.set("metrics.host", "127.0.0.1");
+            hasNewDefaults = true;
+        }
+        if (!config.contains("metrics.port")) {
+            config.set("metrics.port", 9464);
+            hasNewDefaults = true;
+        }
+        
+        // 事件日志配置
+        if (!config.contains("event-log.file")) {
+            config.set("event-log.file", true);
+            hasNewDefaults = true;
+        }
+        if (!config.contains("event-log.console-level")) {
+            config.set("event-log.console-level", "NOTICE");
+            hasNewDefaults = true;
+        }
+        if (!config.contains("event-log.max-file-size-mb")) {
+            config.set("event-log.max-file-size-mb", 16);
+            hasNewDefaults = true;
+        }
+        if (!config.contains("event-log.max-files")) {
+            config.set("event-log.max-files", 10);
+            hasNewDefaults = true;
+        }
+        for (EventCategory category : EventCategory.values()) {
+            String path = "event-log.levels." + category.getId();
+            if (!config.contains(path)) {
+                config.set(path, "INFO");
+                hasNewDefaults = true;
+            }
+        }
+        
+        // 移动轨迹记录配置
+        if (!config.contains("trace.enabled")) {
+            config.set("trace.enabled", false);
+            hasNewDefaults = true;
+        }
+        if (!config.contains("trace.max-file-size-mb")) {
+            config.set("trace.max-file-size-mb", 256);
+            hasNewDefaults = true;
+        }
+        
         // 上升积累阈值配置
         if (!config.contains("rise-threshold")) {
             config.set("rise-threshold", 2.0);
@@ -116,6 +193,24 @@ public class ConfigManager {
             }
         }
         
+        // 成就配置
+        if (!config.contains("achievements.direct-award")) {
+            config.set("achievements.direct-award", false);
+            hasNewDefaults = true;
+        }
+        
+        // 效果配置（整段缺失时写入默认效果）
+        if (!config.contains("effects")) {
+            config.createSection("effects", EffectTables.defaultConfig());
+            hasNewDefaults = true;
+        }
+        
+        // 环境音效配置（整段缺失时写入默认音效池）
+        if (!config.contains("sounds")) {
+            config.createSection("sounds", SoundPools.defaultConfig());
+            hasNewDefaults = true;
+        }
+        
         return hasNewDefaults;
     }
 
@@ -226,6 +321,83 @@ public class ConfigManager {
     public boolean isDebugEnabled() {
         return config.getBoolean("debug.enabled", false);
     }
+    
+    /**
+     * 是否统计各子系统定时任务的耗时
+     */
+    public boolean isProfilingEnabled() {
+        return config.getBoolean("profiling.enabled", false);
+    }
+    
+    /**
+     * 是否开启 Prometheus 指标导出
+     */
+    public boolean isMetricsEnabled() {
+        return config.getBoolean("metrics.enabled", false);
+    }
+    
+    /**
+     * 指标导出绑定的地址（默认仅本机）
+     */
+    public String getMetricsHost() {
+        return config.getString("metrics.host", "127.0.0.1");
+    }
+    
+    /**
+     * 指标导出端口
+     */
+    public int getMetricsPort() {
+        return config.getInt("metrics.port", 9464);
+    }
+    
+    /**
+     * 是否将事件日志写入数据文件夹的 logs 目录
+     */
+    public boolean isEventLogFileEnabled() {
+        return config.getBoolean("event-log.file", true);
+    }
+    
+    /**
+     * 事件日志输出到控制台的最低级别
+     */
+    public EventLevel getEventLogConsoleLevel() {
+        return EventLevel.fromName(config.getString("event-log.console-level"), EventLevel.NOTICE);
+    }
+    
+    /**
+     * 事件类别的记录级别（低于此级别的事件不记录）
+     */
+    public EventLevel getEventLogLevel(EventCategory category) {
+        return EventLevel.fromName(config.getString("event-log.levels." + category.getId()), EventLevel.INFO);
+    }
+    
+    /**
+     * 单个事件日志文件的大小上限（MB），超过后压缩归档
+     */
+    public int getEventLogMaxFileSizeMb() {
+        return config.getInt("event-log.max-file-size-mb", 16);
+    }
+    
+    /**
+     * 保留的事件日志归档数量
+     */
+    public int getEventLogMaxFiles() {
+        return config.getInt("event-log.max-files", 10);
+    }
+    
+    /**
+     * 是否记录移动轨迹
+     */
+    public boolean isTraceEnabled() {
+        return config.getBoolean("trace.enabled", false);
+    }
+    
+    /**
+     * 单个轨迹文件的大小上限（MB），达到后停止写入
+     */
+    public int getTraceMaxFileSizeMb() {
+        return config.getInt("trace.max-file-size-mb", 256);
+    }
 
     /**
      * 设置调试模式
@@ -251,6 +423,15 @@ public class ConfigManager {
         saveConfig();
     }
     
+    /**
+     * 是否直接授予层级成就
+     * 开启后层级成就使用 minecraft:impossible 触发器注册，由插件在层级切换时直接授予，
+     * 不再依赖 abyss_layer 记分项与原版每 tick 的位置检测（修改后需重启服务器）
+     */
+    public boolean isDirectAchievementAward() {
+        return config.getBoolean("achievements.direct-award", false);
+    }
+    
     /**
      * 获取指定层级的最小高度
      * @param layer 层级（1-7）
@@ -283,14 +464,41 @@ public class ConfigManager {
      * @return 层级（1-7），0表示不在任何层级
      */
     public int getLayerByHeight(double y) {
-        for (int layer = 1; layer <= 7; layer++) {
-            double min = getLayerMinHeight(layer);
-            double max = getLayerMaxHeight(layer);
-            if (y >= min && y < max) {
-                return layer;
-            }
+        return layerTable.layerOf(y);
+    }
+    
+    /**
+     * 获取编译后的层级高度表（不可变，可跨线程使用）
+     */
+    public LayerTable getLayerTable() {
+        return layerTable;
+    }
+    
+    /**
+     * 获取编译后的效果表（不可变）
+     */
+    public EffectTables getEffectTables() {
+        return effectTables;
+    }
+    
+    /**
+     * 获取编译后的环境音效池（不可变）
+     */
+    public SoundPools getSoundPools() {
+        return soundPools;
+    }
+    
+    /**
+     * 从配置编译层级高度表
+     */
+    private LayerTable compileLayerTable() {
+        double[] minHeights = new double[LayerTable.LAYER_COUNT];
+        double[] maxHeights = new double[LayerTable.LAYER_COUNT];
+        for (int layer = 1; layer <= LayerTable.LAYER_COUNT; layer++) {
+            minHeights[layer - 1] = getLayerMinHeight(layer);
+            maxHeights[layer - 1] = getLayerMaxHeight(layer);
         }
-        return 0;
+        return new LayerTable(minHeights, maxHeights);
     }
     
     /**
@@ -0,0 +1,53 @@
+package io.github.kaleidscoper.abysscurse.config;
+
+/**
+ * 层级高度表
+ * 由配置编译而成的不可变数据，可在任意线程中读取
+ */
+public final class LayerTable {
+    // 层级数量
+    public static final int LAYER_COUNT = 7;
+
+    // 下标 0 对应第一层
+    private final double[] minHeights;
+    private final double[] maxHeights;
+
+    public LayerTable(double[] minHeights, double[] maxHeights) {
+        if (minHeights.length != LAYER_COUNT || maxHeights.length != LAYER_COUNT) {
+            throw new IllegalArgumentException("层级高度表必须包含 " + LAYER_COUNT + " 个层级");
+        }
+        this.minHeights = minHeights.clone();
+        this.maxHeights = maxHeights.clone();
+    }
+
+    /**
+     * 根据高度判断层级
+     * 范围格式：min <= y < max，按第一层到第七层的顺序匹配
+     * @param y 高度
+     * @return 层级（1-7），0表示不在任何层级
+     */
+    public int layerOf(double y) {
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            if (y >= minHeights[i] && y < maxHeights[i]) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 获取指定层级的最小高度
+     * @param layer 层级（1-7）
+     */
+    public double getMinHeight(int layer) {
+        return minHeights[layer - 1];
+    }
+
+    /**
+     * 获取指定层级的最大高度
+     * @param layer 层级（1-7）
+     */
+    public double getMaxHeight(int layer) {
+        return maxHeights[layer - 1];
+    }
+}
@@ -1,20 +1,23 @@
 package io.github.kaleidscoper.abysscurse.curse;
 
-import io.github.kaleidscoper.abysscurse.config.ConfigManager;
 import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
+import io.github.kaleidscoper.abysscurse.eventlog.EventLog;
+import io.github.kaleidscoper.abysscurse.eventlog.GameEvent;
 import io.github.kaleidscoper.abysscurse.filter.FilterManager;
-import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.jfr.CurseExpiredEvent;
+import io.github.kaleidscoper.abysscurse.jfr.CurseTriggeredEvent;
+import io.github.kaleidscoper.abysscurse.metrics.Metrics;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import io.github.kaleidscoper.abysscurse.sound.SoundManager;
-import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 诅咒管理器
@@ -22,12 +25,11 @@ import java.util.UUID;
  */
 public class CurseManager {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     private final PlayerDataManager playerDataManager;
-    private final RegionManager regionManager;
-    private final ConfigManager configManager;
     
     // 存储诅咒检查任务
-    private final Map<UUID, BukkitTask> curseCheckTasks = new HashMap<>();
+    private final Map<UUID, ScheduledHandle> curseCheckTasks = new ConcurrentHashMap<>();
     
     // 诅咒效果管理器（将在初始化时注入）
     private CurseEffectHandler effectHandler;
@@ -36,11 +38,16 @@ public class CurseManager {
     private FilterManager filterManager;
     private SoundManager soundManager;
     
-    public CurseManager(JavaPlugin plugin, PlayerDataManager playerDataManager, RegionManager regionManager, ConfigManager configManager) {
+    // 事件日志（将在初始化时注入）
+    private EventLog eventLog;
+    
+    // 深层诅咒的起始层级（第六层及以下，施加凋零并可能转换为生骸）
+    public static final int DEEP_CURSE_LAYER = 6;
+    
+    public CurseManager(JavaPlugin plugin, TaskScheduler scheduler, PlayerDataManager playerDataManager) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataManager = playerDataManager;
-        this.regionManager = regionManager;
-        this.configManager = configManager;
     }
     
     /**
@@ -65,12 +72,22 @@ public class CurseManager {
     }
     
     /**
-     * 触发诅咒
-     * 当玩家累计上升高度达到2m时调用
+     * 设置事件日志
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+    
+    /**
+     * 施加已计算好的诅咒（只包含 Bukkit 调用，必须在玩家所属线程执行）
+     * 层级、持续时间和诅咒臂由调用方预先算出，例如 CurseTickPipeline 的计算阶段
      * @param player 玩家
+     * @param layer 诅咒层级（1-7）
+     * @param duration 持续时间（tick数）
+     * @param armOfCurse 诅咒臂
      * @param safeHeight 触发诅咒时的安全高度
      */
-    public void triggerCurse(Player player, double safeHeight) {
+    public void applyCurse(Player player, int layer, long duration, int armOfCurse, double safeHeight) {
         if (player == null || !player.isOnline()) {
             return;
         }
@@ -80,27 +97,6 @@ public class CurseManager {
             return;
         }
         
-        // 检查玩家是否受诅咒影响
-        Location location = player.getLocation();
-        if (!regionManager.isAffectedByCurse(location, player.getUniqueId())) {
-            return;
-        }
-        
-        // 计算诅咒臂
-        int armOfCurse = regionManager.getArmOfCurse(location);
-        int abyssRadius = regionManager.getAbyssRadius();
-        
-        // 计算动态诅咒持续时间
-        long duration = calculateCurseDuration(armOfCurse, abyssRadius);
-        
-        // 判断诅咒层级（根据安全高度）
-        int layer = getCurseLayer(safeHeight);
-        
-        if (layer == 0) {
-            // 不在任何层级范围内，不触发诅咒
-            return;
-        }
-        
         // 更新玩家数据
         data.setCurrentLayer(layer);
         data.setCurseStartTime(System.currentTimeMillis());
@@ -112,9 +108,9 @@ public class CurseManager {
             effectHandler.applyCurseEffects(player, layer, duration);
         }
         
-        // 第三层特殊处理：开始播放随机音效
-        if (layer == 3 && soundManager != null) {
-            soundManager.startRandomSounds(player);
+        // 开始播放该层的环境音效（该层没有音效池时不播放）
+        if (soundManager != null) {
+            soundManager.startAmbientSounds(player, layer);
         }
         
         // 播放诅咒触发音效
@@ -124,26 +120,28 @@ public class CurseManager {
         
         // 启动诅咒检查任务（检查诅咒是否过期）
         startCurseCheckTask(player);
+        Metrics.curseTriggered(layer);
+        CurseTriggeredEvent event = new CurseTriggeredEvent();
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.layer = layer;
+            event.durationTicks = duration;
+            event.armOfCurse = armOfCurse;
+            event.commit();
+        }
         
-        plugin.getLogger().info("玩家 " + player.getName() + " 触发了第 " + layer + " 层诅咒（安全高度: " + safeHeight + ", 持续时间: " + (duration / 20) + "秒）");
-    }
-    
-    /**
-     * 判断诅咒层级（根据安全高度）
-     * @param safeHeight 安全高度
-     * @return 诅咒层级（1-7），0表示不在任何层级
-     */
-    public int getCurseLayer(double safeHeight) {
-        return configManager.getLayerByHeight(safeHeight);
+        if (eventLog != null) {
+            eventLog.log(GameEvent.CURSE_TRIGGERED, player.getName(), layer, safeHeight, duration / 20);
+        }
     }
     
     /**
-     * 计算动态诅咒持续时间
+     * 计算动态诅咒持续时间（纯计算，可在任意线程调用）
      * @param armOfCurse 诅咒臂
      * @param abyssRadius Abyss 半径
      * @return 持续时间（tick数）
      */
-    public long calculateCurseDuration(int armOfCurse, int abyssRadius) {
+    public static long computeCurseDuration(int armOfCurse, int abyssRadius) {
         if (abyssRadius <= 0) {
             // 防止除零错误，返回默认值
             return 600 * 20; // 10分钟
@@ -168,24 +166,20 @@ public class CurseManager {
         UUID uuid = player.getUniqueId();
         
         // 如果已有任务，先取消
-        BukkitTask existingTask = curseCheckTasks.get(uuid);
+        ScheduledHandle existingTask = curseCheckTasks.get(uuid);
         if (existingTask != null && !existingTask.isCancelled()) {
             existingTask.cancel();
         }
         
         // 创建新任务（每20tick检查一次）
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!player.isOnline()) {
-                    this.cancel();
-                    curseCheckTasks.remove(uuid);
-                    return;
-                }
-                
-                checkCurseExpiry(player);
+        ScheduledHandle task = scheduler.runForPlayerTimer(player, scheduler.getProfiler().wrap(Subsystem.CURSE_CHECK, uuid, () -> {
+            if (!player.isOnline()) {
+                stopCurseCheck(player);
+                return;
             }
-        }.runTaskTimer(plugin, 0, 20); // 每20tick（1秒）执行一次
+            
+            checkCurseExpiry(player);
+        }), 0, 20); // 每20tick（1秒）执行一次
         
         curseCheckTasks.put(uuid, task);
     }
@@ -206,7 +200,7 @@ public class CurseManager {
         int currentLayer = data.getCurrentLayer();
         if (currentLayer == 0) {
             // 无诅咒，停止检查任务
-            BukkitTask task = curseCheckTasks.remove(player.getUniqueId());
+            ScheduledHandle task = curseCheckTasks.remove(player.getUniqueId());
             if (task != null && !task.isCancelled()) {
                 task.cancel();
             }
@@ -228,11 +222,7 @@ public class CurseManager {
     private void handleCurseExpiry(Player player, int layer) {
         PlayerCurseData data = playerDataManager.getData(player);
         
-        // 第六层：诅咒过期时的处理（生骸转换由 NarehateManager 在暴露期间每分钟检查）
-        if (layer == 6) {
-            // 生骸转换逻辑已由 NarehateManager 处理
-            // 玩家在暴露于深层诅咒期间每分钟都有概率转换为生骸
-        } else if (layer == 7) {
+        if (layer == 7) {
             // 第七层：诅咒结束后未死亡则强制击杀
             if (player.isOnline() && !player.isDead()) {
                 player.setHealth(0);
@@ -244,9 +234,9 @@ public class CurseManager {
             effectHandler.removeCurseEffects(player);
         }
         
-        // 停止第三层随机音效
-        if (layer == 3 && soundManager != null) {
-            soundManager.stopRandomSounds(player);
+        // 停止环境音效
+        if (soundManager != null) {
+            soundManager.stopAmbientSounds(player);
         }
         
         // 清除诅咒数据
@@ -256,12 +246,28 @@ public class CurseManager {
         data.setCurseArm(0);
         
         // 停止检查任务
-        BukkitTask task = curseCheckTasks.remove(player.getUniqueId());
+        ScheduledHandle task = curseCheckTasks.remove(player.getUniqueId());
         if (task != null && !task.isCancelled()) {
             task.cancel();
         }
+        Metrics.curseExpired();
+        CurseExpiredEvent event = new CurseExpiredEvent();
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.layer = layer;
+            event.commit();
+        }
         
-        plugin.getLogger().info("玩家 " + player.getName() + " 的第 " + layer + " 层诅咒已过期");
+        if (eventLog != null) {
+            eventLog.log(GameEvent.CURSE_EXPIRED, player.getName(), layer);
+        }
+    }
+    
+    /**
+     * 正在持续的诅咒数量（有诅咒检查任务的玩家数）
+     */
+    public int getActiveCurseCount() {
+        return curseCheckTasks.size();
     }
     
     /**
@@ -269,7 +275,7 @@ public class CurseManager {
      */
     public void stopCurseCheck(Player player) {
         UUID uuid = player.getUniqueId();
-        BukkitTask task = curseCheckTasks.remove(uuid);
+        ScheduledHandle task = curseCheckTasks.remove(uuid);
         if (task != null && !task.isCancelled()) {
             task.cancel();
         }
@@ -0,0 +1,480 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import io.github.kaleidscoper.abysscurse.AbyssCursePlugin;
+import io.github.kaleidscoper.abysscurse.config.ConfigManager;
+import io.github.kaleidscoper.abysscurse.config.LayerTable;
+import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
+import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
+import io.github.kaleidscoper.abysscurse.data.RiseTracker;
+import io.github.kaleidscoper.abysscurse.event.AbyssLayerChangeEvent;
+import io.github.kaleidscoper.abysscurse.jfr.LayerChangedEvent;
+import io.github.kaleidscoper.abysscurse.mode.ModeManager;
+import io.github.kaleidscoper.abysscurse.mode.PluginMode;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import io.github.kaleidscoper.abysscurse.trace.TraceFormat;
+import io.github.kaleidscoper.abysscurse.trace.TraceRecorder;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Objective;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 诅咒检测流水线
+ * 将每 10 tick 的上升检测拆分为三个阶段：
+ * 1. 快照阶段（主线程）：读取玩家坐标、区域判定等需要 Bukkit 的状态，复制为基本类型，并复制上升统计状态
+ * 2. 计算阶段（ForkJoinPool 并行）：在副本上累计上升统计、计算层级与持续时间，均为纯计算，不写共享数据
+ * 3. 施加阶段（主线程）：写回上升统计，只对触发了诅咒的玩家调用 Bukkit API
+ * 这样主线程的开销只与发生变化的玩家数量有关，而不是在线玩家数量。
+ * 快照之后若玩家数据被重置（死亡、复活、进入游戏），写回时版本号不一致，该玩家本轮的结果整体丢弃。
+ * Folia 上每个玩家本身就在各自区域线程上处理，三个阶段在玩家任务内顺序执行。
+ */
+public class CurseTickPipeline {
+    // 检测周期（tick）
+    private static final long TICK_PERIOD = 10L;
+
+    // 忽略的极小位移
+    private static final double MIN_DELTA = 0.01;
+
+    // 玩家数量达到该值时才并行计算，人少时直接在计算线程内顺序处理
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final AbyssCursePlugin plugin;
+    private final TaskScheduler scheduler;
+    private final PlayerDataManager playerDataManager;
+    private final RegionManager regionManager;
+    private final ModeManager modeManager;
+    private final ConfigManager configManager;
+    private final CurseManager curseManager;
+    private final TraceRecorder traceRecorder;
+
+    // 计算线程池（仅 Paper 使用）
+    private ForkJoinPool computePool;
+
+    // Paper：全局检测任务
+    private ScheduledHandle globalTask;
+
+    // Folia：每个玩家的检测任务
+    private final Map<UUID, ScheduledHandle> playerTasks = new ConcurrentHashMap<>();
+
+    // 上一批计算尚未完成时跳过本轮，避免批次堆积
+    private final AtomicBoolean computeInFlight = new AtomicBoolean(false);
+
+    // 层级记分脏检查（层级未变化时不写 scoreboard）
+    private final LayerScoreTracker layerScoreTracker = new LayerScoreTracker();
+
+    public CurseTickPipeline(AbyssCursePlugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        this.playerDataManager = plugin.getPlayerDataManager();
+        this.regionManager = plugin.getRegionManager();
+        this.modeManager = plugin.getModeManager();
+        this.configManager = plugin.getConfigManager();
+        this.curseManager = plugin.getCurseManager();
+        this.traceRecorder = plugin.getTraceRecorder();
+    }
+
+    /**
+     * 启动流水线
+     */
+    public void start() {
+        if (scheduler.isRegionized()) {
+            // Folia：由 track 为每个玩家启动任务
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                track(player);
+            }
+            return;
+        }
+
+        computePool = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("AbyssCurse-Compute-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false
+        );
+        globalTask = scheduler.runGlobalTimer(
+            scheduler.getProfiler().wrap(Subsystem.CURSE_PIPELINE, this::tickAll), 0, TICK_PERIOD);
+    }
+
+    /**
+     * 停止流水线
+     */
+    public void stop() {
+        if (globalTask != null && !globalTask.isCancelled()) {
+            globalTask.cancel();
+        }
+        globalTask = null;
+
+        for (ScheduledHandle task : playerTasks.values()) {
+            task.cancel();
+        }
+        playerTasks.clear();
+
+        if (computePool != null) {
+            computePool.shutdown();
+            try {
+                computePool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            computePool = null;
+        }
+
+        layerScoreTracker.clear();
+    }
+
+    /**
+     * 玩家加入时调用（Folia 上为玩家启动检测任务）
+     */
+    public void track(Player player) {
+        if (!scheduler.isRegionized()) {
+            return;
+        }
+
+        UUID uuid = player.getUniqueId();
+        ScheduledHandle existingTask = playerTasks.remove(uuid);
+        if (existingTask != null) {
+            existingTask.cancel();
+        }
+
+        ScheduledHandle task = scheduler.runForPlayerTimer(player,
+            scheduler.getProfiler().wrap(Subsystem.CURSE_PIPELINE, uuid, () -> tickPlayer(player)), 0, TICK_PERIOD);
+        playerTasks.put(uuid, task);
+    }
+
+    /**
+     * 玩家退出时调用
+     */
+    public void untrack(UUID uuid) {
+        ScheduledHandle task = playerTasks.remove(uuid);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Paper：对全部在线玩家执行一轮检测
+     */
+    private void tickAll() {
+        if (modeManager.getCurrentMode() == PluginMode.OFF) {
+            return;
+        }
+        if (!computeInFlight.compareAndSet(false, true)) {
+            return;
+        }
+
+        // 快照阶段（主线程）
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            Snapshot snapshot = snapshot(player);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        if (snapshots.isEmpty()) {
+            computeInFlight.set(false);
+            return;
+        }
+
+        Parameters parameters = currentParameters();
+
+        // 计算阶段（计算线程池）
+        CompletableFuture.supplyAsync(() -> computeAll(snapshots, parameters), computePool)
+            .whenComplete((outcomes, error) -> {
+                if (error != null) {
+                    computeInFlight.set(false);
+                    plugin.getLogger().warning("诅咒计算失败: " + error.getMessage());
+                    return;
+                }
+                if (outcomes.isEmpty()) {
+                    computeInFlight.set(false);
+                    return;
+                }
+                // 施加阶段（主线程），写回之后才允许下一轮快照，避免下一轮基于未写回的状态计算
+                // 与快照阶段计入同一子系统，耗时统计覆盖主线程上的全部开销
+                scheduler.runGlobal(scheduler.getProfiler().wrap(Subsystem.CURSE_PIPELINE, () -> {
+                    try {
+                        for (Outcome outcome : outcomes) {
+                            apply(outcome);
+                        }
+                    } finally {
+                        computeInFlight.set(false);
+                    }
+                }));
+            });
+    }
+
+    /**
+     * Folia：在玩家所属区域线程上顺序执行三个阶段
+     */
+    private void tickPlayer(Player player) {
+        if (!player.isOnline()) {
+            untrack(player.getUniqueId());
+            return;
+        }
+        if (modeManager.getCurrentMode() == PluginMode.OFF) {
+            return;
+        }
+
+        Snapshot snapshot = snapshot(player);
+        if (snapshot == null) {
+            return;
+        }
+        Outcome outcome = compute(snapshot, currentParameters());
+        if (outcome != null) {
+            apply(outcome);
+        }
+    }
+
+    /**
+     * 快照阶段：读取需要 Bukkit 访问的状态
+     */
+    private Snapshot snapshot(Player player) {
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null) {
+            return null;
+        }
+
+        Location location = player.getLocation();
+        traceRecorder.record(TraceFormat.SAMPLE, player.getUniqueId(), location);
+        double currentY = location.getY();
+        boolean inAbyss = regionManager.isInAbyss(location);
+
+        // 判定深度层级（层级变化时触发事件并同步到 scoreboard）
+        int depthLayer = inAbyss ? configManager.getLayerByHeight(currentY) : 0;
+        updateDepthLayer(player, depthLayer);
+
+        boolean affected = inAbyss && regionManager.isAffectedByCurse(location, player.getUniqueId());
+        int armOfCurse = affected ? regionManager.getArmOfCurse(location) : 0;
+
+        return new Snapshot(player, data, data.copyTracking(), currentY, affected, armOfCurse);
+    }
+
+    private Parameters currentParameters() {
+        return new Parameters(
+            configManager.getLayerTable(),
+            configManager.getRiseThreshold(),
+            regionManager.getAbyssRadius()
+        );
+    }
+
+    private static List<Outcome> computeAll(List<Snapshot> snapshots, Parameters parameters) {
+        if (snapshots.size() < PARALLEL_THRESHOLD) {
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Snapshot snapshot : snapshots) {
+                Outcome outcome = compute(snapshot, parameters);
+                if (outcome != null) {
+                    outcomes.add(outcome);
+                }
+            }
+            return outcomes;
+        }
+        // 并行流在调用方所在的 ForkJoinPool 中执行
+        return snapshots.parallelStream()
+            .map(snapshot -> compute(snapshot, parameters))
+            .filter(outcome -> outcome != null)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 计算阶段：累计上升统计与诅咒判定（不访问任何 Bukkit 状态，只修改快照中的上升统计副本）
+     * @return 上升统计有变化或需要施加诅咒时返回结果，否则返回 null
+     */
+    static Outcome compute(Snapshot snapshot, Parameters parameters) {
+        RiseTracker tracking = snapshot.tracking;
+        double currentY = snapshot.currentY;
+        double lastY = tracking.getLastY();
+
+        // 不受诅咒影响，只更新 lastY，不处理上升/下降
+        if (!snapshot.affected) {
+            if (currentY == lastY) {
+                return null;
+            }
+            tracking.setLastY(currentY);
+            return new Outcome(snapshot, 0, 0, 0.0);
+        }
+
+        int layer = 0;
+        long duration = 0;
+        double triggerHeight = 0.0;
+        if (currentY > lastY) {
+            // 上升：记录真实浮点增量，避免因四舍五入误判
+            double riseDelta = currentY - lastY;
+            if (riseDelta >= MIN_DELTA) {
+                tracking.addRiseDelta(riseDelta);
+
+                // 检查是否达到触发诅咒的阈值
+                if (tracking.getTotalRise() >= parameters.riseThreshold) {
+                    triggerHeight = tracking.getSafeHeight();
+                    layer = parameters.layerTable.layerOf(triggerHeight);
+                    if (layer > 0) {
+                        duration = CurseManager.computeCurseDuration(snapshot.armOfCurse, parameters.abyssRadius);
+                    }
+
+                    // 清空累计上升记录，并将当前高度设为新的安全高度
+                    tracking.clearRiseRecords();
+                    tracking.setSafeHeight(currentY);
+                }
+            }
+        } else if (currentY < lastY) {
+            // 下降：减少累计上升高度，刷新安全高度
+            double descendDelta = lastY - currentY;
+            if (descendDelta >= MIN_DELTA) {
+                tracking.consumeRiseDelta(descendDelta);
+            }
+            tracking.setSafeHeight(currentY);
+        } else if (tracking.getTotalRise() > 1e-6 || tracking.getSafeHeight() == currentY) {
+            // 位置未变化，没有需要写回的状态
+            return null;
+        }
+
+        // 累计上升高度为零时，将当前高度设为新的安全高度
+        if (tracking.getTotalRise() <= 1e-6 && tracking.getSafeHeight() != currentY) {
+            tracking.setSafeHeight(currentY);
+        }
+
+        tracking.setLastY(currentY);
+        return new Outcome(snapshot, layer, duration, triggerHeight);
+    }
+
+    /**
+     * 施加阶段：写回上升统计，对触发诅咒的玩家调用 Bukkit API
+     * 快照之后玩家数据已被重置（死亡、复活、进入游戏）时丢弃本轮结果
+     */
+    private void apply(Outcome outcome) {
+        if (!outcome.data.commitTracking(outcome.tracking)) {
+            return;
+        }
+        if (outcome.layer == 0) {
+            return;
+        }
+        Player player = outcome.player;
+        if (!player.isOnline()) {
+            return;
+        }
+        curseManager.applyCurse(player, outcome.layer, outcome.duration, outcome.armOfCurse, outcome.safeHeight);
+    }
+
+    /**
+     * 更新玩家的深度层级
+     * 层级变化时触发 AbyssLayerChangeEvent，并同步到 scoreboard（供 advancement 使用，直接授予模式下没有记分项）
+     * 层级与上次相同时跳过
+     */
+    public void updateDepthLayer(Player player, int layer) {
+        int previous = layerScoreTracker.record(player.getUniqueId(), layer);
+        if (previous == LayerScoreTracker.UNCHANGED) {
+            return;
+        }
+
+        Objective objective = plugin.getLayerObjective();
+        if (objective != null) {
+            objective.getScore(player.getName()).setScore(layer);
+        }
+        if (previous == LayerScoreTracker.INITIAL) {
+            // 首次记录且仍为第 0 层：只同步记分，层级没有变化
+            return;
+        }
+        plugin.getServer().getPluginManager().callEvent(new AbyssLayerChangeEvent(player, previous, layer));
+
+        LayerChangedEvent event = new LayerChangedEvent();
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.fromLayer = previous;
+            event.toLayer = layer;
+            event.commit();
+        }
+    }
+
+    /**
+     * 玩家退出时归零深度层级，并忘记该玩家的记录
+     */
+    public void resetDepthLayer(Player player) {
+        updateDepthLayer(player, 0);
+        layerScoreTracker.forget(player.getUniqueId());
+    }
+
+    /**
+     * 获取层级记分脏检查（用于统计写入次数）
+     */
+    public LayerScoreTracker getLayerScoreTracker() {
+        return layerScoreTracker;
+    }
+
+    /**
+     * 快照：主线程采集的单个玩家状态
+     * 计算阶段只读写 tracking（上升统计的独立副本），data 只用于施加阶段写回
+     */
+    static final class Snapshot {
+        final Player player;
+        final PlayerCurseData data;
+        final RiseTracker tracking;
+        final double currentY;
+        final boolean affected;
+        final int armOfCurse;
+
+        Snapshot(Player player, PlayerCurseData data, RiseTracker tracking, double currentY, boolean affected, int armOfCurse) {
+            this.player = player;
+            this.data = data;
+            this.tracking = tracking;
+            this.currentY = currentY;
+            this.affected = affected;
+            this.armOfCurse = armOfCurse;
+        }
+    }
+
+    /**
+     * 计算参数：每轮从配置读取一次，计算阶段只读
+     */
+    static final class Parameters {
+        final LayerTable layerTable;
+        final double riseThreshold;
+        final int abyssRadius;
+
+        Parameters(LayerTable layerTable, double riseThreshold, int abyssRadius) {
+            this.layerTable = layerTable;
+            this.riseThreshold = riseThreshold;
+            this.abyssRadius = abyssRadius;
+        }
+    }
+
+    /**
+     * 计算结果：需要写回的上升统计，以及需要施加的诅咒（layer 为 0 表示不施加）
+     */
+    static final class Outcome {
+        final Player player;
+        final PlayerCurseData data;
+        final RiseTracker tracking;
+        final int layer;
+        final long duration;
+        final int armOfCurse;
+        final double safeHeight;
+
+        Outcome(Snapshot snapshot, int layer, long duration, double safeHeight) {
+            this.player = snapshot.player;
+            this.data = snapshot.data;
+            this.tracking = snapshot.tracking;
+            this.layer = layer;
+            this.duration = duration;
+            this.armOfCurse = snapshot.armOfCurse;
+            this.safeHeight = safeHeight;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import org.bukkit.entity.Player;
+
+/**
+ * 深层诅咒暴露监听器接口
+ * EffectManager 在施加/移除第六层及以下诅咒效果时通知暴露状态的变化，
+ * 生骸转换逻辑据此计时，无需查询玩家实体上的药水效果
+ */
+public interface DeepCurseExposureListener {
+    /**
+     * 深层诅咒暴露开始
+     * @param player 玩家
+     */
+    void onExposureStart(Player player);
+
+    /**
+     * 深层诅咒暴露结束
+     * @param player 玩家
+     */
+    void onExposureEnd(Player player);
+}
@@ -0,0 +1,77 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 层级记分脏检查
+ * 记录每个玩家上次写入 scoreboard 的层级，层级未变化时跳过写入，
+ * 层级变化时同时作为层级切换事件的来源。
+ * 每次 getScore().setScore() 都会分配 Score 对象，并可能向所有玩家广播记分板数据包，
+ * 而层级只在玩家跨层时才会变化。
+ * 不依赖 Bukkit，可在任意线程使用。
+ */
+public final class LayerScoreTracker {
+    // 层级未变化
+    public static final int UNCHANGED = -1;
+    // 首次记录且层级为 0：层级没有变化（未记录视为第 0 层），但仍需写入记分，覆盖上次会话可能残留的分数
+    public static final int INITIAL = -2;
+
+    // 每个玩家上次写入的层级
+    private final Map<UUID, Integer> lastWritten = new ConcurrentHashMap<>();
+
+    // 统计：实际写入次数与跳过次数
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * 记录玩家当前层级
+     * @param uuid 玩家 UUID
+     * @param layer 当前层级
+     * @return 层级变化时返回之前的层级（尚未记录过时视为 0），未变化时返回 UNCHANGED，
+     *         首次记录且层级为 0 时返回 INITIAL
+     */
+    public int record(UUID uuid, int layer) {
+        Integer previous = lastWritten.put(uuid, layer);
+        if (previous == null) {
+            writes.increment();
+            return layer == 0 ? INITIAL : 0;
+        }
+        if (previous == layer) {
+            skipped.increment();
+            return UNCHANGED;
+        }
+        writes.increment();
+        return previous;
+    }
+
+    /**
+     * 忘记玩家的记录（玩家退出时调用，下次写入必定执行）
+     */
+    public void forget(UUID uuid) {
+        lastWritten.remove(uuid);
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void clear() {
+        lastWritten.clear();
+    }
+
+    /**
+     * 层级变化（实际写入）次数
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * 因层级未变化而跳过的次数
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+/**
+ * 生骸转换风险模型
+ * 原逻辑为：暴露于深层诅咒后每分钟掷一次骰，第 k 分钟的转换概率为 P(k)。
+ * 这里预先算出前若干分钟的累积存活概率表，在暴露开始时用逆变换采样一次
+ * 得到转换发生在第几分钟，之后只需一个定时任务，不再需要每分钟扫描全部玩家。
+ * 纯计算，可在任意线程调用。
+ */
+public final class NarehateHazard {
+    // 最大概率（50%）
+    public static final double MAX_PROBABILITY = 0.5;
+
+    // 达到最大概率的时间（10分钟 = 600秒 = 600000毫秒）
+    public static final long MAX_PROBABILITY_TIME = 10 * 60 * 1000;
+
+    // 掷骰间隔（1分钟 = 60000毫秒）
+    public static final long CHECK_INTERVAL_MS = 60 * 1000;
+
+    // 概率达到上限前的掷骰次数
+    private static final int TABLE_SIZE = (int) (MAX_PROBABILITY_TIME / CHECK_INTERVAL_MS);
+
+    // SURVIVAL[k]：前 k 次掷骰全部未转换的概率
+    private static final double[] SURVIVAL = new double[TABLE_SIZE + 1];
+
+    static {
+        SURVIVAL[0] = 1.0;
+        for (int k = 1; k <= TABLE_SIZE; k++) {
+            SURVIVAL[k] = SURVIVAL[k - 1] * (1.0 - transformationProbability(k * CHECK_INTERVAL_MS));
+        }
+    }
+
+    private NarehateHazard() {
+    }
+
+    /**
+     * 计算单次掷骰的转换概率
+     * 使用指数型增长，10分钟时达到50%，之后保持50%
+     *
+     * 公式：P(t) = 0.5 * (1 - e^(-k * t / T))
+     * 其中 k = 6，T = MAX_PROBABILITY_TIME (10分钟)
+     * 在 t = T 时，P ≈ 0.4987，非常接近0.5
+     *
+     * @param exposureTime 暴露时间（毫秒）
+     * @return 转换概率（0.0 - 0.5）
+     */
+    public static double transformationProbability(long exposureTime) {
+        if (exposureTime >= MAX_PROBABILITY_TIME) {
+            // 超过10分钟，保持最大概率50%
+            return MAX_PROBABILITY;
+        }
+
+        double normalizedTime = (double) exposureTime / MAX_PROBABILITY_TIME;
+        return MAX_PROBABILITY * (1 - Math.exp(-6 * normalizedTime));
+    }
+
+    /**
+     * 前 k 次掷骰全部未转换的概率
+     */
+    public static double survival(int k) {
+        if (k <= TABLE_SIZE) {
+            return SURVIVAL[k];
+        }
+        // 超过10分钟后每次掷骰概率恒为50%，存活概率按几何级数衰减
+        return SURVIVAL[TABLE_SIZE] * Math.pow(1.0 - MAX_PROBABILITY, k - TABLE_SIZE);
+    }
+
+    /**
+     * 逆变换采样：在已经度过 elapsedChecks 次掷骰的条件下，采样转换发生在第几次掷骰
+     * @param elapsedChecks 已经度过的掷骰次数
+     * @param u [0, 1) 均匀随机数
+     * @return 转换发生的掷骰序号（从暴露开始计，>= elapsedChecks + 1）
+     */
+    public static int sampleTransformationCheck(int elapsedChecks, double u) {
+        // 条件存活概率 S(k) / S(m) 首次低于 1 - u 的 k
+        double target = (1.0 - u) * survival(elapsedChecks);
+
+        for (int k = elapsedChecks + 1; k <= TABLE_SIZE; k++) {
+            if (SURVIVAL[k] < target) {
+                return k;
+            }
+        }
+
+        // 尾部为几何分布，直接求解 S(10) * 0.5^(k-10) < target
+        int base = Math.max(elapsedChecks, TABLE_SIZE);
+        double remaining = target / survival(base);
+        if (remaining >= 1.0) {
+            return base + 1;
+        }
+        int extra = (int) Math.floor(Math.log(remaining) / Math.log(1.0 - MAX_PROBABILITY)) + 1;
+        return base + Math.max(1, extra);
+    }
+}
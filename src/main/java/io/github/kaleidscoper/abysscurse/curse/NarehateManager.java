@@ -5,140 +5,162 @@ import io.github.kaleidscoper.abysscurse.achievement.Achievement;
 import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
 import io.github.kaleidscoper.abysscurse.effect.EffectManager;
+import io.github.kaleidscoper.abysscurse.eventlog.EventLog;
+import io.github.kaleidscoper.abysscurse.eventlog.GameEvent;
+import io.github.kaleidscoper.abysscurse.metrics.Metrics;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import io.github.kaleidscoper.abysscurse.visual.ParticleService;
 import org.bukkit.Location;
-import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.Random;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 生骸管理器
  * 负责管理玩家转换为生骸的逻辑
+ * 深层诅咒暴露开始时按 NarehateHazard 采样一次转换时刻，暴露结束时取消
  */
-public class NarehateManager {
+public class NarehateManager implements DeepCurseExposureListener {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     private final PlayerDataManager playerDataManager;
     private final RegionManager regionManager;
-    private final Random random;
+    private ParticleService particleService;
+    private EventLog eventLog;
     
-    // 定期检查任务
-    private BukkitTask checkTask;
+    // 每个玩家已采样的转换定时任务
+    private final Map<UUID, ScheduledHandle> transformationTasks = new ConcurrentHashMap<>();
     
-    // 最大概率（50%）
-    private static final double MAX_PROBABILITY = 0.5;
-    
-    // 达到最大概率的时间（10分钟 = 600秒 = 600000毫秒）
-    private static final long MAX_PROBABILITY_TIME = 10 * 60 * 1000;
-    
-    // 检查间隔（1分钟 = 60秒 = 1200 tick）
-    private static final long CHECK_INTERVAL = 60 * 20;
-    
-    public NarehateManager(JavaPlugin plugin, PlayerDataManager playerDataManager, RegionManager regionManager) {
+    public NarehateManager(JavaPlugin plugin, TaskScheduler scheduler, PlayerDataManager playerDataManager, RegionManager regionManager) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataManager = playerDataManager;
         this.regionManager = regionManager;
-        this.random = new Random();
-        startCheckTask();
     }
     
     /**
-     * 启动定期检查任务
-     * 每分钟检查一次玩家是否应该转换为生骸
+     * 设置粒子效果服务
      */
-    private void startCheckTask() {
-        checkTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    if (!player.isOnline() || player.isDead()) {
-                        continue;
-                    }
-                    
-                    checkNarehateTransformation(player);
-                }
-            }
-        }.runTaskTimer(plugin, CHECK_INTERVAL, CHECK_INTERVAL); // 每分钟执行一次
+    public void setParticleService(ParticleService particleService) {
+        this.particleService = particleService;
     }
     
     /**
-     * 检查玩家是否应该转换为生骸
+     * 设置事件日志
      */
-    private void checkNarehateTransformation(Player player) {
-        // 如果玩家已经是生骸，跳过
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+    
+    /**
+     * 深层诅咒（第六层及以下）暴露开始
+     * 暴露开始时间已由 EffectManager 记录；没有待执行的转换任务时采样一次转换时间
+     * 必须在玩家所属线程调用
+     */
+    @Override
+    public void onExposureStart(Player player) {
         PlayerCurseData data = playerDataManager.getData(player);
-        if (data == null || data.isNarehate()) {
+        if (data == null || data.isNarehate() || data.getDeepCurseExposureStartTime() == 0) {
             return;
         }
         
-        // 检查玩家是否有凋零效果（说明是第六层及以下的诅咒）
-        if (!player.hasPotionEffect(PotionEffectType.WITHER)) {
-            // 没有凋零效果，重置暴露时间
-            if (data.getDeepCurseExposureStartTime() > 0) {
-                data.setDeepCurseExposureStartTime(0);
-            }
+        ScheduledHandle existingTask = transformationTasks.get(player.getUniqueId());
+        if (existingTask != null && !existingTask.isCancelled()) {
             return;
         }
-        
-        // 检查玩家是否在abyss范围内
-        if (!regionManager.isInAbyss(player.getLocation())) {
-            // 不在abyss范围内，重置暴露时间
-            if (data.getDeepCurseExposureStartTime() > 0) {
-                data.setDeepCurseExposureStartTime(0);
-            }
+        scheduleTransformation(player, data);
+    }
+    
+    /**
+     * 深层诅咒暴露结束，取消已采样的转换
+     */
+    @Override
+    public void onExposureEnd(Player player) {
+        cancelTransformation(player.getUniqueId());
+    }
+    
+    /**
+     * 玩家重新进入时恢复暴露计时
+     * 深层诅咒仍在持续时按已暴露时长继续，否则清除残留的暴露开始时间
+     */
+    public void resumeExposure(Player player) {
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null || data.getDeepCurseExposureStartTime() == 0) {
             return;
         }
         
-        // 玩家有凋零效果且在abyss范围内，开始或继续计时
-        long now = System.currentTimeMillis();
-        long exposureStartTime = data.getDeepCurseExposureStartTime();
-        
-        if (exposureStartTime == 0) {
-            // 第一次检测到暴露，记录开始时间
-            data.setDeepCurseExposureStartTime(now);
-            return;
+        if (data.getCurrentLayer() >= CurseManager.DEEP_CURSE_LAYER) {
+            onExposureStart(player);
+        } else {
+            data.setDeepCurseExposureStartTime(0);
         }
-        
-        // 计算暴露时间（毫秒）
-        long exposureTime = now - exposureStartTime;
-        
-        // 计算转换概率
-        double probability = calculateTransformationProbability(exposureTime);
-        
-        // 根据概率决定是否转换
-        if (random.nextDouble() < probability) {
-            convertToNarehate(player);
+    }
+    
+    /**
+     * 玩家退出时取消转换任务（保留暴露开始时间，重新进入后按已暴露时长继续）
+     */
+    public void cancelTransformation(UUID uuid) {
+        ScheduledHandle task = transformationTasks.remove(uuid);
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
         }
     }
     
     /**
-     * 计算转换为生骸的概率
-     * 使用指数型增长，10分钟时达到50%，之后保持50%
-     * 
-     * 公式：P(t) = 0.5 * (1 - e^(-k * t / T))
-     * 其中 k = 6，T = MAX_PROBABILITY_TIME (10分钟)
-     * 在 t = T 时，P ≈ 0.4987，非常接近0.5
-     * 
-     * @param exposureTime 暴露时间（毫秒）
-     * @return 转换概率（0.0 - 0.5）
+     * 按暴露开始时间采样转换发生的时刻并放入定时任务
+     * 与原每分钟掷骰的概率曲线一致：已经度过的掷骰按条件概率排除
      */
-    private double calculateTransformationProbability(long exposureTime) {
-        if (exposureTime >= MAX_PROBABILITY_TIME) {
-            // 超过10分钟，保持最大概率50%
-            return MAX_PROBABILITY;
+    private void scheduleTransformation(Player player, PlayerCurseData data) {
+        long exposureStartTime = data.getDeepCurseExposureStartTime();
+        long exposureTime = Math.max(0, System.currentTimeMillis() - exposureStartTime);
+        int elapsedChecks = (int) (exposureTime / NarehateHazard.CHECK_INTERVAL_MS);
+        
+        int check = NarehateHazard.sampleTransformationCheck(elapsedChecks, ThreadLocalRandom.current().nextDouble());
+        long delayMs = check * NarehateHazard.CHECK_INTERVAL_MS - exposureTime;
+        long delayTicks = Math.max(1, delayMs / 50); // 转换为 tick
+        
+        UUID uuid = player.getUniqueId();
+        ScheduledHandle task = scheduler.runForPlayerLater(player, scheduler.getProfiler().wrap(Subsystem.NAREHATE, uuid, () -> {
+            transformationTasks.remove(uuid);
+            onTransformationDue(player);
+        }), delayTicks);
+        transformationTasks.put(uuid, task);
+    }
+    
+    /**
+     * 采样的转换时刻到达
+     */
+    private void onTransformationDue(Player player) {
+        if (!player.isOnline() || player.isDead()) {
+            return;
         }
         
-        // 指数型增长函数
-        // 使用 k = 6 使得在10分钟时概率非常接近0.5
-        double normalizedTime = (double) exposureTime / MAX_PROBABILITY_TIME;
-        double probability = MAX_PROBABILITY * (1 - Math.exp(-6 * normalizedTime));
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null || data.isNarehate()) {
+            return;
+        }
         
-        return probability;
+        // 暴露已结束（正常情况下任务已被取消）
+        if (data.getDeepCurseExposureStartTime() == 0) {
+            return;
+        }
+        
+        // 不在abyss范围内，暴露从头计时并重新采样
+        if (!regionManager.isInAbyss(player.getLocation())) {
+            data.setDeepCurseExposureStartTime(System.currentTimeMillis());
+            scheduleTransformation(player, data);
+            return;
+        }
+        
+        convertToNarehate(player);
     }
     
     /**
@@ -154,15 +176,17 @@ public class NarehateManager {
         clearAllCurses(player, data);
         
         // 随机选择生骸类型（50%概率为LUCKY，50%概率为SAD）
-        PlayerCurseData.NarehateType type = random.nextBoolean() 
+        PlayerCurseData.NarehateType type = ThreadLocalRandom.current().nextBoolean() 
             ? PlayerCurseData.NarehateType.LUCKY 
             : PlayerCurseData.NarehateType.SAD;
         
         // 设置为生骸
         data.setNarehate(true);
         data.setNarehateType(type);
+        Metrics.narehateConverted();
         
         // 重置暴露时间
+        cancelTransformation(player.getUniqueId());
         data.setDeepCurseExposureStartTime(0);
         
         // 将玩家添加到豁免者列表
@@ -186,12 +210,14 @@ public class NarehateManager {
         String typeName = type == PlayerCurseData.NarehateType.LUCKY ? "幸运生骸" : "悲惨生骸";
         player.sendMessage("§8[§5AbyssCurse§8] §c你已转变为" + typeName + "！");
         
-        plugin.getLogger().info("玩家 " + player.getName() + " 已转变为" + typeName);
+        if (eventLog != null) {
+            eventLog.log(GameEvent.NAREHATE_TRANSFORMED, player.getName(), type.name());
+        }
     }
     
     /**
      * 应用生骸的药水效果
-     * 根据生骸类型给予不同的永久性正面效果
+     * 根据生骸类型给予不同的永久性正面效果（由配置编译的效果表决定）
      * 
      * @param player 玩家
      * @param type 生骸类型
@@ -214,31 +240,12 @@ public class NarehateManager {
             return;
         }
         
-        // 根据生骸类型应用不同的效果
-        // 注意：由于生骸效果的优先级最高（NAREHATE = 3），即使玩家身上已有其他来源的同类型效果，也会被覆盖
-        if (type == PlayerCurseData.NarehateType.LUCKY) {
-            // 幸运生骸：迅捷2，急迫2，力量2，跳跃提升2，夜视，生命恢复2，村庄英雄，海豚的恩惠，潮涌能量，幸运
-            effectManager.addEffect(player, PotionEffectType.SPEED, 1, -1, EffectManager.EffectSource.NAREHATE); // 迅捷2 (amplifier=1表示2级)
-            effectManager.addEffect(player, PotionEffectType.HASTE, 1, -1, EffectManager.EffectSource.NAREHATE); // 急迫2
-            effectManager.addEffect(player, PotionEffectType.STRENGTH, 1, -1, EffectManager.EffectSource.NAREHATE); // 力量2
-            effectManager.addEffect(player, PotionEffectType.JUMP_BOOST, 1, -1, EffectManager.EffectSource.NAREHATE); // 跳跃提升2
-            effectManager.addEffect(player, PotionEffectType.NIGHT_VISION, 0, -1, EffectManager.EffectSource.NAREHATE); // 夜视
-            effectManager.addEffect(player, PotionEffectType.REGENERATION, 1, -1, EffectManager.EffectSource.NAREHATE); // 生命恢复2
-            effectManager.addEffect(player, PotionEffectType.HERO_OF_THE_VILLAGE, 0, -1, EffectManager.EffectSource.NAREHATE); // 村庄英雄
-            effectManager.addEffect(player, PotionEffectType.DOLPHINS_GRACE, 0, -1, EffectManager.EffectSource.NAREHATE); // 海豚的恩惠
-            effectManager.addEffect(player, PotionEffectType.CONDUIT_POWER, 0, -1, EffectManager.EffectSource.NAREHATE); // 潮涌能量
-            effectManager.addEffect(player, PotionEffectType.LUCK, 0, -1, EffectManager.EffectSource.NAREHATE); // 幸运
-        } else if (type == PlayerCurseData.NarehateType.SAD) {
-            // 悲惨生骸：生命恢复2，抗性提升4，伤害吸收4，抗火，水下呼吸，缓降
-            effectManager.addEffect(player, PotionEffectType.REGENERATION, 1, -1, EffectManager.EffectSource.NAREHATE); // 生命恢复2
-            effectManager.addEffect(player, PotionEffectType.RESISTANCE, 3, -1, EffectManager.EffectSource.NAREHATE); // 抗性提升4 (amplifier=3表示4级)
-            effectManager.addEffect(player, PotionEffectType.ABSORPTION, 3, -1, EffectManager.EffectSource.NAREHATE); // 伤害吸收4
-            effectManager.addEffect(player, PotionEffectType.FIRE_RESISTANCE, 0, -1, EffectManager.EffectSource.NAREHATE); // 抗火
-            effectManager.addEffect(player, PotionEffectType.WATER_BREATHING, 0, -1, EffectManager.EffectSource.NAREHATE); // 水下呼吸
-            effectManager.addEffect(player, PotionEffectType.SLOW_FALLING, 0, -1, EffectManager.EffectSource.NAREHATE); // 缓降
-        }
+        // 根据生骸类型应用效果表中的祝福（效果定义见配置文件 effects.narehate）
+        effectManager.applyNarehateEffects(player, type);
         
-        plugin.getLogger().info("已为玩家 " + player.getName() + " 应用生骸效果，类型: " + type.name());
+        if (eventLog != null) {
+            eventLog.log(GameEvent.NAREHATE_EFFECTS_APPLIED, player.getName(), type.name());
+        }
     }
     
     /**
@@ -259,9 +266,9 @@ public class NarehateManager {
                 abyssPlugin.getEffectManager().removeCurseEffects(player);
             }
             
-            // 停止随机音效（第三层及以下都有随机音效，直接停止即可，如果不存在任务会安全处理）
+            // 停止环境音效（没有正在播放的音效时会安全处理）
             if (abyssPlugin.getSoundManager() != null) {
-                abyssPlugin.getSoundManager().stopRandomSounds(player);
+                abyssPlugin.getSoundManager().stopAmbientSounds(player);
             }
             
             // 清除第一层诅咒滤镜（如果存在）
@@ -277,26 +284,6 @@ public class NarehateManager {
         data.setCurseArm(0);
     }
     
-    /**
-     * 获取不死图腾粒子类型
-     * 尝试多种可能的粒子名称以兼容不同版本
-     */
-    private Particle getTotemParticle() {
-        // 尝试常见的粒子名称
-        String[] particleNames = {"TOTEM", "TOTEM_OF_UNDYING"};
-        
-        for (String name : particleNames) {
-            try {
-                return Particle.valueOf(name);
-            } catch (IllegalArgumentException e) {
-                // 继续尝试下一个
-            }
-        }
-        
-        // 如果都不存在，返回 null（调用者需要处理）
-        return null;
-    }
-    
     /**
      * 播放不死图腾粒子效果
      * 模拟不死图腾触发时的视觉效果（仅粒子，不显示手持模型）
@@ -317,55 +304,20 @@ public class NarehateManager {
             1.0f
         );
         
-        // 获取不死图腾粒子类型
-        Particle totemParticle = getTotemParticle();
-        if (totemParticle == null) {
-            // 如果无法获取 TOTEM 粒子，记录警告但不影响其他功能
-            plugin.getLogger().warning("无法找到 TOTEM 粒子类型，跳过粒子效果");
-            return;
-        }
-        
-        // 生成不死图腾粒子效果
-        // 在玩家位置周围生成多个粒子，模拟不死图腾触发效果
-        for (int i = 0; i < 20; i++) {
-            // 在玩家周围随机位置生成粒子
-            double offsetX = (Math.random() - 0.5) * 0.5;
-            double offsetY = Math.random() * 1.5;
-            double offsetZ = (Math.random() - 0.5) * 0.5;
-            
-            Location particleLocation = location.clone().add(offsetX, offsetY, offsetZ);
-            
-            player.getWorld().spawnParticle(
-                totemParticle,
-                particleLocation,
-                1,
-                0.0,
-                0.0,
-                0.0,
-                0.0
-            );
+        // 生成不死图腾粒子效果（预编译的粒子团，只发送给附近玩家）
+        if (particleService != null) {
+            particleService.playTotemParticles(location);
         }
-        
-        // 在玩家头顶生成额外的粒子效果
-        Location headLocation = location.clone().add(0, player.getHeight(), 0);
-        player.getWorld().spawnParticle(
-            totemParticle,
-            headLocation,
-            30,
-            0.3,
-            0.3,
-            0.3,
-            0.1
-        );
     }
     
     /**
      * 停止生骸管理器
      */
     public void stop() {
-        if (checkTask != null && !checkTask.isCancelled()) {
-            checkTask.cancel();
+        for (ScheduledHandle task : transformationTasks.values()) {
+            task.cancel();
         }
+        transformationTasks.clear();
     }
 }
 
@@ -1,53 +1,52 @@
 package io.github.kaleidscoper.abysscurse.data;
 
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.LongSupplier;
 
 /**
  * 玩家诅咒数据
  * 存储单个玩家的所有诅咒相关数据
+ * 线程安全：标量字段为 volatile，上升统计（安全高度、lastY、累计上升记录）在对象锁内访问
+ * （Folia 上玩家所在区域线程与全局/异步线程可能同时访问）
  */
 public class PlayerCurseData {
-    // 安全高度（玩家下降或累计上升高度清零时记录的高度）
-    private double safeHeight;
-    
-    // 上次检查时的 Y 坐标（用于计算上升/下降）
-    private double lastY;
-    
-    // 累计上升记录（每条记录包含时间戳与对应的高度增量）
-    private final ConcurrentLinkedDeque<RiseRecord> riseRecords;
-    
-    // 当前累计上升高度（含未满一格的小数）
-    private double totalRise;
+    // 上升统计状态
+    private RiseTracker tracking;
+
+    // 上升统计的版本号：每次修改都会递增，
+    // 诅咒检测流水线写回计算结果时据此丢弃基于旧状态（如死亡、复活、进入游戏之前）算出的结果
+    private long generation;
     
     // 当前诅咒层级（1-7，0表示无诅咒）
-    private int currentLayer;
+    private volatile int currentLayer;
     
     // 诅咒生效时间（时间戳，触发诅咒时记录）
-    private long curseStartTime;
+    private volatile long curseStartTime;
     
     // 诅咒持续时间（tick数，根据诅咒臂动态计算）
-    private long curseDuration;
+    private volatile long curseDuration;
     
     // 触发诅咒时的诅咒臂（用于计算持续时间）
-    private int curseArm;
+    private volatile int curseArm;
     
     // 是否为生骸（豁免者）
-    private boolean isNarehate;
+    private volatile boolean isNarehate;
     
     // 生骸类型（LUCKY/SAD，枚举）
-    private NarehateType narehateType;
+    private volatile NarehateType narehateType;
     
     // 暴露在深层诅咒（第六层及以下）中的开始时间（时间戳，0表示未暴露）
-    private long deepCurseExposureStartTime;
-    
-    // 累计上升过期时间（20分钟 = 20 * 60 * 1000 毫秒）
-    private static final long EXPIRE_TIME = 20 * 60 * 1000;
+    private volatile long deepCurseExposureStartTime;
 
     public PlayerCurseData(double initialY) {
-        this.safeHeight = initialY;
-        this.lastY = initialY;
-        this.riseRecords = new ConcurrentLinkedDeque<>();
-        this.totalRise = 0.0;
+        this(initialY, System::currentTimeMillis);
+    }
+
+    /**
+     * 使用指定时钟创建玩家数据（模拟与轨迹回放使用虚拟时钟）
+     * @param clock 返回当前时间（毫秒）的时钟
+     */
+    public PlayerCurseData(double initialY, LongSupplier clock) {
+        this.tracking = new RiseTracker(initialY, clock);
         this.currentLayer = 0;
         this.curseStartTime = 0;
         this.curseDuration = 0;
@@ -60,124 +59,89 @@ public class PlayerCurseData {
     /**
      * 获取安全高度
      */
-    public double getSafeHeight() {
-        return safeHeight;
+    public synchronized double getSafeHeight() {
+        return tracking.getSafeHeight();
     }
 
     /**
      * 设置安全高度
      */
-    public void setSafeHeight(double safeHeight) {
-        this.safeHeight = safeHeight;
+    public synchronized void setSafeHeight(double safeHeight) {
+        tracking.setSafeHeight(safeHeight);
+        generation++;
     }
 
     /**
      * 获取上次检查时的 Y 坐标
      */
-    public double getLastY() {
-        return lastY;
+    public synchronized double getLastY() {
+        return tracking.getLastY();
     }
 
     /**
      * 设置上次检查时的 Y 坐标
      */
-    public void setLastY(double lastY) {
-        this.lastY = lastY;
+    public synchronized void setLastY(double lastY) {
+        tracking.setLastY(lastY);
+        generation++;
     }
 
     /**
      * 按浮点增量记录上升
      * @param riseDelta 本次上升的高度（>0）
      */
-    public void addRiseDelta(double riseDelta) {
-        if (riseDelta <= 0) {
-            return;
-        }
-        long now = System.currentTimeMillis();
-        riseRecords.addLast(new RiseRecord(now, riseDelta));
-        totalRise += riseDelta;
+    public synchronized void addRiseDelta(double riseDelta) {
+        tracking.addRiseDelta(riseDelta);
+        generation++;
     }
 
     /**
      * 获取当前累计上升高度
      * 自动清理过期记录
      */
-    public double getTotalRise() {
-        cleanupExpiredRise();
-        return Math.max(0.0, totalRise);
+    public synchronized double getTotalRise() {
+        return tracking.getTotalRise();
     }
 
     /**
      * 清空累计上升记录
      */
-    public void clearRiseRecords() {
-        riseRecords.clear();
-        totalRise = 0.0;
+    public synchronized void clearRiseRecords() {
+        tracking.clearRiseRecords();
+        generation++;
     }
 
     /**
      * 下降时消耗累计上升高度（最多减至 0）
      * @param descendDelta 下降的高度（>0）
      */
-    public void consumeRiseDelta(double descendDelta) {
-        if (descendDelta <= 0) {
-            return;
-        }
-        cleanupExpiredRise();
-        if (descendDelta >= totalRise) {
-            clearRiseRecords();
-            return;
-        }
-        double remaining = descendDelta;
-        while (remaining > 0 && !riseRecords.isEmpty()) {
-            RiseRecord last = riseRecords.peekLast();
-            if (last == null) {
-                break;
-            }
-            if (last.amount <= remaining + 1e-9) {
-                remaining -= last.amount;
-                totalRise -= last.amount;
-                riseRecords.pollLast();
-            } else {
-                last.amount -= remaining;
-                totalRise -= remaining;
-                remaining = 0;
-            }
-        }
-        if (totalRise < 0) {
-            totalRise = 0;
-        }
+    public synchronized void consumeRiseDelta(double descendDelta) {
+        tracking.consumeRiseDelta(descendDelta);
+        generation++;
     }
 
     /**
-     * 清除过期的上升记录
+     * 复制上升统计状态（诅咒检测流水线的快照阶段调用）
+     * 副本记录了当前版本号，可在其他线程上修改后通过 {@link #commitTracking} 写回
      */
-    private void cleanupExpiredRise() {
-        long expireTime = System.currentTimeMillis() - EXPIRE_TIME;
-        while (!riseRecords.isEmpty()) {
-            RiseRecord first = riseRecords.peekFirst();
-            if (first == null || first.timestamp >= expireTime) {
-                break;
-            }
-            totalRise -= first.amount;
-            riseRecords.pollFirst();
-        }
-        if (totalRise < 0) {
-            totalRise = 0;
-        }
+    public synchronized RiseTracker copyTracking() {
+        RiseTracker copy = tracking.copy();
+        copy.generation = generation;
+        return copy;
     }
 
     /**
-     * 累计上升记录
+     * 写回计算后的上升统计状态（诅咒检测流水线的施加阶段调用）
+     * @param updated 由 {@link #copyTracking} 得到并修改后的副本
+     * @return 复制之后状态未被其他地方修改并已写回时返回 true，否则丢弃副本并返回 false
      */
-    private static class RiseRecord {
-        private final long timestamp;
-        private double amount;
-
-        private RiseRecord(long timestamp, double amount) {
-            this.timestamp = timestamp;
-            this.amount = amount;
+    public synchronized boolean commitTracking(RiseTracker updated) {
+        if (updated.generation != generation) {
+            return false;
         }
+        tracking = updated;
+        generation++;
+        return true;
     }
 
     /**
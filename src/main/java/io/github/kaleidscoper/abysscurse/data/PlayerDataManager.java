@@ -1,5 +1,12 @@
 package io.github.kaleidscoper.abysscurse.data;
 
+import io.github.kaleidscoper.abysscurse.jfr.PlayerDataLoadedEvent;
+import io.github.kaleidscoper.abysscurse.jfr.PlayerDataSavedEvent;
+import io.github.kaleidscoper.abysscurse.metrics.Metrics;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -9,7 +16,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * 玩家数据管理器
@@ -17,15 +26,20 @@ import java.util.logging.Level;
  */
 public class PlayerDataManager {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     
     // 在线玩家数据缓存（线程安全）
     private final ConcurrentHashMap<UUID, PlayerCurseData> playerDataCache;
     
     // 玩家数据文件夹
     private final File playersFolder;
+    
+    // 已提交但尚未完成的异步保存数量
+    private final AtomicInteger pendingSaves = new AtomicInteger();
 
-    public PlayerDataManager(JavaPlugin plugin) {
+    public PlayerDataManager(JavaPlugin plugin, TaskScheduler scheduler) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataCache = new ConcurrentHashMap<>();
         this.playersFolder = new File(plugin.getDataFolder(), "players");
         
@@ -81,37 +95,17 @@ public class PlayerDataManager {
             return null;
         }
         
+        PlayerDataLoadedEvent event = new PlayerDataLoadedEvent();
+        event.begin();
         try {
             FileConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
-            
-            // 读取数据
-            double safeHeight = config.getDouble("safeHeight", 64.0);
-            double lastY = config.getDouble("lastY", safeHeight);
-            int currentLayer = config.getInt("currentLayer", 0);
-            long curseStartTime = config.getLong("curseStartTime", 0);
-            long curseDuration = config.getLong("curseDuration", 0);
-            int curseArm = config.getInt("curseArm", 0);
-            boolean isNarehate = config.getBoolean("isNarehate", false);
-            String narehateTypeStr = config.getString("narehateType", null);
-            
-            // 创建数据对象
-            PlayerCurseData data = new PlayerCurseData(safeHeight);
-            data.setLastY(lastY);
-            data.setCurrentLayer(currentLayer);
-            data.setCurseStartTime(curseStartTime);
-            data.setCurseDuration(curseDuration);
-            data.setCurseArm(curseArm);
-            data.setNarehate(isNarehate);
-            
-            if (narehateTypeStr != null) {
-                try {
-                    data.setNarehateType(PlayerCurseData.NarehateType.valueOf(narehateTypeStr));
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("无效的生骸类型: " + narehateTypeStr);
-                }
+            if (event.shouldCommit()) {
+                event.uuid = uuid.toString();
+                event.bytes = playerFile.length();
+                event.commit();
             }
             
-            return data;
+            return decode(config, plugin.getLogger());
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "加载玩家数据失败: " + uuid, e);
             return null;
@@ -130,10 +124,41 @@ public class PlayerDataManager {
         }
         
         // 异步保存
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            savePlayerDataSync(uuid, data);
+        enqueueSave(() -> savePlayerDataSync(uuid, data));
+    }
+    
+    /**
+     * 提交异步保存，记录排队数量与从提交到完成的延迟
+     */
+    private void enqueueSave(Runnable save) {
+        TickProfiler profiler = scheduler.getProfiler();
+        long submitted = System.nanoTime();
+        pendingSaves.incrementAndGet();
+        scheduler.runAsync(() -> {
+            try {
+                save.run();
+            } finally {
+                pendingSaves.decrementAndGet();
+                long elapsed = System.nanoTime() - submitted;
+                Metrics.saveCompleted(elapsed);
+                profiler.record(Subsystem.SAVE, elapsed);
+            }
         });
     }
+    
+    /**
+     * 已提交但尚未完成的异步保存数量
+     */
+    public int getPendingSaves() {
+        return pendingSaves.get();
+    }
+    
+    /**
+     * 缓存中的玩家数据数量
+     */
+    public int getCachedCount() {
+        return playerDataCache.size();
+    }
 
     /**
      * 保存玩家数据（同步，在异步任务中调用）
@@ -143,30 +168,77 @@ public class PlayerDataManager {
     private void savePlayerDataSync(UUID uuid, PlayerCurseData data) {
         File playerFile = new File(playersFolder, uuid.toString() + ".yml");
         
+        PlayerDataSavedEvent event = new PlayerDataSavedEvent();
+        event.begin();
         try {
             FileConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
             
-            // 保存数据（注意：累计上升记录时间不持久化，因为玩家退出时会清零）
-            config.set("safeHeight", data.getSafeHeight());
-            config.set("lastY", data.getLastY());
-            config.set("currentLayer", data.getCurrentLayer());
-            config.set("curseStartTime", data.getCurseStartTime());
-            config.set("curseDuration", data.getCurseDuration());
-            config.set("curseArm", data.getCurseArm());
-            config.set("isNarehate", data.isNarehate());
-            
-            if (data.getNarehateType() != null) {
-                config.set("narehateType", data.getNarehateType().name());
-            } else {
-                config.set("narehateType", null);
-            }
-            
+            encode(config, data);
             config.save(playerFile);
+            if (event.shouldCommit()) {
+                event.uuid = uuid.toString();
+                event.bytes = playerFile.length();
+                event.commit();
+            }
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "保存玩家数据失败: " + uuid, e);
         }
     }
 
+    /**
+     * 从配置节读取玩家数据
+     * @param logger 用于提示无效的生骸类型
+     */
+    static PlayerCurseData decode(ConfigurationSection config, Logger logger) {
+        double safeHeight = config.getDouble("safeHeight", 64.0);
+        double lastY = config.getDouble("lastY", safeHeight);
+        int currentLayer = config.getInt("currentLayer", 0);
+        long curseStartTime = config.getLong("curseStartTime", 0);
+        long curseDuration = config.getLong("curseDuration", 0);
+        int curseArm = config.getInt("curseArm", 0);
+        boolean isNarehate = config.getBoolean("isNarehate", false);
+        String narehateTypeStr = config.getString("narehateType", null);
+        
+        // 创建数据对象
+        PlayerCurseData data = new PlayerCurseData(safeHeight);
+        data.setLastY(lastY);
+        data.setCurrentLayer(currentLayer);
+        data.setCurseStartTime(curseStartTime);
+        data.setCurseDuration(curseDuration);
+        data.setCurseArm(curseArm);
+        data.setNarehate(isNarehate);
+        
+        if (narehateTypeStr != null) {
+            try {
+                data.setNarehateType(PlayerCurseData.NarehateType.valueOf(narehateTypeStr));
+            } catch (IllegalArgumentException e) {
+                logger.warning("无效的生骸类型: " + narehateTypeStr);
+            }
+        }
+        
+        return data;
+    }
+
+    /**
+     * 将玩家数据写入配置节
+     * 注意：累计上升记录时间不持久化，因为玩家退出时会清零
+     */
+    static void encode(ConfigurationSection config, PlayerCurseData data) {
+        config.set("safeHeight", data.getSafeHeight());
+        config.set("lastY", data.getLastY());
+        config.set("currentLayer", data.getCurrentLayer());
+        config.set("curseStartTime", data.getCurseStartTime());
+        config.set("curseDuration", data.getCurseDuration());
+        config.set("curseArm", data.getCurseArm());
+        config.set("isNarehate", data.isNarehate());
+        
+        if (data.getNarehateType() != null) {
+            config.set("narehateType", data.getNarehateType().name());
+        } else {
+            config.set("narehateType", null);
+        }
+    }
+
     /**
      * 保存所有在线玩家数据（异步）
      */
@@ -176,7 +248,7 @@ public class PlayerDataManager {
             return;
         }
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::saveAllPlayerDataSync);
+        enqueueSave(this::saveAllPlayerDataSync);
     }
 
     private void saveAllPlayerDataSync() {
@@ -200,9 +272,14 @@ public class PlayerDataManager {
      * 定期自动保存（在主线程中调用，然后异步保存）
      */
     public void autoSave() {
-        // 在主线程中获取所有需要保存的数据，然后异步保存
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            savePlayerData(player);
+        // 缓存中的数据与玩家实体无关，可直接按 UUID 异步保存
+        for (UUID uuid : playerDataCache.keySet()) {
+            if (plugin.getServer().getPlayer(uuid) != null) {
+                PlayerCurseData data = playerDataCache.get(uuid);
+                if (data != null) {
+                    savePlayerDataAsync(uuid, data);
+                }
+            }
         }
     }
 
@@ -212,10 +289,10 @@ public class PlayerDataManager {
      * @param callback 回调函数，在主线程中执行
      */
     public void loadPlayerDataAsync(UUID uuid, java.util.function.Consumer<PlayerCurseData> callback) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        scheduler.runAsync(() -> {
             PlayerCurseData data = loadPlayerData(uuid);
-            // 在主线程中执行回调
-            plugin.getServer().getScheduler().runTask(plugin, () -> callback.accept(data));
+            // 在主线程（Folia 上为全局区域线程）中执行回调
+            scheduler.runGlobal(() -> callback.accept(data));
         });
     }
 
@@ -225,9 +302,7 @@ public class PlayerDataManager {
      * @param data 玩家数据
      */
     public void savePlayerDataAsync(UUID uuid, PlayerCurseData data) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            savePlayerDataSync(uuid, data);
-        });
+        enqueueSave(() -> savePlayerDataSync(uuid, data));
     }
 
     /**
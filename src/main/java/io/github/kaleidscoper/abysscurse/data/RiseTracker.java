@@ -0,0 +1,165 @@
+package io.github.kaleidscoper.abysscurse.data;
+
+import java.util.ArrayDeque;
+import java.util.function.LongSupplier;
+
+/**
+ * 上升统计状态：安全高度、上次检查时的 Y 坐标与累计上升记录
+ * 非线程安全：由 {@link PlayerCurseData} 在对象锁内访问，
+ * 诅咒检测流水线在计算阶段操作的是 {@link PlayerCurseData#copyTracking()} 得到的独立副本
+ */
+public final class RiseTracker {
+    // 累计上升过期时间（20分钟 = 20 * 60 * 1000 毫秒）
+    private static final long EXPIRE_TIME = 20 * 60 * 1000;
+
+    // 累计上升记录使用的时钟（毫秒）
+    private final LongSupplier clock;
+
+    // 安全高度（玩家下降或累计上升高度清零时记录的高度）
+    private double safeHeight;
+
+    // 上次检查时的 Y 坐标（用于计算上升/下降）
+    private double lastY;
+
+    // 累计上升记录（每条记录包含时间戳与对应的高度增量）
+    private final ArrayDeque<RiseRecord> riseRecords;
+
+    // 当前累计上升高度（含未满一格的小数）
+    private double totalRise;
+
+    // 复制时 PlayerCurseData 的版本号（写回时用于判断期间是否被重置）
+    long generation;
+
+    RiseTracker(double initialY, LongSupplier clock) {
+        this.clock = clock;
+        this.safeHeight = initialY;
+        this.lastY = initialY;
+        this.riseRecords = new ArrayDeque<>();
+    }
+
+    private RiseTracker(RiseTracker source) {
+        this.clock = source.clock;
+        this.safeHeight = source.safeHeight;
+        this.lastY = source.lastY;
+        this.riseRecords = new ArrayDeque<>(source.riseRecords.size());
+        for (RiseRecord record : source.riseRecords) {
+            this.riseRecords.addLast(new RiseRecord(record.timestamp, record.amount));
+        }
+        this.totalRise = source.totalRise;
+        this.generation = source.generation;
+    }
+
+    /**
+     * 深拷贝（记录逐条复制，副本的修改不影响原对象）
+     */
+    RiseTracker copy() {
+        return new RiseTracker(this);
+    }
+
+    public double getSafeHeight() {
+        return safeHeight;
+    }
+
+    public void setSafeHeight(double safeHeight) {
+        this.safeHeight = safeHeight;
+    }
+
+    public double getLastY() {
+        return lastY;
+    }
+
+    public void setLastY(double lastY) {
+        this.lastY = lastY;
+    }
+
+    /**
+     * 按浮点增量记录上升
+     * @param riseDelta 本次上升的高度（>0）
+     */
+    public void addRiseDelta(double riseDelta) {
+        if (riseDelta <= 0) {
+            return;
+        }
+        riseRecords.addLast(new RiseRecord(clock.getAsLong(), riseDelta));
+        totalRise += riseDelta;
+    }
+
+    /**
+     * 获取当前累计上升高度
+     * 自动清理过期记录
+     */
+    public double getTotalRise() {
+        cleanupExpiredRise();
+        return Math.max(0.0, totalRise);
+    }
+
+    /**
+     * 清空累计上升记录
+     */
+    public void clearRiseRecords() {
+        riseRecords.clear();
+        totalRise = 0.0;
+    }
+
+    /**
+     * 下降时消耗累计上升高度（最多减至 0）
+     * @param descendDelta 下降的高度（>0）
+     */
+    public void consumeRiseDelta(double descendDelta) {
+        if (descendDelta <= 0) {
+            return;
+        }
+        cleanupExpiredRise();
+        if (descendDelta >= totalRise) {
+            clearRiseRecords();
+            return;
+        }
+        double remaining = descendDelta;
+        while (remaining > 0 && !riseRecords.isEmpty()) {
+            RiseRecord last = riseRecords.peekLast();
+            if (last.amount <= remaining + 1e-9) {
+                remaining -= last.amount;
+                totalRise -= last.amount;
+                riseRecords.pollLast();
+            } else {
+                last.amount -= remaining;
+                totalRise -= remaining;
+                remaining = 0;
+            }
+        }
+        if (totalRise < 0) {
+            totalRise = 0;
+        }
+    }
+
+    /**
+     * 清除过期的上升记录
+     */
+    private void cleanupExpiredRise() {
+        long expireTime = clock.getAsLong() - EXPIRE_TIME;
+        while (!riseRecords.isEmpty()) {
+            RiseRecord first = riseRecords.peekFirst();
+            if (first.timestamp >= expireTime) {
+                break;
+            }
+            totalRise -= first.amount;
+            riseRecords.pollFirst();
+        }
+        if (totalRise < 0) {
+            totalRise = 0;
+        }
+    }
+
+    /**
+     * 累计上升记录
+     */
+    private static class RiseRecord {
+        private final long timestamp;
+        private double amount;
+
+        private RiseRecord(long timestamp, double amount) {
+            this.timestamp = timestamp;
+            this.amount = amount;
+        }
+    }
+}
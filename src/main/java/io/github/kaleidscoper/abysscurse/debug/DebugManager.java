@@ -5,16 +5,20 @@ import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
 import io.github.kaleidscoper.abysscurse.mode.ModeManager;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import io.github.kaleidscoper.abysscurse.visual.ActionBarChannel;
+import io.github.kaleidscoper.abysscurse.visual.MessageCatalog;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 调试管理器
@@ -22,24 +26,29 @@ import java.util.UUID;
  */
 public class DebugManager {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     private final ConfigManager configManager;
     private final ModeManager modeManager;
     private final RegionManager regionManager;
     private final PlayerDataManager playerDataManager;
+    private final ActionBarChannel actionBarChannel;
     
     // 玩家级别的调试开关
-    private final Set<UUID> debugPlayers = new HashSet<>();
+    private final Set<UUID> debugPlayers = ConcurrentHashMap.newKeySet();
     
     // 定时任务
-    private BukkitTask debugTask;
+    private ScheduledHandle debugTask;
     
-    public DebugManager(JavaPlugin plugin, ConfigManager configManager, ModeManager modeManager,
-                       RegionManager regionManager, PlayerDataManager playerDataManager) {
+    public DebugManager(JavaPlugin plugin, TaskScheduler scheduler, ConfigManager configManager, ModeManager modeManager,
+                       RegionManager regionManager, PlayerDataManager playerDataManager,
+                       ActionBarChannel actionBarChannel) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.configManager = configManager;
         this.modeManager = modeManager;
         this.regionManager = regionManager;
         this.playerDataManager = playerDataManager;
+        this.actionBarChannel = actionBarChannel;
     }
     
     /**
@@ -52,13 +61,14 @@ public class DebugManager {
         }
         
         // 每 20 tick (1秒) 更新一次调试信息
-        debugTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                if (shouldShowDebug(player)) {
-                    updateDebugInfo(player);
-                }
+        debugTask = scheduler.runGlobalTimer(scheduler.getProfiler().wrap(Subsystem.DEBUG, () -> scheduler.forEachOnlinePlayer(player -> {
+            if (shouldShowDebug(player)) {
+                updateDebugInfo(player);
+            } else {
+                // 调试已关闭（如重载配置），撤回残留的调试内容
+                actionBarChannel.clear(player, ActionBarChannel.Priority.DEBUG);
             }
-        }, 0, 20);
+        })), 0, 20);
         
         plugin.getLogger().info("调试管理器已启动");
     }
@@ -73,9 +83,7 @@ public class DebugManager {
         }
         
         // 清除所有玩家的调试信息显示
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            player.sendActionBar(Component.empty());
-        }
+        scheduler.forEachOnlinePlayer(player -> actionBarChannel.clear(player, ActionBarChannel.Priority.DEBUG));
         
         plugin.getLogger().info("调试管理器已停止");
     }
@@ -98,38 +106,39 @@ public class DebugManager {
      */
     private void updateDebugInfo(Player player) {
         Component debugInfo = buildDebugInfo(player);
-        player.sendActionBar(debugInfo);
+        actionBarChannel.submit(player, ActionBarChannel.Priority.DEBUG, debugInfo);
     }
     
     /**
      * 构建调试信息组件
+     * 标签与分隔符取自消息目录的预构建组件，只有数值部分按需构建
      */
     private Component buildDebugInfo(Player player) {
         TextComponent.Builder builder = Component.text();
         
         // 模式信息
-        builder.append(Component.text("模式: ", NamedTextColor.GRAY));
-        builder.append(Component.text(modeManager.getCurrentMode().name(), NamedTextColor.YELLOW));
-        builder.append(Component.text(" | ", NamedTextColor.GRAY));
+        builder.append(MessageCatalog.DEBUG_MODE);
+        builder.append(MessageCatalog.debugModeName(modeManager.getCurrentMode()));
+        builder.append(MessageCatalog.DEBUG_SEPARATOR);
         
         // 位置信息
         int x = player.getLocation().getBlockX();
         int y = player.getLocation().getBlockY();
         int z = player.getLocation().getBlockZ();
-        builder.append(Component.text("位置: ", NamedTextColor.GRAY));
+        builder.append(MessageCatalog.DEBUG_POSITION);
         builder.append(Component.text(String.format("(%d, %d, %d)", x, y, z), NamedTextColor.AQUA));
         
         // 如果是在 ABYSS 模式，显示区域信息
         if (modeManager.isAbyss()) {
-            builder.append(Component.text(" | ", NamedTextColor.GRAY));
-            builder.append(Component.text("Abyss中心: ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_SEPARATOR);
+            builder.append(MessageCatalog.DEBUG_ABYSS_CENTER);
             builder.append(Component.text(
                 String.format("(%d, %d, %d)", 
                     configManager.getAbyssCenterX(),
                     configManager.getAbyssCenterY(),
                     configManager.getAbyssCenterZ()),
                 NamedTextColor.GREEN));
-            builder.append(Component.text(" 半径: ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_RADIUS);
             builder.append(Component.text(
                 String.valueOf(configManager.getAbyssRadius()),
                 NamedTextColor.GREEN));
@@ -138,49 +147,48 @@ public class DebugManager {
         // 获取玩家数据
         PlayerCurseData data = playerDataManager.getData(player);
         if (data != null) {
-            builder.append(Component.text(" | ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_SEPARATOR);
             
             // 累计上升高度
             double totalRise = data.getTotalRise();
             double threshold = configManager.getRiseThreshold();
-            builder.append(Component.text("上升: ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_RISE);
             builder.append(Component.text(String.format("%.2f", totalRise), 
                 totalRise >= threshold ? NamedTextColor.RED : NamedTextColor.YELLOW));
             
             // 安全高度
-            builder.append(Component.text(" | ", NamedTextColor.GRAY));
-            builder.append(Component.text("安全高度: ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_SEPARATOR);
+            builder.append(MessageCatalog.DEBUG_SAFE_HEIGHT);
             builder.append(Component.text(String.format("%.1f", data.getSafeHeight()), NamedTextColor.AQUA));
             
             // 当前层级
             int layer = data.getCurrentLayer();
             if (layer > 0) {
-                builder.append(Component.text(" | ", NamedTextColor.GRAY));
-                builder.append(Component.text("层级: ", NamedTextColor.GRAY));
+                builder.append(MessageCatalog.DEBUG_SEPARATOR);
+                builder.append(MessageCatalog.DEBUG_LAYER);
                 builder.append(Component.text(String.valueOf(layer), NamedTextColor.RED));
             }
         }
         
         // 区域信息
         if (regionManager != null) {
-            builder.append(Component.text(" | ", NamedTextColor.GRAY));
+            builder.append(MessageCatalog.DEBUG_SEPARATOR);
             boolean inAbyss = regionManager.isInAbyss(player.getLocation());
-            builder.append(Component.text("Abyss: ", NamedTextColor.GRAY));
-            builder.append(Component.text(inAbyss ? "是" : "否", 
-                inAbyss ? NamedTextColor.RED : NamedTextColor.GREEN));
+            builder.append(MessageCatalog.DEBUG_IN_ABYSS);
+            builder.append(inAbyss ? MessageCatalog.DEBUG_YES_RED : MessageCatalog.DEBUG_NO_GREEN);
             
             boolean inExemption = regionManager.isInExemptionZone(player.getLocation());
             if (inExemption) {
-                builder.append(Component.text(" | ", NamedTextColor.GRAY));
-                builder.append(Component.text("豁免区: ", NamedTextColor.GRAY));
-                builder.append(Component.text("是", NamedTextColor.GREEN));
+                builder.append(MessageCatalog.DEBUG_SEPARATOR);
+                builder.append(MessageCatalog.DEBUG_EXEMPTION_ZONE);
+                builder.append(MessageCatalog.DEBUG_YES_GREEN);
             }
             
             boolean isExempt = regionManager.isExemptPlayer(player.getUniqueId());
             if (isExempt) {
-                builder.append(Component.text(" | ", NamedTextColor.GRAY));
-                builder.append(Component.text("豁免者: ", NamedTextColor.GRAY));
-                builder.append(Component.text("是", NamedTextColor.GOLD));
+                builder.append(MessageCatalog.DEBUG_SEPARATOR);
+                builder.append(MessageCatalog.DEBUG_EXEMPT_PLAYER);
+                builder.append(MessageCatalog.DEBUG_YES_GOLD);
             }
         }
         
@@ -200,7 +208,9 @@ public class DebugManager {
      */
     public void disableDebug(Player player) {
         debugPlayers.remove(player.getUniqueId());
-        player.sendActionBar(Component.empty());
+        if (!configManager.isDebugEnabled()) {
+            actionBarChannel.clear(player, ActionBarChannel.Priority.DEBUG);
+        }
         player.sendMessage("§8[§5AbyssCurse§8] §c调试模式已关闭");
     }
     
@@ -239,11 +249,11 @@ public class DebugManager {
         } else {
             plugin.getLogger().info("全局调试模式已关闭");
             // 清除所有玩家的 ActionBar 显示
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
+            scheduler.forEachOnlinePlayer(player -> {
                 if (!debugPlayers.contains(player.getUniqueId())) {
-                    player.sendActionBar(Component.empty());
+                    actionBarChannel.clear(player, ActionBarChannel.Priority.DEBUG);
                 }
-            }
+            });
         }
     }
     
@@ -0,0 +1,133 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 诅咒效果模板
+ * 各层诅咒效果是逐层累加的：第 n 层包含第 n-1 层的全部效果。
+ * 因此所有效果按起始层级排成一个主数组，第 n 层的效果就是主数组的前 prefix[n] 项，
+ * 各层共享同一批条目，施加时取前缀一次性批量添加。
+ * 不可变，可在任意线程读取。
+ */
+public final class CurseEffectTemplate {
+    // 层级数量
+    public static final int LAYER_COUNT = 7;
+
+    // 按起始层级排序的效果定义
+    private final EffectDefinition[] definitions;
+
+    // prefix[layer]：该层诅咒包含主数组前多少项（下标 0 恒为 0）
+    private final int[] prefix;
+
+    // 按持续时间缓存的 PotionEffect 主数组（诅咒持续时间由诅咒臂决定，取值有限）
+    private final Map<Integer, List<PotionEffect>> effectCache = new ConcurrentHashMap<>();
+
+    // 缓存的持续时间种类上限，超出时清空重建
+    private static final int MAX_CACHED_DURATIONS = 256;
+
+    /**
+     * @param definitions 效果定义（按起始层级升序）
+     * @param minLayers 每个效果的起始层级（1-7）
+     */
+    public CurseEffectTemplate(EffectDefinition[] definitions, int[] minLayers) {
+        if (definitions.length != minLayers.length) {
+            throw new IllegalArgumentException("效果模板的效果与起始层级数量不一致");
+        }
+        for (int i = 1; i < minLayers.length; i++) {
+            if (minLayers[i] < minLayers[i - 1]) {
+                throw new IllegalArgumentException("效果模板必须按起始层级升序排列");
+            }
+        }
+
+        this.definitions = definitions.clone();
+        this.prefix = new int[LAYER_COUNT + 1];
+        for (int layer = 1; layer <= LAYER_COUNT; layer++) {
+            int count = 0;
+            while (count < minLayers.length && minLayers[count] <= layer) {
+                count++;
+            }
+            prefix[layer] = count;
+        }
+    }
+
+    /**
+     * 默认诅咒效果（与各层设定一致）
+     */
+    public static CurseEffectTemplate defaults() {
+        PotionEffectType[] types = {
+            PotionEffectType.NAUSEA,          // 第一层：阿比斯之渊
+            PotionEffectType.HUNGER,          // 第二层：诱惑之森
+            PotionEffectType.SLOWNESS,
+            PotionEffectType.DARKNESS,        // 第三层：大断层
+            PotionEffectType.UNLUCK,          // 第四层：巨人之杯
+            PotionEffectType.MINING_FATIGUE,
+            PotionEffectType.WEAKNESS,
+            PotionEffectType.BLINDNESS,       // 第五层：亡骸之海
+            PotionEffectType.POISON,
+            PotionEffectType.WITHER,          // 第六层：来无还之都
+            PotionEffectType.OOZING,          // 寄生（虫蚀）
+            PotionEffectType.INSTANT_DAMAGE   // 第七层：最终极之涡
+        };
+        EffectDefinition[] definitions = new EffectDefinition[types.length];
+        for (int i = 0; i < types.length; i++) {
+            definitions[i] = EffectDefinition.of(types[i], 1, EffectManager.EffectSource.CURSE);
+        }
+        return new CurseEffectTemplate(definitions, new int[] {1, 2, 2, 3, 4, 4, 4, 5, 5, 6, 6, 7});
+    }
+
+    /**
+     * 指定层级包含的效果数量
+     * @param layer 层级（1-7），超出范围返回 0
+     */
+    public int size(int layer) {
+        if (layer < 1 || layer > LAYER_COUNT) {
+            return 0;
+        }
+        return prefix[layer];
+    }
+
+    /**
+     * 主数组第 index 项的效果定义
+     */
+    public EffectDefinition definitionAt(int index) {
+        return definitions[index];
+    }
+
+    /**
+     * 获取指定持续时间下预先构建的 PotionEffect 主数组（不可修改）
+     * 某层的效果为返回列表的前 {@link #size(int)} 项
+     * @param duration 诅咒持续时间（tick数），各条目再按自身倍率换算
+     */
+    public List<PotionEffect> effects(int duration) {
+        List<PotionEffect> cached = effectCache.get(duration);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (effectCache.size() >= MAX_CACHED_DURATIONS) {
+            effectCache.clear();
+        }
+
+        PotionEffect[] built = new PotionEffect[definitions.length];
+        for (int i = 0; i < definitions.length; i++) {
+            EffectDefinition definition = definitions[i];
+            built[i] = new PotionEffect(
+                definition.getType(),
+                definition.scaleDuration(duration),
+                definition.getAmplifier(),
+                true,  // 环境粒子
+                false   // 不显示图标（避免UI混乱）
+            );
+        }
+        List<PotionEffect> list = Collections.unmodifiableList(Arrays.asList(built));
+        effectCache.put(duration, list);
+        return list;
+    }
+}
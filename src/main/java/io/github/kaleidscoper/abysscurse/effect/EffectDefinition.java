@@ -0,0 +1,70 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * 效果定义
+ * 由配置编译而成的不可变条目，热路径中直接使用，不再解析字符串
+ */
+public final class EffectDefinition {
+    private final PotionEffectType type;
+    // 效果注册表序号（编译时解析）
+    private final int index;
+    private final int amplifier;
+    // 持续时间倍率（相对诅咒持续时间；永久效果忽略）
+    private final double durationScale;
+    private final EffectManager.EffectSource source;
+    private final int priority;
+
+    public EffectDefinition(PotionEffectType type, int amplifier, double durationScale,
+                            EffectManager.EffectSource source, int priority) {
+        this.type = type;
+        this.index = EffectRegistryIndex.indexOf(type);
+        this.amplifier = amplifier;
+        this.durationScale = durationScale;
+        this.source = source;
+        this.priority = priority;
+    }
+
+    /**
+     * 使用来源默认优先级、持续时间倍率为 1 的效果定义
+     */
+    public static EffectDefinition of(PotionEffectType type, int amplifier, EffectManager.EffectSource source) {
+        return new EffectDefinition(type, amplifier, 1.0, source, EffectManager.getDefaultPriority(source));
+    }
+
+    public PotionEffectType getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getAmplifier() {
+        return amplifier;
+    }
+
+    public double getDurationScale() {
+        return durationScale;
+    }
+
+    public EffectManager.EffectSource getSource() {
+        return source;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * 按倍率换算实际持续时间
+     * @param duration 基础持续时间（tick数），-1 表示永久
+     */
+    public int scaleDuration(int duration) {
+        if (duration < 0 || durationScale == 1.0) {
+            return duration;
+        }
+        return (int) Math.max(1, Math.round(duration * durationScale));
+    }
+}
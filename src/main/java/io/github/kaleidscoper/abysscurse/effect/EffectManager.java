@@ -1,14 +1,21 @@
 package io.github.kaleidscoper.abysscurse.effect;
 
 import io.github.kaleidscoper.abysscurse.curse.CurseEffectHandler;
+import io.github.kaleidscoper.abysscurse.curse.CurseManager;
+import io.github.kaleidscoper.abysscurse.curse.DeepCurseExposureListener;
+import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
+import io.github.kaleidscoper.abysscurse.jfr.EffectReconciledEvent;
+import io.github.kaleidscoper.abysscurse.metrics.Metrics;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
     /**
      * 效果管理器
@@ -16,13 +23,20 @@ import java.util.*;
      */
     public class EffectManager implements CurseEffectHandler {
         private final org.bukkit.plugin.java.JavaPlugin plugin;
+        private final TaskScheduler scheduler;
         private final PlayerDataManager playerDataManager;
         
-        // 存储玩家当前所有效果及其来源
-        private final Map<UUID, Map<PotionEffectType, EffectData>> playerEffects = new HashMap<>();
+        // 存储玩家当前所有效果及其来源（按效果注册表序号紧凑存放）
+        private final Map<UUID, PlayerEffectState> playerEffects = new ConcurrentHashMap<>();
         
         // 定期刷新任务
-        private BukkitTask refreshTask;
+        private ScheduledHandle refreshTask;
+        
+        // 效果表（由配置编译，重载时整体替换）
+        private volatile EffectTables effectTables = EffectTables.defaults();
+        
+        // 深层诅咒暴露监听器（将在初始化时注入）
+        private DeepCurseExposureListener exposureListener;
         
         // 需要持续性的效果类型（不能频繁重置，否则无法正常生效）
         // 这些效果在刷新时，如果玩家已有该效果且剩余时间足够，就不重新应用
@@ -34,46 +48,74 @@ import java.util.*;
         // 持续性效果的最小剩余时间（tick），低于此值才重新应用
         private static final int PERSISTENT_EFFECT_MIN_DURATION = 60; // 3秒
     
-    public EffectManager(org.bukkit.plugin.java.JavaPlugin plugin, PlayerDataManager playerDataManager) {
+    public EffectManager(org.bukkit.plugin.java.JavaPlugin plugin, TaskScheduler scheduler, PlayerDataManager playerDataManager) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataManager = playerDataManager;
         startRefreshTask();
     }
     
     /**
-     * 效果来源枚举
+     * 设置深层诅咒暴露监听器
      */
-    public enum EffectSource {
-        CURSE,        // 诅咒效果（优先级：中）
-        LAYER,        // 层级效果（优先级：高）
-        NAREHATE,     // 生骸效果（优先级：最高）
-        TEMPORARY     // 临时效果（优先级：低，但短时效果优先）
+    public void setExposureListener(DeepCurseExposureListener exposureListener) {
+        this.exposureListener = exposureListener;
     }
     
     /**
-     * 效果数据类
+     * 替换效果表并同步在线玩家身上的诅咒与生骸效果
+     * 配置重载时调用；各玩家在所属线程上按新表重新施加
      */
-    public static class EffectData {
-        public PotionEffectType type;
-        public int amplifier;
-        public int duration; // -1 表示永久
-        public EffectSource source;
-        public long timestamp; // 添加时间
+    public void updateEffectTables(EffectTables tables) {
+        this.effectTables = tables;
+        scheduler.forEachOnlinePlayer(this::reconcileEffects);
+    }
+    
+    /**
+     * 按当前效果表重新施加玩家的诅咒与生骸效果
+     */
+    private void reconcileEffects(Player player) {
+        if (player == null || !player.isOnline()) {
+            return;
+        }
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null) {
+            return;
+        }
+        
+        EffectTables tables = effectTables;
+        
+        if (data.isNarehate() && data.getNarehateType() != null) {
+            removeTrackedEffects(player, EffectSource.NAREHATE);
+            for (EffectDefinition definition : tables.getNarehateEffects(data.getNarehateType())) {
+                addEffect(player, definition, -1);
+            }
+        }
         
-        public EffectData(PotionEffectType type, int amplifier, int duration, EffectSource source, long timestamp) {
-            this.type = type;
-            this.amplifier = amplifier;
-            this.duration = duration;
-            this.source = source;
-            this.timestamp = timestamp;
+        int layer = data.getCurrentLayer();
+        if (layer > 0 && data.getCurseStartTime() > 0) {
+            long elapsedTicks = (System.currentTimeMillis() - data.getCurseStartTime()) / 50; // 转换为 tick
+            long remaining = data.getCurseDuration() - elapsedTicks;
+            if (remaining > 0) {
+                // 层级未变，深层诅咒暴露状态保持不变
+                removeTrackedEffects(player, EffectSource.CURSE);
+                CurseEffectTemplate template = tables.getCurseTemplate();
+                int count = template.size(layer);
+                if (count > 0) {
+                    applyCurseTemplate(player, template, count, (int) remaining);
+                }
+            }
         }
     }
     
     /**
-     * 获取玩家效果映射（用于 LayerEffectManager 访问）
+     * 效果来源枚举
      */
-    public Map<UUID, Map<PotionEffectType, EffectData>> getPlayerEffects() {
-        return playerEffects;
+    public enum EffectSource {
+        CURSE,        // 诅咒效果（优先级：中）
+        LAYER,        // 层级效果（优先级：高）
+        NAREHATE,     // 生骸效果（优先级：最高）
+        TEMPORARY     // 临时效果（优先级：低，但短时效果优先）
     }
     
     /**
@@ -84,27 +126,44 @@ import java.util.*;
             return;
         }
         
-        UUID uuid = player.getUniqueId();
-        Map<PotionEffectType, EffectData> effects = playerEffects.get(uuid);
-        if (effects == null) {
+        removeTrackedEffects(player, source);
+    }
+    
+    /**
+     * 移除玩家身上由本管理器记录的指定来源效果（遍历来源位图）
+     */
+    private void removeTrackedEffects(Player player, EffectSource source) {
+        PlayerEffectState state = playerEffects.get(player.getUniqueId());
+        if (state == null) {
             return;
         }
         
-        List<PotionEffectType> toRemove = new ArrayList<>();
-        for (Map.Entry<PotionEffectType, EffectData> entry : effects.entrySet()) {
-            if (entry.getValue().source == source) {
-                toRemove.add(entry.getKey());
-            }
+        for (int index = state.nextIndex(source, 0); index >= 0; index = state.nextIndex(source, index + 1)) {
+            state.remove(index);
+            removePotionEffect(player, EffectRegistryIndex.typeAt(index));
         }
-        
-        for (PotionEffectType type : toRemove) {
-            effects.remove(type);
+    }
+    
+    /**
+     * 移除玩家身上的效果，只有玩家确实有该效果（会发送数据包）时才计入指标
+     */
+    private static void removePotionEffect(Player player, PotionEffectType type) {
+        if (player.hasPotionEffect(type)) {
             player.removePotionEffect(type);
+            Metrics.effectPackets(1);
         }
     }
     
+    /**
+     * 获取玩家效果状态（不存在时创建）
+     */
+    private PlayerEffectState stateOf(Player player) {
+        return playerEffects.computeIfAbsent(player.getUniqueId(), k -> new PlayerEffectState(EffectRegistryIndex.size()));
+    }
+    
     /**
      * 施加诅咒效果
+     * 第 n 层的效果取自模板主数组的前缀，一次批量添加
      */
     @Override
     public void applyCurseEffects(Player player, int layer, long duration) {
@@ -112,70 +171,18 @@ import java.util.*;
             return;
         }
         
-        // 根据层级施加对应效果
-        switch (layer) {
-            case 1: // 第一层：阿比斯之渊
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                break;
-            case 2: // 第二层：诱惑之森
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                break;
-            case 3: // 第三层：大断层
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.DARKNESS, 1, (int)duration, EffectSource.CURSE);
-                break;
-            case 4: // 第四层：巨人之杯
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.DARKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.UNLUCK, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.MINING_FATIGUE, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WEAKNESS, 1, (int)duration, EffectSource.CURSE);
-                break;
-            case 5: // 第五层：亡骸之海
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.DARKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.UNLUCK, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.MINING_FATIGUE, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WEAKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.BLINDNESS, 1, (int)duration, EffectSource.CURSE); // 失明
-                addEffect(player, PotionEffectType.POISON, 1, (int)duration, EffectSource.CURSE);
-                // 注意：禁止右键、游戏静音、聊天栏不可见等效果在事件监听器中处理
-                break;
-            case 6: // 第六层：来无还之都
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.DARKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.UNLUCK, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.MINING_FATIGUE, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WEAKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.BLINDNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.POISON, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WITHER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.OOZING, 1, (int)duration, EffectSource.CURSE); // 寄生（虫蚀）
-                break;
-            case 7: // 第七层：最终极之涡
-                addEffect(player, PotionEffectType.NAUSEA, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.HUNGER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.SLOWNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.DARKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.UNLUCK, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.MINING_FATIGUE, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WEAKNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.BLINDNESS, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.POISON, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.WITHER, 1, (int)duration, EffectSource.CURSE);
-                addEffect(player, PotionEffectType.OOZING, 1, (int)duration, EffectSource.CURSE); // 寄生（虫蚀）
-                addEffect(player, PotionEffectType.INSTANT_DAMAGE, 1, (int)duration, EffectSource.CURSE);
-                break;
+        CurseEffectTemplate template = effectTables.getCurseTemplate();
+        int count = template.size(layer);
+        if (count > 0) {
+            applyCurseTemplate(player, template, count, (int) duration);
+        }
+        // 注意：禁止右键、游戏静音、聊天栏不可见等效果在事件监听器中处理
+        
+        // 记录深层诅咒暴露状态的变化
+        if (layer >= CurseManager.DEEP_CURSE_LAYER) {
+            beginDeepCurseExposure(player);
+        } else {
+            endDeepCurseExposure(player);
         }
     }
     
@@ -188,93 +195,170 @@ import java.util.*;
             return;
         }
         
-        UUID uuid = player.getUniqueId();
-        Map<PotionEffectType, EffectData> effects = playerEffects.get(uuid);
-        if (effects == null) {
+        // 诅咒效果移除即深层诅咒暴露结束
+        endDeepCurseExposure(player);
+        
+        // 移除所有诅咒来源的效果
+        removeTrackedEffects(player, EffectSource.CURSE);
+    }
+    
+    /**
+     * 施加生骸祝福效果（按效果表）
+     * 生骸效果的优先级最高，即使玩家身上已有其他来源的同类型效果，也会被覆盖
+     * @param player 玩家
+     * @param type 生骸类型
+     */
+    public void applyNarehateEffects(Player player, PlayerCurseData.NarehateType type) {
+        if (player == null || !player.isOnline() || type == null) {
             return;
         }
         
-        // 移除所有诅咒来源的效果
-        List<PotionEffectType> toRemove = new ArrayList<>();
-        for (Map.Entry<PotionEffectType, EffectData> entry : effects.entrySet()) {
-            if (entry.getValue().source == EffectSource.CURSE) {
-                toRemove.add(entry.getKey());
+        for (EffectDefinition definition : effectTables.getNarehateEffects(type)) {
+            addEffect(player, definition, -1);
+        }
+    }
+    
+    /**
+     * 按模板批量施加诅咒效果
+     * 与 addEffect 的覆盖规则一致：已有更高优先级来源的同类效果且仍在玩家身上时跳过
+     */
+    private void applyCurseTemplate(Player player, CurseEffectTemplate template, int count, int duration) {
+        EffectReconciledEvent event = new EffectReconciledEvent();
+        event.begin();
+        PlayerEffectState state = stateOf(player);
+        List<PotionEffect> prebuilt = template.effects(duration);
+        long now = System.currentTimeMillis();
+        
+        List<PotionEffect> batch = new ArrayList<>(count);
+        int removed = 0;
+        for (int i = 0; i < count; i++) {
+            EffectDefinition definition = template.definitionAt(i);
+            int index = definition.getIndex();
+            PotionEffectType type = definition.getType();
+            long slot = PlayerEffectState.pack(definition.getAmplifier(), definition.getSource(), definition.getPriority(),
+                false, now + definition.scaleDuration(duration) * 50L);
+            
+            // 只有被更高优先级效果占用时才需要查询玩家身上是否仍有该效果
+            if (state.contains(index) && !PlayerEffectState.shouldOverride(state.get(index), slot) && player.hasPotionEffect(type)) {
+                continue;
+            }
+            
+            state.put(index, slot);
+            // 添加时会直接替换更弱或更短的同类效果，只有玩家身上的效果更强或更长时才需要先移除
+            PotionEffect effect = prebuilt.get(i);
+            if (needsRemoval(player.getPotionEffect(type), effect)) {
+                player.removePotionEffect(type);
+                removed++;
             }
+            batch.add(effect);
         }
         
-        for (PotionEffectType type : toRemove) {
-            effects.remove(type);
-            player.removePotionEffect(type);
+        if (!batch.isEmpty()) {
+            player.addPotionEffects(batch);
+            Metrics.effectPackets(batch.size() + removed);
+        }
+        
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.applied = batch.size();
+            event.skipped = count - batch.size();
+            event.commit();
         }
     }
     
     /**
-     * 添加效果
+     * 添加效果前是否需要先移除玩家身上的同类效果
+     * 添加效果时，只有新效果等级更高，或等级相同且持续时间更长时才会替换已有效果；
+     * 否则已有效果保持不变，需要先移除
+     * @param current 玩家身上的同类效果（没有时为 null）
      */
-    public void addEffect(Player player, PotionEffectType type, int amplifier, int duration, EffectSource source) {
-        if (player == null || !player.isOnline()) {
+    static boolean needsRemoval(PotionEffect current, PotionEffect next) {
+        if (current == null) {
+            return false;
+        }
+        if (current.getAmplifier() != next.getAmplifier()) {
+            return current.getAmplifier() > next.getAmplifier();
+        }
+        if (current.isInfinite()) {
+            return !next.isInfinite();
+        }
+        return !next.isInfinite() && current.getDuration() > next.getDuration();
+    }
+    
+    /**
+     * 深层诅咒暴露开始：记录开始时间并通知监听器（已在暴露中则保持原开始时间）
+     */
+    private void beginDeepCurseExposure(Player player) {
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null) {
             return;
         }
         
-        UUID uuid = player.getUniqueId();
-        Map<PotionEffectType, EffectData> effects = playerEffects.computeIfAbsent(uuid, k -> new HashMap<>());
-        
-        EffectData existing = effects.get(type);
-        EffectData newEffect = new EffectData(type, amplifier, duration, source, System.currentTimeMillis());
-        
-        // 判断是否应该添加/覆盖
-        boolean shouldApply = false;
-        boolean playerCurrentlyHasEffect = player.hasPotionEffect(type);
-        if (existing == null || !playerCurrentlyHasEffect) {
-            // 玩家当前没有该效果（可能被牛奶等方式移除），应重新施加
-            shouldApply = true;
-        } else {
-            if (shouldOverride(existing, newEffect)) {
-                shouldApply = true;
-            }
+        if (data.getDeepCurseExposureStartTime() == 0) {
+            data.setDeepCurseExposureStartTime(System.currentTimeMillis());
         }
-        
-        if (shouldApply) {
-            effects.put(type, newEffect);
-            applyEffectToPlayer(player, newEffect);
+        if (exposureListener != null) {
+            exposureListener.onExposureStart(player);
         }
     }
     
     /**
-     * 判断是否应该覆盖
+     * 深层诅咒暴露结束：清除开始时间并通知监听器
      */
-    private boolean shouldOverride(EffectData existing, EffectData newEffect) {
-        int existingPriority = getPriority(existing.source);
-        int newPriority = getPriority(newEffect.source);
-        
-        // 优先级高的覆盖优先级低的
-        if (newPriority > existingPriority) {
-            return true;
+    private void endDeepCurseExposure(Player player) {
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null || data.getDeepCurseExposureStartTime() == 0) {
+            return;
         }
         
-        // 相同优先级时，强度高的覆盖强度低的
-        if (newPriority == existingPriority) {
-            if (newEffect.amplifier > existing.amplifier) {
-                return true;
-            }
-            // 强度相同时，短时效果优先（避免永久效果覆盖短时效果）
-            if (newEffect.amplifier == existing.amplifier) {
-                if (existing.duration == -1 && newEffect.duration > 0) {
-                    return false; // 现有效果是永久的，新效果是短时的，不覆盖
-                }
-                if (newEffect.duration == -1 && existing.duration > 0) {
-                    return true; // 新效果是永久的，现有效果是短时的，覆盖
-                }
-            }
+        data.setDeepCurseExposureStartTime(0);
+        if (exposureListener != null) {
+            exposureListener.onExposureEnd(player);
         }
+    }
+    
+    /**
+     * 添加效果
+     */
+    public void addEffect(Player player, PotionEffectType type, int amplifier, int duration, EffectSource source) {
+        addEffect(player, EffectRegistryIndex.indexOf(type), type, amplifier, duration, source, getDefaultPriority(source));
+    }
+    
+    /**
+     * 按效果定义添加效果
+     * @param duration 基础持续时间（tick数，-1 表示永久），按定义的倍率换算
+     */
+    public void addEffect(Player player, EffectDefinition definition, int duration) {
+        addEffect(player, definition.getIndex(), definition.getType(), definition.getAmplifier(),
+            definition.scaleDuration(duration), definition.getSource(), definition.getPriority());
+    }
+    
+    private void addEffect(Player player, int index, PotionEffectType type, int amplifier, int duration,
+                           EffectSource source, int priority) {
+        if (player == null || !player.isOnline() || index < 0) {
+            return;
+        }
+        
+        PlayerEffectState state = stateOf(player);
+        boolean permanent = duration == -1;
+        long slot = PlayerEffectState.pack(amplifier, source, priority, permanent, System.currentTimeMillis() + duration * 50L);
         
-        return false;
+        // 判断是否应该添加/覆盖
+        // 玩家当前没有该效果（可能被牛奶等方式移除）时应重新施加
+        boolean shouldApply = !state.contains(index)
+            || !player.hasPotionEffect(type)
+            || PlayerEffectState.shouldOverride(state.get(index), slot);
+        
+        if (shouldApply) {
+            state.put(index, slot);
+            applyEffectToPlayer(player, type, amplifier, duration);
+        }
     }
     
     /**
-     * 获取优先级
+     * 获取来源的默认优先级（效果配置未指定 priority 时使用）
      */
-    private int getPriority(EffectSource source) {
+    public static int getDefaultPriority(EffectSource source) {
         switch (source) {
             case NAREHATE: return 3;
             case LAYER: return 2;
@@ -286,33 +370,31 @@ import java.util.*;
     
     /**
      * 应用效果到玩家
+     * @param duration 持续时间（tick数，-1 表示永久）
      */
-    private void applyEffectToPlayer(Player player, EffectData effect) {
+    private void applyEffectToPlayer(Player player, PotionEffectType type, int amplifier, int duration) {
         PotionEffect potionEffect = new PotionEffect(
-            effect.type,
-            effect.duration == -1 ? Integer.MAX_VALUE : effect.duration,
-            effect.amplifier,
+            type,
+            duration == -1 ? Integer.MAX_VALUE : duration,
+            amplifier,
             true,  // 环境粒子
             false   // 不显示图标（避免UI混乱）
         );
         
         // 先移除再添加，避免覆盖问题
-        player.removePotionEffect(effect.type);
+        removePotionEffect(player, type);
         player.addPotionEffect(potionEffect);
+        Metrics.effectPackets(1);
     }
     
     /**
      * 启动定期刷新任务
      */
     private void startRefreshTask() {
-        refreshTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    refreshEffects(player);
-                }
-            }
-        }.runTaskTimer(plugin, 0, 20); // 每20tick（1秒）刷新一次
+        refreshTask = scheduler.runGlobalTimer(
+            scheduler.getProfiler().wrap(Subsystem.EFFECT_REFRESH,
+                () -> scheduler.forEachOnlinePlayer(this::refreshEffects)),
+            0, 20); // 每20tick（1秒）刷新一次
     }
     
     /**
@@ -324,72 +406,43 @@ import java.util.*;
             return;
         }
         
-        UUID uuid = player.getUniqueId();
-        Map<PotionEffectType, EffectData> effects = playerEffects.get(uuid);
-        if (effects == null) {
+        PlayerEffectState state = playerEffects.get(player.getUniqueId());
+        if (state == null) {
             return;
         }
         
         long now = System.currentTimeMillis();
-        List<PotionEffectType> toRemove = new ArrayList<>();
         
-        for (Map.Entry<PotionEffectType, EffectData> entry : effects.entrySet()) {
-            EffectData effect = entry.getValue();
+        for (int index = state.nextIndex(0); index >= 0; index = state.nextIndex(index + 1)) {
+            long slot = state.get(index);
+            PotionEffectType type = EffectRegistryIndex.typeAt(index);
+            boolean permanent = PlayerEffectState.permanent(slot);
+            
+            // 移除过期的短时效果
+            if (!permanent && now >= PlayerEffectState.expiry(slot)) {
+                state.remove(index);
+                removePotionEffect(player, type);
+                continue;
+            }
             
             // 诅咒效果不刷新，由 CurseManager 管理
-            if (effect.source == EffectSource.CURSE) {
-                // 只检查是否过期，不重新应用
-                if (effect.duration > 0) {
-                    long elapsed = now - effect.timestamp;
-                    if (elapsed >= effect.duration * 50) { // duration 是 tick 数
-                        toRemove.add(entry.getKey());
-                    }
-                }
+            if (PlayerEffectState.source(slot) == EffectSource.CURSE) {
                 continue;
             }
             
-            // 检查短时效果是否过期
-            if (effect.duration > 0) {
-                long elapsed = now - effect.timestamp;
-                if (elapsed >= effect.duration * 50) { // duration 是 tick 数
-                    toRemove.add(entry.getKey());
-                } else {
-                    // 对于需要持续性的效果，检查玩家当前效果是否还存在且剩余时间足够
-                    if (PERSISTENT_EFFECTS.contains(effect.type)) {
-                        PotionEffect currentEffect = player.getPotionEffect(effect.type);
-                        if (currentEffect != null) {
-                            int remainingTicks = currentEffect.getDuration();
-                            // 如果剩余时间足够，就不重新应用，避免重置计时器
-                            if (remainingTicks > PERSISTENT_EFFECT_MIN_DURATION) {
-                                continue; // 跳过重新应用
-                            }
-                        }
-                    }
-                    // 重新应用效果（确保效果持续）
-                    applyEffectToPlayer(player, effect);
+            // 对于需要持续性的效果，检查玩家当前效果是否还存在且剩余时间足够
+            if (PERSISTENT_EFFECTS.contains(type)) {
+                PotionEffect currentEffect = player.getPotionEffect(type);
+                // 如果剩余时间足够（永久效果通常是Integer.MAX_VALUE），就不重新应用，避免重置计时器
+                if (currentEffect != null && currentEffect.getDuration() > PERSISTENT_EFFECT_MIN_DURATION) {
+                    continue;
                 }
-            } else {
-                // 永久效果
-                if (PERSISTENT_EFFECTS.contains(effect.type)) {
-                    // 对于需要持续性的永久效果，检查玩家当前效果是否还存在
-                    PotionEffect currentEffect = player.getPotionEffect(effect.type);
-                    if (currentEffect != null) {
-                        int remainingTicks = currentEffect.getDuration();
-                        // 如果剩余时间足够（永久效果通常是Integer.MAX_VALUE），就不重新应用
-                        if (remainingTicks > PERSISTENT_EFFECT_MIN_DURATION) {
-                            continue; // 跳过重新应用
-                        }
-                    }
-                }
-                // 重新应用效果（确保效果持续）
-                applyEffectToPlayer(player, effect);
             }
-        }
-        
-        // 移除过期效果
-        for (PotionEffectType type : toRemove) {
-            effects.remove(type);
-            player.removePotionEffect(type);
+            
+            // 重新应用效果（确保效果持续）
+            // 短时效果按剩余时间重新施加
+            int duration = permanent ? -1 : (int) Math.max(1, (PlayerEffectState.expiry(slot) - now) / 50);
+            applyEffectToPlayer(player, type, PlayerEffectState.amplifier(slot), duration);
         }
     }
     
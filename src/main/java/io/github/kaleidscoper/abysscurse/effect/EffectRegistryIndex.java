@@ -0,0 +1,57 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+import org.bukkit.Registry;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 药水效果注册表索引
+ * 为注册表中的每种效果分配一个从 0 开始的连续序号，
+ * 玩家效果状态按序号存放在基本类型数组中
+ */
+public final class EffectRegistryIndex {
+    private static final PotionEffectType[] BY_INDEX;
+    private static final Map<PotionEffectType, Integer> INDEX_OF;
+
+    static {
+        List<PotionEffectType> types = new ArrayList<>();
+        for (PotionEffectType type : Registry.EFFECT) {
+            types.add(type);
+        }
+        BY_INDEX = types.toArray(new PotionEffectType[0]);
+        INDEX_OF = new HashMap<>(BY_INDEX.length * 2);
+        for (int i = 0; i < BY_INDEX.length; i++) {
+            INDEX_OF.put(BY_INDEX[i], i);
+        }
+    }
+
+    private EffectRegistryIndex() {
+    }
+
+    /**
+     * 效果种类数量
+     */
+    public static int size() {
+        return BY_INDEX.length;
+    }
+
+    /**
+     * 获取效果序号
+     * @return 序号，不在注册表中时返回 -1
+     */
+    public static int indexOf(PotionEffectType type) {
+        Integer index = INDEX_OF.get(type);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 根据序号获取效果类型
+     */
+    public static PotionEffectType typeAt(int index) {
+        return BY_INDEX[index];
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 效果表
+ * 由配置中的 effects 段编译而成：诅咒效果模板与两类生骸的祝福效果。
+ * 不可变，重载时整体替换。
+ */
+public final class EffectTables {
+    private final CurseEffectTemplate curseTemplate;
+    private final EffectDefinition[] luckyNarehateEffects;
+    private final EffectDefinition[] sadNarehateEffects;
+
+    public EffectTables(CurseEffectTemplate curseTemplate,
+                        EffectDefinition[] luckyNarehateEffects,
+                        EffectDefinition[] sadNarehateEffects) {
+        this.curseTemplate = curseTemplate;
+        this.luckyNarehateEffects = luckyNarehateEffects.clone();
+        this.sadNarehateEffects = sadNarehateEffects.clone();
+    }
+
+    /**
+     * 获取诅咒效果模板
+     */
+    public CurseEffectTemplate getCurseTemplate() {
+        return curseTemplate;
+    }
+
+    /**
+     * 获取生骸祝福效果
+     * @param type 生骸类型
+     */
+    public EffectDefinition[] getNarehateEffects(PlayerCurseData.NarehateType type) {
+        return type == PlayerCurseData.NarehateType.LUCKY ? luckyNarehateEffects : sadNarehateEffects;
+    }
+
+    /**
+     * 默认效果表（与配置文件默认值一致）
+     */
+    public static EffectTables defaults() {
+        EffectManager.EffectSource narehate = EffectManager.EffectSource.NAREHATE;
+        return new EffectTables(
+            CurseEffectTemplate.defaults(),
+            new EffectDefinition[] {
+                // 幸运生骸：迅捷2，急迫2，力量2，跳跃提升2，夜视，生命恢复2，村庄英雄，海豚的恩惠，潮涌能量，幸运
+                EffectDefinition.of(PotionEffectType.SPEED, 1, narehate),
+                EffectDefinition.of(PotionEffectType.HASTE, 1, narehate),
+                EffectDefinition.of(PotionEffectType.STRENGTH, 1, narehate),
+                EffectDefinition.of(PotionEffectType.JUMP_BOOST, 1, narehate),
+                EffectDefinition.of(PotionEffectType.NIGHT_VISION, 0, narehate),
+                EffectDefinition.of(PotionEffectType.REGENERATION, 1, narehate),
+                EffectDefinition.of(PotionEffectType.HERO_OF_THE_VILLAGE, 0, narehate),
+                EffectDefinition.of(PotionEffectType.DOLPHINS_GRACE, 0, narehate),
+                EffectDefinition.of(PotionEffectType.CONDUIT_POWER, 0, narehate),
+                EffectDefinition.of(PotionEffectType.LUCK, 0, narehate)
+            },
+            new EffectDefinition[] {
+                // 悲惨生骸：生命恢复2，抗性提升4，伤害吸收4，抗火，水下呼吸，缓降
+                EffectDefinition.of(PotionEffectType.REGENERATION, 1, narehate),
+                EffectDefinition.of(PotionEffectType.RESISTANCE, 3, narehate),
+                EffectDefinition.of(PotionEffectType.ABSORPTION, 3, narehate),
+                EffectDefinition.of(PotionEffectType.FIRE_RESISTANCE, 0, narehate),
+                EffectDefinition.of(PotionEffectType.WATER_BREATHING, 0, narehate),
+                EffectDefinition.of(PotionEffectType.SLOW_FALLING, 0, narehate)
+            }
+        );
+    }
+
+    /**
+     * 默认效果配置（写入 config.yml 的 effects 段）
+     */
+    public static Map<String, Object> defaultConfig() {
+        Map<String, Object> section = new LinkedHashMap<>();
+        EffectTables defaults = defaults();
+
+        List<Map<String, Object>> curse = new ArrayList<>();
+        int[] minLayers = {1, 2, 2, 3, 4, 4, 4, 5, 5, 6, 6, 7};
+        for (int i = 0; i < minLayers.length; i++) {
+            Map<String, Object> entry = toConfig(defaults.curseTemplate.definitionAt(i));
+            entry.put("min-layer", minLayers[i]);
+            curse.add(entry);
+        }
+        section.put("curse", curse);
+
+        Map<String, Object> narehate = new LinkedHashMap<>();
+        narehate.put("lucky", toConfigList(defaults.luckyNarehateEffects));
+        narehate.put("sad", toConfigList(defaults.sadNarehateEffects));
+        section.put("narehate", narehate);
+        return section;
+    }
+
+    private static List<Map<String, Object>> toConfigList(EffectDefinition[] definitions) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (EffectDefinition definition : definitions) {
+            list.add(toConfig(definition));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> toConfig(EffectDefinition definition) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("type", definition.getType().getKey().getKey());
+        entry.put("amplifier", definition.getAmplifier());
+        return entry;
+    }
+
+    /**
+     * 从配置编译效果表
+     * 任何条目无效时记录警告并跳过该条目；整段缺失，或诅咒效果缺失、没有有效条目时使用默认值
+     * @param section effects 配置段（可为 null）
+     * @param logger 日志
+     */
+    public static EffectTables compile(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return defaults();
+        }
+
+        // 诅咒效果：按起始层级稳定排序后构建累加模板
+        List<Map<?, ?>> curseEntries = section.getMapList("curse");
+        List<Object[]> curse = new ArrayList<>();
+        for (Map<?, ?> entry : curseEntries) {
+            EffectDefinition definition = parseEntry(entry, EffectManager.EffectSource.CURSE, false, logger, "effects.curse");
+            if (definition == null) {
+                continue;
+            }
+            int minLayer = toInt(entry.get("min-layer"), 1);
+            if (minLayer < 1 || minLayer > CurseEffectTemplate.LAYER_COUNT) {
+                logger.warning("effects.curse 中的 min-layer 无效: " + minLayer + "，已跳过该效果");
+                continue;
+            }
+            curse.add(new Object[] {definition, minLayer});
+        }
+        curse.sort(Comparator.comparingInt(o -> (Integer) o[1]));
+
+        CurseEffectTemplate curseTemplate;
+        if (curse.isEmpty()) {
+            logger.warning("effects.curse 缺失或没有有效的效果，使用默认诅咒效果");
+            curseTemplate = CurseEffectTemplate.defaults();
+        } else {
+            EffectDefinition[] definitions = new EffectDefinition[curse.size()];
+            int[] minLayers = new int[curse.size()];
+            for (int i = 0; i < curse.size(); i++) {
+                definitions[i] = (EffectDefinition) curse.get(i)[0];
+                minLayers[i] = (Integer) curse.get(i)[1];
+            }
+            curseTemplate = new CurseEffectTemplate(definitions, minLayers);
+        }
+
+        return new EffectTables(
+            curseTemplate,
+            parseList(section.getMapList("narehate.lucky"), logger, "effects.narehate.lucky"),
+            parseList(section.getMapList("narehate.sad"), logger, "effects.narehate.sad")
+        );
+    }
+
+    private static EffectDefinition[] parseList(List<Map<?, ?>> entries, Logger logger, String path) {
+        List<EffectDefinition> result = new ArrayList<>();
+        for (Map<?, ?> entry : entries) {
+            EffectDefinition definition = parseEntry(entry, EffectManager.EffectSource.NAREHATE, true, logger, path);
+            if (definition != null) {
+                result.add(definition);
+            }
+        }
+        return result.toArray(new EffectDefinition[0]);
+    }
+
+    /**
+     * 解析单个效果条目
+     * 支持的键：type、amplifier、duration-scale、source、priority
+     * @param sourceConfigurable 是否允许 source 键覆盖来源（诅咒效果固定为 CURSE，否则诅咒结束时不会被清除）
+     */
+    private static EffectDefinition parseEntry(Map<?, ?> entry, EffectManager.EffectSource defaultSource,
+                                               boolean sourceConfigurable, Logger logger, String path) {
+        Object typeName = entry.get("type");
+        if (typeName == null) {
+            logger.warning(path + " 中存在缺少 type 的效果，已跳过");
+            return null;
+        }
+
+        NamespacedKey key = NamespacedKey.fromString(typeName.toString().toLowerCase());
+        PotionEffectType type = key != null ? Registry.EFFECT.get(key) : null;
+        if (type == null) {
+            logger.warning(path + " 中的效果类型无效: " + typeName + "，已跳过");
+            return null;
+        }
+
+        EffectManager.EffectSource source = defaultSource;
+        Object sourceName = entry.get("source");
+        if (sourceName != null && !sourceConfigurable) {
+            logger.warning(path + " 中 " + typeName + " 的效果来源固定为 " + defaultSource.name() + "，已忽略 source: " + sourceName);
+        } else if (sourceName != null) {
+            try {
+                source = EffectManager.EffectSource.valueOf(sourceName.toString().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warning(path + " 中的效果来源无效: " + sourceName + "，使用 " + defaultSource.name());
+            }
+        }
+
+        int amplifier = Math.max(0, toInt(entry.get("amplifier"), 0));
+        double durationScale = toDouble(entry.get("duration-scale"), 1.0);
+        if (durationScale <= 0) {
+            logger.warning(path + " 中 " + typeName + " 的 duration-scale 必须大于 0，使用 1.0");
+            durationScale = 1.0;
+        }
+        int priority = toInt(entry.get("priority"), EffectManager.getDefaultPriority(source));
+
+        return new EffectDefinition(type, amplifier, durationScale, source, priority);
+    }
+
+    private static int toInt(Object value, int defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+                // 使用默认值
+            }
+        }
+        return defaultValue;
+    }
+
+    private static double toDouble(Object value, double defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+                // 使用默认值
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -5,12 +5,13 @@ import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
 import io.github.kaleidscoper.abysscurse.mode.ModeManager;
 import io.github.kaleidscoper.abysscurse.mode.PluginMode;
 import io.github.kaleidscoper.abysscurse.region.RegionManager;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import io.github.kaleidscoper.abysscurse.visual.VisualManager;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 
 /**
@@ -19,6 +20,7 @@ import org.bukkit.scheduler.BukkitTask;
  */
 public class LayerEffectManager {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     private final PlayerDataManager playerDataManager;
     private final EffectManager effectManager;
     private final ConfigManager configManager;
@@ -27,10 +29,11 @@ public class LayerEffectManager {
     private VisualManager visualManager;
     
     // 定期检查任务
-    private BukkitTask checkTask;
+    private ScheduledHandle checkTask;
     
-    public LayerEffectManager(JavaPlugin plugin, PlayerDataManager playerDataManager, EffectManager effectManager, ConfigManager configManager, ModeManager modeManager, RegionManager regionManager) {
+    public LayerEffectManager(JavaPlugin plugin, TaskScheduler scheduler, PlayerDataManager playerDataManager, EffectManager effectManager, ConfigManager configManager, ModeManager modeManager, RegionManager regionManager) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataManager = playerDataManager;
         this.effectManager = effectManager;
         this.configManager = configManager;
@@ -144,14 +147,10 @@ public class LayerEffectManager {
      * 启动定期检查任务
      */
     private void startCheckTask() {
-        checkTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    updateLayerEffects(player);
-                }
-            }
-        }.runTaskTimer(plugin, 0, 20); // 每20tick（1秒）检查一次
+        checkTask = scheduler.runGlobalTimer(
+            scheduler.getProfiler().wrap(Subsystem.LAYER_EFFECT,
+                () -> scheduler.forEachOnlinePlayer(this::updateLayerEffects)),
+            0, 20); // 每20tick（1秒）检查一次
     }
     
     /**
@@ -0,0 +1,195 @@
+package io.github.kaleidscoper.abysscurse.effect;
+
+/**
+ * 单个玩家的效果状态
+ * 按效果注册表序号存放，每种效果占一个 long：
+ * <pre>
+ * bit 0-7   强度（amplifier）
+ * bit 8-9   来源（EffectSource 序号）
+ * bit 10-17 优先级（加 128 偏移，范围 -128..127）
+ * bit 18    是否永久
+ * bit 19-63 到期时间（毫秒时间戳，永久效果为 0）
+ * </pre>
+ * 另为每个来源维护一个位图，按来源移除时只需遍历位图，不产生任何分配。
+ * 方法均在对象锁内执行（Folia 上命令线程与玩家所在区域线程可能同时访问）。
+ */
+final class PlayerEffectState {
+    private static final long AMPLIFIER_MASK = 0xFFL;
+    private static final int SOURCE_SHIFT = 8;
+    private static final int PRIORITY_SHIFT = 10;
+    private static final int PERMANENT_SHIFT = 18;
+    private static final int EXPIRY_SHIFT = 19;
+    private static final int PRIORITY_OFFSET = 128;
+
+    private static final EffectManager.EffectSource[] SOURCES = EffectManager.EffectSource.values();
+
+    private final long[] slots;
+    // sourceBits[source][word]：该来源占用的效果序号
+    private final long[][] sourceBits;
+
+    PlayerEffectState(int size) {
+        this.slots = new long[size];
+        int words = (size + 63) >>> 6;
+        this.sourceBits = new long[SOURCES.length][words];
+    }
+
+    /**
+     * 打包效果数据
+     * @param expiry 到期时间（毫秒时间戳），permanent 为 true 时忽略
+     */
+    static long pack(int amplifier, EffectManager.EffectSource source, int priority, boolean permanent, long expiry) {
+        int clampedPriority = Math.max(-PRIORITY_OFFSET, Math.min(PRIORITY_OFFSET - 1, priority)) + PRIORITY_OFFSET;
+        long slot = (amplifier & AMPLIFIER_MASK)
+            | ((long) source.ordinal() << SOURCE_SHIFT)
+            | ((long) clampedPriority << PRIORITY_SHIFT);
+        if (permanent) {
+            slot |= 1L << PERMANENT_SHIFT;
+        } else {
+            slot |= Math.max(0L, expiry) << EXPIRY_SHIFT;
+        }
+        return slot;
+    }
+
+    static int amplifier(long slot) {
+        return (int) (slot & AMPLIFIER_MASK);
+    }
+
+    static EffectManager.EffectSource source(long slot) {
+        return SOURCES[(int) ((slot >>> SOURCE_SHIFT) & 0x3L)];
+    }
+
+    static int priority(long slot) {
+        return (int) ((slot >>> PRIORITY_SHIFT) & 0xFFL) - PRIORITY_OFFSET;
+    }
+
+    static boolean permanent(long slot) {
+        return ((slot >>> PERMANENT_SHIFT) & 1L) != 0;
+    }
+
+    static long expiry(long slot) {
+        return slot >>> EXPIRY_SHIFT;
+    }
+
+    /**
+     * 判断新效果是否应覆盖已记录的效果
+     * @param existing 已记录的效果（打包值）
+     * @param candidate 新效果（打包值）
+     */
+    static boolean shouldOverride(long existing, long candidate) {
+        int existingPriority = priority(existing);
+        int newPriority = priority(candidate);
+
+        // 优先级高的覆盖优先级低的
+        if (newPriority > existingPriority) {
+            return true;
+        }
+
+        // 相同优先级时，强度高的覆盖强度低的
+        if (newPriority == existingPriority) {
+            int existingAmplifier = amplifier(existing);
+            int newAmplifier = amplifier(candidate);
+            if (newAmplifier > existingAmplifier) {
+                return true;
+            }
+            // 强度相同时，短时效果优先（避免永久效果覆盖短时效果）
+            if (newAmplifier == existingAmplifier) {
+                boolean existingPermanent = permanent(existing);
+                boolean newPermanent = permanent(candidate);
+                if (existingPermanent && !newPermanent) {
+                    return false; // 现有效果是永久的，新效果是短时的，不覆盖
+                }
+                if (newPermanent && !existingPermanent) {
+                    return true; // 新效果是永久的，现有效果是短时的，覆盖
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 该效果是否已记录
+     */
+    synchronized boolean contains(int index) {
+        long mask = 1L << index;
+        int word = index >>> 6;
+        for (long[] bits : sourceBits) {
+            if ((bits[word] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取已记录的效果数据（调用前需确认 contains）
+     */
+    synchronized long get(int index) {
+        return slots[index];
+    }
+
+    /**
+     * 记录效果（覆盖原有记录）
+     */
+    synchronized void put(int index, long slot) {
+        clearBits(index);
+        slots[index] = slot;
+        sourceBits[source(slot).ordinal()][index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * 清除效果记录
+     */
+    synchronized void remove(int index) {
+        clearBits(index);
+        slots[index] = 0L;
+    }
+
+    /**
+     * 查找指定来源中序号不小于 from 的第一个效果
+     * @return 效果序号，不存在时返回 -1
+     */
+    synchronized int nextIndex(EffectManager.EffectSource source, int from) {
+        return nextSetBit(sourceBits[source.ordinal()], from);
+    }
+
+    /**
+     * 查找任意来源中序号不小于 from 的第一个效果
+     * @return 效果序号，不存在时返回 -1
+     */
+    synchronized int nextIndex(int from) {
+        int next = -1;
+        for (long[] bits : sourceBits) {
+            int candidate = nextSetBit(bits, from);
+            if (candidate >= 0 && (next < 0 || candidate < next)) {
+                next = candidate;
+            }
+        }
+        return next;
+    }
+
+    private void clearBits(int index) {
+        long mask = ~(1L << index);
+        int word = index >>> 6;
+        for (long[] bits : sourceBits) {
+            bits[word] &= mask;
+        }
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word >= bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+}
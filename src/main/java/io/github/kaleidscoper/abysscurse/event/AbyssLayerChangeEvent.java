@@ -0,0 +1,46 @@
+package io.github.kaleidscoper.abysscurse.event;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * 深渊层级切换事件
+ * 玩家所在的深度层级发生变化时触发（在玩家所属线程上同步触发）
+ * 层级为 0 表示不在深渊内
+ */
+public class AbyssLayerChangeEvent extends PlayerEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final int fromLayer;
+    private final int toLayer;
+
+    public AbyssLayerChangeEvent(Player player, int fromLayer, int toLayer) {
+        super(player);
+        this.fromLayer = fromLayer;
+        this.toLayer = toLayer;
+    }
+
+    /**
+     * 获取之前的层级（0 表示不在深渊内）
+     */
+    public int getFromLayer() {
+        return fromLayer;
+    }
+
+    /**
+     * 获取新的层级（0 表示不在深渊内）
+     */
+    public int getToLayer() {
+        return toLayer;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
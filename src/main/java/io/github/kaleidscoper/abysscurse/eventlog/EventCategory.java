@@ -0,0 +1,25 @@
+package io.github.kaleidscoper.abysscurse.eventlog;
+
+/**
+ * 事件类别
+ * 每个类别在配置 event-log.levels 中有独立的记录级别
+ */
+public enum EventCategory {
+    CURSE("curse"),
+    NAREHATE("narehate"),
+    ACHIEVEMENT("achievement"),
+    PLAYER("player");
+
+    private final String id;
+
+    EventCategory(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 配置与日志文件中使用的标识
+     */
+    public String getId() {
+        return id;
+    }
+}
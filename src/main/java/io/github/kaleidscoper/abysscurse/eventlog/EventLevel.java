@@ -0,0 +1,37 @@
+package io.github.kaleidscoper.abysscurse.eventlog;
+
+import java.util.Locale;
+
+/**
+ * 事件日志级别（从低到高）
+ * OFF 只用作阈值，表示不记录该类别的任何事件
+ */
+public enum EventLevel {
+    DEBUG,
+    INFO,
+    // 需要服务器管理员留意的事件（默认会输出到控制台）
+    NOTICE,
+    WARN,
+    OFF;
+
+    /**
+     * 是否达到给定阈值
+     */
+    public boolean isAtLeast(EventLevel threshold) {
+        return ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * 按名称解析级别（不区分大小写），无法识别时返回默认值
+     */
+    public static EventLevel fromName(String name, EventLevel fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package io.github.kaleidscoper.abysscurse.eventlog;
+
+import io.github.kaleidscoper.abysscurse.config.ConfigManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 游戏事件日志
+ * 诅咒、生骸、成就与死亡复活等事件由调用线程写入无锁环形缓冲区（只做一次级别判断与一次 CAS），
+ * 后台线程定期取出，写入数据文件夹 logs/events.jsonl（每行一个 JSON 对象），
+ * 超过大小上限时压缩为 events-yyyyMMdd-HHmmss.jsonl.gz 并只保留最近若干个。
+ * 达到控制台级别的事件同时由后台线程输出到控制台；缓冲区满时丢弃新事件并在控制台提示丢弃数量。
+ */
+public class EventLog {
+    // 环形缓冲区容量
+    private static final int BUFFER_CAPACITY = 8192;
+    // 后台线程两次取出之间的间隔
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    // 关闭时等待后台线程写完剩余事件的时间
+    private static final long STOP_TIMEOUT_MILLIS = 2000;
+
+    private static final String ACTIVE_FILE = "events.jsonl";
+    private static final String ARCHIVE_PREFIX = "events-";
+    private static final String ARCHIVE_SUFFIX = ".jsonl.gz";
+
+    private final JavaPlugin plugin;
+    private final File directory;
+    private final EventRingBuffer<Entry> buffer = new EventRingBuffer<>(BUFFER_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+
+    // 各类别的记录级别（按 ordinal 索引，整体替换）
+    private volatile EventLevel[] levels = defaultLevels();
+    private volatile EventLevel consoleLevel = EventLevel.NOTICE;
+    private volatile boolean fileEnabled = true;
+    private volatile long maxFileBytes = 16L * 1024 * 1024;
+    private volatile int maxFiles = 10;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // 以下字段只由后台线程访问
+    private OutputStream out;
+    private long fileBytes;
+    private long reportedDrops;
+
+    /**
+     * 一条待写入的事件
+     */
+    private static final class Entry {
+        private final long timestamp;
+        private final GameEvent event;
+        private final Object[] values;
+
+        private Entry(long timestamp, GameEvent event, Object[] values) {
+            this.timestamp = timestamp;
+            this.event = event;
+            this.values = values;
+        }
+    }
+
+    public EventLog(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "logs");
+    }
+
+    private static EventLevel[] defaultLevels() {
+        EventLevel[] defaults = new EventLevel[EventCategory.values().length];
+        Arrays.fill(defaults, EventLevel.INFO);
+        return defaults;
+    }
+
+    /**
+     * 读取配置（启用与重载配置时调用）
+     */
+    public void configure(ConfigManager configManager) {
+        EventLevel[] newLevels = new EventLevel[EventCategory.values().length];
+        for (EventCategory category : EventCategory.values()) {
+            newLevels[category.ordinal()] = configManager.getEventLogLevel(category);
+        }
+        levels = newLevels;
+        consoleLevel = configManager.getEventLogConsoleLevel();
+        fileEnabled = configManager.isEventLogFileEnabled();
+        maxFileBytes = Math.max(1, configManager.getEventLogMaxFileSizeMb()) * 1024L * 1024L;
+        maxFiles = Math.max(1, configManager.getEventLogMaxFiles());
+    }
+
+    /**
+     * 启动后台线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "AbyssCurse-EventLog");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止后台线程（写完缓冲区中剩余的事件）
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    /**
+     * 该类别的事件在此级别是否会被记录
+     * 字段值需要额外计算时可先调用此方法判断
+     */
+    public boolean isEnabled(GameEvent event) {
+        return event.getLevel().isAtLeast(levels[event.getCategory().ordinal()]);
+    }
+
+    /**
+     * 记录一个事件（任意线程，不阻塞）
+     * @param values 字段值，顺序与 {@link GameEvent} 声明的字段一致
+     */
+    public void log(GameEvent event, Object... values) {
+        if (!isEnabled(event)) {
+            return;
+        }
+        if (!buffer.offer(new Entry(System.currentTimeMillis(), event, values))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 因缓冲区已满而丢弃的事件数量
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    // ========== 后台线程 ==========
+
+    private void runWorker() {
+        while (running) {
+            drain();
+            LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+        }
+        drain();
+        closeFile();
+    }
+
+    private void drain() {
+        Entry entry;
+        while ((entry = buffer.poll()) != null) {
+            if (fileEnabled) {
+                writeLine(entry);
+            }
+            if (entry.event.getLevel().isAtLeast(consoleLevel)) {
+                plugin.getLogger().info(entry.event.format(entry.values));
+            }
+        }
+
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                plugin.getLogger().warning("写入事件日志失败: " + e.getMessage());
+                closeFile();
+            }
+        }
+        if (!fileEnabled) {
+            closeFile();
+        }
+
+        long drops = dropped.sum();
+        if (drops > reportedDrops) {
+            plugin.getLogger().warning("事件日志缓冲区已满，丢弃了 " + (drops - reportedDrops) + " 条事件");
+            reportedDrops = drops;
+        }
+    }
+
+    private void writeLine(Entry entry) {
+        try {
+            if (out == null) {
+                openFile();
+            }
+            byte[] line = toJson(entry).getBytes(StandardCharsets.UTF_8);
+            out.write(line);
+            fileBytes += line.length;
+            if (fileBytes >= maxFileBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("写入事件日志失败: " + e.getMessage());
+            closeFile();
+        }
+    }
+
+    private void openFile() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录 " + directory);
+        }
+        File file = new File(directory, ACTIVE_FILE);
+        // 上次运行留下的文件已超过上限时先归档
+        if (file.length() >= maxFileBytes) {
+            rotate();
+        }
+        fileBytes = file.length();
+        out = new BufferedOutputStream(new FileOutputStream(file, true), 64 * 1024);
+    }
+
+    private void closeFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("关闭事件日志失败: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * 压缩当前文件并删除多余的归档（下一条事件写入新文件）
+     */
+    private void rotate() throws IOException {
+        closeFile();
+        File active = new File(directory, ACTIVE_FILE);
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File archive = new File(directory, ARCHIVE_PREFIX + stamp + ARCHIVE_SUFFIX);
+        for (int i = 1; archive.exists(); i++) {
+            archive = new File(directory, ARCHIVE_PREFIX + stamp + "-" + i + ARCHIVE_SUFFIX);
+        }
+
+        try (InputStream in = new FileInputStream(active);
+             OutputStream gzip = new GZIPOutputStream(new FileOutputStream(archive), 64 * 1024)) {
+            in.transferTo(gzip);
+        }
+        if (!active.delete()) {
+            throw new IOException("无法删除已归档的 " + active);
+        }
+        fileBytes = 0;
+        pruneArchives();
+    }
+
+    private void pruneArchives() {
+        File[] archives = directory.listFiles((dir, name) -> name.startsWith(ARCHIVE_PREFIX) && name.endsWith(ARCHIVE_SUFFIX));
+        if (archives == null || archives.length <= maxFiles) {
+            return;
+        }
+        // 文件名中的时间戳按字典序即为时间顺序
+        Arrays.sort(archives, Comparator.comparing(File::getName));
+        for (int i = 0; i < archives.length - maxFiles; i++) {
+            if (!archives[i].delete()) {
+                plugin.getLogger().warning("无法删除旧的事件日志 " + archives[i].getName());
+            }
+        }
+    }
+
+    // ========== JSON ==========
+
+    private static String toJson(Entry entry) {
+        GameEvent event = entry.event;
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"ts\":\"").append(Instant.ofEpochMilli(entry.timestamp)).append('"');
+        json.append(",\"category\":\"").append(event.getCategory().getId()).append('"');
+        json.append(",\"level\":\"").append(event.getLevel().name()).append('"');
+        json.append(",\"event\":\"").append(event.getId()).append('"');
+        for (int i = 0; i < entry.values.length; i++) {
+            json.append(",\"").append(event.field(i)).append("\":");
+            appendValue(json, entry.values[i]);
+        }
+        return json.append("}\n").toString();
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Boolean
+            || value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte) {
+            json.append(value);
+        } else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                json.append(number);
+            } else {
+                json.append("null");
+            }
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
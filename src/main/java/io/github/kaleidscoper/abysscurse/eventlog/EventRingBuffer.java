@@ -0,0 +1,82 @@
+package io.github.kaleidscoper.abysscurse.eventlog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * 每个槽位带一个序号：生产者用 CAS 抢占写入位置，写入后发布序号；消费者看到序号就绪后取出并归还槽位。
+ * 缓冲区满时 {@link #offer} 立即返回 false，生产者永不阻塞。
+ */
+final class EventRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final Object[] slots;
+    // 槽位序号：等于写入位置时可写，等于写入位置 + 1 时可读
+    private final AtomicLongArray sequences;
+    // 下一个写入位置（生产者竞争）
+    private final AtomicLong tail = new AtomicLong();
+    // 下一个读取位置（只由消费者线程访问）
+    private long head;
+
+    /**
+     * @param capacity 容量（向上取整为 2 的幂）
+     */
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 写入一个元素（任意线程）
+     * @return 缓冲区已满时返回 false
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 槽位还没被消费者归还：缓冲区已满
+                return false;
+            } else {
+                // 其他生产者已抢先写入，重新读取写入位置
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出一个元素（只能由消费者线程调用）
+     * @return 缓冲区为空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + capacity);
+        head++;
+        return element;
+    }
+}
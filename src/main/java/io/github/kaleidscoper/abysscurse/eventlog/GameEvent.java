@@ -0,0 +1,101 @@
+package io.github.kaleidscoper.abysscurse.eventlog;
+
+/**
+ * 游戏事件类型
+ * 每种事件声明类别、级别、字段名与控制台文本模板（{0}、{1}… 按字段顺序替换）。
+ * 调用方只按顺序传入字段值，JSON 与控制台文本都在后台线程生成。
+ */
+public enum GameEvent {
+    CURSE_TRIGGERED(EventCategory.CURSE, EventLevel.INFO, "curse_triggered",
+        "玩家 {0} 触发了第 {1} 层诅咒（安全高度: {2}, 持续时间: {3}秒）",
+        "player", "layer", "safe_height", "duration_seconds"),
+    CURSE_EXPIRED(EventCategory.CURSE, EventLevel.INFO, "curse_expired",
+        "玩家 {0} 的第 {1} 层诅咒已过期",
+        "player", "layer"),
+    NAREHATE_TRANSFORMED(EventCategory.NAREHATE, EventLevel.NOTICE, "narehate_transformed",
+        "玩家 {0} 已转变为生骸（{1}）",
+        "player", "type"),
+    NAREHATE_EFFECTS_APPLIED(EventCategory.NAREHATE, EventLevel.INFO, "narehate_effects_applied",
+        "已为玩家 {0} 应用生骸效果，类型: {1}",
+        "player", "type"),
+    ACHIEVEMENT_GRANTED(EventCategory.ACHIEVEMENT, EventLevel.INFO, "achievement_granted",
+        "已授予玩家 {0} 成就: {1}",
+        "player", "achievement"),
+    PLAYER_DIED(EventCategory.PLAYER, EventLevel.INFO, "player_died",
+        "玩家 {0} 死亡，已清空累计上升记录并重置安全高度",
+        "player"),
+    PLAYER_RESPAWNED(EventCategory.PLAYER, EventLevel.INFO, "player_respawned",
+        "玩家 {0} 复活，已重置安全高度为: {1}",
+        "player", "respawn_y");
+
+    private final EventCategory category;
+    private final EventLevel level;
+    private final String id;
+    private final String template;
+    private final String[] fields;
+
+    GameEvent(EventCategory category, EventLevel level, String id, String template, String... fields) {
+        this.category = category;
+        this.level = level;
+        this.id = id;
+        this.template = template;
+        this.fields = fields;
+    }
+
+    public EventCategory getCategory() {
+        return category;
+    }
+
+    public EventLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * 日志文件中的事件标识
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 字段名（与 {@link EventLog#log} 传入的值一一对应）
+     */
+    String field(int index) {
+        return index < fields.length ? fields[index] : "arg" + index;
+    }
+
+    /**
+     * 生成控制台文本
+     */
+    String format(Object[] values) {
+        StringBuilder out = new StringBuilder(template.length() + 32);
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            int close = c == '{' ? template.indexOf('}', i) : -1;
+            if (close > i + 1) {
+                int index = parseIndex(template, i + 1, close);
+                if (index >= 0) {
+                    out.append(index < values.length ? values[index] : "?");
+                    i = close + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static int parseIndex(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
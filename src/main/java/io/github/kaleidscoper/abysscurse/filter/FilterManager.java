@@ -3,39 +3,44 @@ package io.github.kaleidscoper.abysscurse.filter;
 import io.github.kaleidscoper.abysscurse.config.ConfigManager;
 import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
 import io.github.kaleidscoper.abysscurse.data.PlayerDataManager;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.TextColor;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
+import io.github.kaleidscoper.abysscurse.visual.ActionBarChannel;
+import io.github.kaleidscoper.abysscurse.visual.MessageCatalog;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 滤镜管理器
- * 负责管理红色滤镜效果（使用 ActionBar 显示）
+ * 负责管理红色滤镜效果（通过 ActionBar 通道显示）
  */
 public class FilterManager {
     private final JavaPlugin plugin;
+    private final TaskScheduler scheduler;
     private final PlayerDataManager playerDataManager;
     private final ConfigManager configManager;
+    private final ActionBarChannel actionBarChannel;
     
     // 存储玩家是否处于第一层诅咒状态
-    private final Map<UUID, Boolean> curseFilterState = new HashMap<>();
+    private final Map<UUID, Boolean> curseFilterState = new ConcurrentHashMap<>();
     
     // 存储每个玩家上次显示的累计上升高度（用于减少不必要的更新）
-    private final Map<UUID, Integer> lastDisplayedRise = new HashMap<>();
+    private final Map<UUID, Integer> lastDisplayedRise = new ConcurrentHashMap<>();
     
     // 定期更新任务
-    private BukkitTask updateTask;
+    private ScheduledHandle updateTask;
     
-    public FilterManager(JavaPlugin plugin, PlayerDataManager playerDataManager, ConfigManager configManager) {
+    public FilterManager(JavaPlugin plugin, TaskScheduler scheduler, PlayerDataManager playerDataManager, ConfigManager configManager, ActionBarChannel actionBarChannel) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
         this.playerDataManager = playerDataManager;
         this.configManager = configManager;
+        this.actionBarChannel = actionBarChannel;
         startUpdateTask();
     }
     
@@ -74,6 +79,7 @@ public class FilterManager {
             lastDisplayedRise.put(uuid, toIntensity(totalRise, threshold)); // 更新记录
         } else {
             curseFilterState.remove(uuid);
+            actionBarChannel.clear(player, ActionBarChannel.Priority.CURSE_FILTER);
             // 恢复正常的累计上升高度滤镜
             double totalRise = playerDataManager.getData(player).getTotalRise();
             updateFilter(player, totalRise);
@@ -83,91 +89,63 @@ public class FilterManager {
     
     /**
      * 内部方法：根据强度更新滤镜
+     * 文字组件取自消息目录的缓存，稳态更新不构建新组件
      */
     private void updateFilterWithColor(Player player, double totalRise, double threshold) {
-        int intensity = toIntensity(totalRise, threshold);
-        TextColor filterColor = getFilterColor(intensity);
+        // 0时为灰色，非0时统一为红色
+        boolean red = toIntensity(totalRise, threshold) > 0;
         
-        // 第一层诅咒状态：显示阈值的文字
+        // 第一层诅咒状态：常驻显示阈值的文字（由通道去重与续显）
         boolean isCurseFilter = curseFilterState.getOrDefault(player.getUniqueId(), false);
         if (isCurseFilter) {
-            // 显示文字：累计上升高度（阈值）
-            String displayText = String.format("累计上升高度%.1f", threshold);
-            Component filterText = Component.text()
-                .content(displayText)
-                .color(filterColor)
-                .build();
-            player.sendActionBar(filterText);
+            actionBarChannel.submit(player, ActionBarChannel.Priority.CURSE_FILTER, MessageCatalog.riseText(threshold, red));
             return;
         }
         
         // 正常状态：始终显示实际的累计上升高度值
-        if (totalRise <= 0) {
-            Component filterText = Component.text()
-                .content("累计上升高度0")
-                .color(filterColor)
-                .build();
-            player.sendActionBar(filterText);
-        } else {
-            // 显示实际值
-            String displayText = String.format("累计上升高度%.1f", totalRise);
-            Component filterText = Component.text()
-                .content(displayText)
-                .color(filterColor)
-                .build();
-            player.sendActionBar(filterText);
-        }
+        actionBarChannel.submit(player, ActionBarChannel.Priority.RISE_METER, MessageCatalog.riseText(totalRise, red));
     }
     
     /**
-     * 获取滤镜颜色
-     * 0时为灰色，非0时统一为红色
+     * 启动定期更新任务
+     * 降低更新频率，避免覆盖原生 ActionBar 文本
      */
-    private TextColor getFilterColor(int intensity) {
-        if (intensity <= 0) {
-            // 灰色：表示已清空
-            return TextColor.color(160, 160, 160);
-        }
-        // 非0时统一为红色：RGB(200, 0, 0)
-        return TextColor.color(200, 0, 0);
+    private void startUpdateTask() {
+        updateTask = scheduler.runGlobalTimer(
+            scheduler.getProfiler().wrap(Subsystem.FILTER,
+                () -> scheduler.forEachOnlinePlayer(this::tickPlayer)),
+            0, 20); // 改为每20tick（1秒）更新一次，降低频率
     }
     
     /**
-     * 启动定期更新任务
-     * 降低更新频率，避免覆盖原生 ActionBar 文本
+     * 定期更新单个玩家的滤镜（在玩家所属线程执行）
      */
-    private void startUpdateTask() {
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    if (!player.isOnline()) {
-                        continue;
-                    }
-                    
-                    PlayerCurseData data = playerDataManager.getData(player);
-                    if (data == null) {
-                        continue;
-                    }
-                    
-                    double totalRise = data.getTotalRise();
-                    double threshold = configManager.getRiseThreshold();
-                    int intensity = toIntensity(totalRise, threshold);
-                    UUID uuid = player.getUniqueId();
-                    
-                    // 只在累计上升高度变化或处于诅咒状态时才更新
-                    // 这样可以减少对原生 ActionBar 文本的干扰
-                    Integer lastRise = lastDisplayedRise.get(uuid);
-                    boolean isCurseFilter = curseFilterState.getOrDefault(uuid, false);
-                    
-                    // 如果累计上升高度变化了，或者处于诅咒状态，才更新
-                    if (lastRise == null || lastRise != intensity || isCurseFilter) {
-                        updateFilter(player, totalRise);
-                        lastDisplayedRise.put(uuid, intensity);
-                    }
-                }
-            }
-        }.runTaskTimer(plugin, 0, 20); // 改为每20tick（1秒）更新一次，降低频率
+    private void tickPlayer(Player player) {
+        if (!player.isOnline()) {
+            return;
+        }
+        
+        PlayerCurseData data = playerDataManager.getData(player);
+        if (data == null) {
+            return;
+        }
+        
+        double totalRise = data.getTotalRise();
+        double threshold = configManager.getRiseThreshold();
+        int intensity = toIntensity(totalRise, threshold);
+        UUID uuid = player.getUniqueId();
+        
+        // 只在累计上升高度变化或处于诅咒状态时才更新
+        // 这样可以减少对原生 ActionBar 文本的干扰
+        Integer lastRise = lastDisplayedRise.get(uuid);
+        boolean isCurseFilter = curseFilterState.getOrDefault(uuid, false);
+        
+        // 如果累计上升高度变化了，或者处于诅咒状态，才更新
+        // 诅咒状态下每秒提交一次，实际是否发送由 ActionBar 通道决定
+        if (lastRise == null || lastRise != intensity || isCurseFilter) {
+            updateFilter(player, totalRise);
+            lastDisplayedRise.put(uuid, intensity);
+        }
     }
     
     /**
@@ -0,0 +1,21 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：重载配置（事件时长即重载耗时）
+ */
+@Name("abysscurse.ConfigReloaded")
+@Label("Config Reloaded")
+@Category({"AbyssCurse", "Config"})
+@Description("The plugin configuration was reloaded.")
+@StackTrace(false)
+public class ConfigReloadedEvent extends Event {
+    @Label("Success")
+    public boolean success;
+}
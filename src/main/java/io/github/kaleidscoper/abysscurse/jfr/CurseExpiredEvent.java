@@ -0,0 +1,24 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：诅咒过期
+ */
+@Name("abysscurse.CurseExpired")
+@Label("Curse Expired")
+@Category({"AbyssCurse", "Curse"})
+@Description("A layer curse ran its full duration.")
+@StackTrace(false)
+public class CurseExpiredEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Layer")
+    public int layer;
+}
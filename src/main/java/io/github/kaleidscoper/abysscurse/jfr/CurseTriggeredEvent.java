@@ -0,0 +1,30 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：诅咒触发
+ */
+@Name("abysscurse.CurseTriggered")
+@Label("Curse Triggered")
+@Category({"AbyssCurse", "Curse"})
+@Description("A player accumulated enough rise to trigger a layer curse.")
+@StackTrace(false)
+public class CurseTriggeredEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Layer")
+    public int layer;
+
+    @Label("Duration Ticks")
+    public long durationTicks;
+
+    @Label("Arm Of Curse")
+    public int armOfCurse;
+}
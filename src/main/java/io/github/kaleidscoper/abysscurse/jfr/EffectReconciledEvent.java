@@ -0,0 +1,29 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：按效果模板批量施加诅咒效果（与已记录的效果状态对账）
+ */
+@Name("abysscurse.EffectReconciled")
+@Label("Effect Reconciled")
+@Category({"AbyssCurse", "Effect"})
+@Description("Curse effects were batch-applied against the tracked effect state.")
+@StackTrace(false)
+public class EffectReconciledEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Applied")
+    @Description("Effects removed and re-added on the player.")
+    public int applied;
+
+    @Label("Skipped")
+    @Description("Effects kept because a higher-priority source still holds them.")
+    public int skipped;
+}
@@ -0,0 +1,27 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：玩家深度层级变化
+ */
+@Name("abysscurse.LayerChanged")
+@Label("Layer Changed")
+@Category({"AbyssCurse", "Curse"})
+@Description("A player's depth layer changed.")
+@StackTrace(false)
+public class LayerChangedEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("From Layer")
+    public int fromLayer;
+
+    @Label("To Layer")
+    public int toLayer;
+}
@@ -0,0 +1,26 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：从文件加载玩家数据（事件时长即读取耗时）
+ */
+@Name("abysscurse.PlayerDataLoaded")
+@Label("Player Data Loaded")
+@Category({"AbyssCurse", "Persistence"})
+@Description("Player curse data was read from disk.")
+@StackTrace(false)
+public class PlayerDataLoadedEvent extends Event {
+    @Label("Player UUID")
+    public String uuid;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,26 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：玩家数据写入文件（事件时长即写入耗时）
+ */
+@Name("abysscurse.PlayerDataSaved")
+@Label("Player Data Saved")
+@Category({"AbyssCurse", "Persistence"})
+@Description("Player curse data was written to disk.")
+@StackTrace(false)
+public class PlayerDataSavedEvent extends Event {
+    @Label("Player UUID")
+    public String uuid;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,22 @@
+package io.github.kaleidscoper.abysscurse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件：子系统定时任务的一次执行（时长事件）
+ * 不记录提交时的调用栈，同一线程在该时间段内的执行采样即可看出耗时分布
+ */
+@Name("abysscurse.SubsystemTick")
+@Label("Subsystem Tick")
+@Category({"AbyssCurse", "Tick"})
+@Description("One run of a scheduled task. Execution samples on the same thread within the span show where the time went.")
+@StackTrace(false)
+public class SubsystemTickEvent extends Event {
+    @Label("Subsystem")
+    public String subsystem;
+}
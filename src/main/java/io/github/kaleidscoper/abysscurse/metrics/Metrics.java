@@ -0,0 +1,122 @@
+package io.github.kaleidscoper.abysscurse.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 插件运行指标
+ * 各模块在热路径上直接累加这里的 LongAdder（无锁，只在导出时汇总），
+ * 不论是否开启指标导出都会计数
+ */
+public final class Metrics {
+    // 层级数量
+    private static final int LAYER_COUNT = 7;
+
+    // 数据保存延迟直方图的桶上界（秒）
+    private static final double[] SAVE_LATENCY_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5};
+
+    // 各层诅咒触发次数（下标 0 对应第一层）
+    private static final LongAdder[] CURSE_TRIGGERS = newAdders(LAYER_COUNT);
+    private static final LongAdder CURSE_EXPIRIES = new LongAdder();
+    private static final LongAdder NAREHATE_CONVERSIONS = new LongAdder();
+    // 药水效果的添加与移除（每次对应一个发往客户端的数据包）
+    private static final LongAdder EFFECT_PACKETS = new LongAdder();
+
+    // 数据保存延迟：各桶计数（非累计，最后一个为 +Inf）与总和（纳秒）
+    private static final LongAdder[] SAVE_LATENCY_COUNTS = newAdders(SAVE_LATENCY_BUCKETS.length + 1);
+    private static final LongAdder SAVE_LATENCY_SUM_NANOS = new LongAdder();
+
+    private Metrics() {
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // ========== 记录 ==========
+
+    /**
+     * 记录一次诅咒触发
+     * @param layer 层级（1-7）
+     */
+    public static void curseTriggered(int layer) {
+        if (layer >= 1 && layer <= LAYER_COUNT) {
+            CURSE_TRIGGERS[layer - 1].increment();
+        }
+    }
+
+    public static void curseExpired() {
+        CURSE_EXPIRIES.increment();
+    }
+
+    public static void narehateConverted() {
+        NAREHATE_CONVERSIONS.increment();
+    }
+
+    /**
+     * 记录发送的药水效果数据包
+     */
+    public static void effectPackets(int count) {
+        EFFECT_PACKETS.add(count);
+    }
+
+    /**
+     * 记录一次数据保存（从提交到完成）
+     */
+    public static void saveCompleted(long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        int bucket = 0;
+        while (bucket < SAVE_LATENCY_BUCKETS.length && seconds > SAVE_LATENCY_BUCKETS[bucket]) {
+            bucket++;
+        }
+        SAVE_LATENCY_COUNTS[bucket].increment();
+        SAVE_LATENCY_SUM_NANOS.add(nanos);
+    }
+
+    // ========== 读取 ==========
+
+    public static int getLayerCount() {
+        return LAYER_COUNT;
+    }
+
+    public static long getCurseTriggers(int layer) {
+        return CURSE_TRIGGERS[layer - 1].sum();
+    }
+
+    public static long getCurseExpiries() {
+        return CURSE_EXPIRIES.sum();
+    }
+
+    public static long getNarehateConversions() {
+        return NAREHATE_CONVERSIONS.sum();
+    }
+
+    public static long getEffectPackets() {
+        return EFFECT_PACKETS.sum();
+    }
+
+    /**
+     * 数据保存延迟的桶上界（秒，不含 +Inf）
+     */
+    public static double[] getSaveLatencyBuckets() {
+        return SAVE_LATENCY_BUCKETS.clone();
+    }
+
+    /**
+     * 数据保存延迟各桶的计数（非累计，最后一个为 +Inf 桶）
+     */
+    public static long[] getSaveLatencyCounts() {
+        long[] counts = new long[SAVE_LATENCY_COUNTS.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = SAVE_LATENCY_COUNTS[i].sum();
+        }
+        return counts;
+    }
+
+    public static long getSaveLatencySumNanos() {
+        return SAVE_LATENCY_SUM_NANOS.sum();
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.kaleidscoper.abysscurse.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.kaleidscoper.abysscurse.AbyssCursePlugin;
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prometheus 指标导出
+ * 使用 JDK 自带的 HTTP 服务器在本机端口上提供 /metrics（Prometheus 文本格式），
+ * 抓取时在 HTTP 线程上汇总 {@link Metrics} 与各管理器的计数，不占用服务端线程
+ */
+public class PrometheusExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final AbyssCursePlugin plugin;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusExporter(AbyssCursePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 按配置启动或停止导出（启用与重载配置时调用）
+     */
+    public synchronized void reload() {
+        stop();
+        if (!plugin.getConfigManager().isMetricsEnabled()) {
+            return;
+        }
+
+        String host = plugin.getConfigManager().getMetricsHost();
+        int port = plugin.getConfigManager().getMetricsPort();
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().warning("无法启动指标导出（" + host + ":" + port + "）: " + e.getMessage());
+            server = null;
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AbyssCurse-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        plugin.getLogger().info("指标导出已启动: http://" + host + ":" + port + "/metrics");
+    }
+
+    /**
+     * 停止导出
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 生成 Prometheus 文本格式的指标
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "abysscurse_curse_triggers_total", "counter", "Curses triggered, by layer.");
+        for (int layer = 1; layer <= Metrics.getLayerCount(); layer++) {
+            sample(out, "abysscurse_curse_triggers_total", "layer", String.valueOf(layer), Metrics.getCurseTriggers(layer));
+        }
+
+        header(out, "abysscurse_curse_expiries_total", "counter", "Curses that ran their full duration.");
+        sample(out, "abysscurse_curse_expiries_total", Metrics.getCurseExpiries());
+
+        header(out, "abysscurse_active_curses", "gauge", "Players currently under a curse.");
+        sample(out, "abysscurse_active_curses",
+            plugin.getCurseManager() != null ? plugin.getCurseManager().getActiveCurseCount() : 0);
+
+        header(out, "abysscurse_narehate_conversions_total", "counter", "Players transformed into Narehate.");
+        sample(out, "abysscurse_narehate_conversions_total", Metrics.getNarehateConversions());
+
+        header(out, "abysscurse_player_data_cache_size", "gauge", "Player data entries held in memory.");
+        sample(out, "abysscurse_player_data_cache_size",
+            plugin.getPlayerDataManager() != null ? plugin.getPlayerDataManager().getCachedCount() : 0);
+
+        header(out, "abysscurse_save_queue_depth", "gauge", "Asynchronous saves submitted but not yet completed.");
+        sample(out, "abysscurse_save_queue_depth",
+            plugin.getPlayerDataManager() != null ? plugin.getPlayerDataManager().getPendingSaves() : 0);
+
+        renderSaveLatency(out);
+
+        TickProfiler profiler = plugin.getTickProfiler();
+        header(out, "abysscurse_subsystem_tick_nanos_total", "counter",
+            "Time spent in each scheduled task or event handler (only while profiling.enabled is on).");
+        for (Subsystem subsystem : Subsystem.values()) {
+            sample(out, "abysscurse_subsystem_tick_nanos_total", "subsystem", subsystem.getId(),
+                profiler.getTotalNanos(subsystem));
+        }
+        header(out, "abysscurse_subsystem_runs_total", "counter",
+            "Runs of each scheduled task or event handler (only while profiling.enabled is on).");
+        for (Subsystem subsystem : Subsystem.values()) {
+            sample(out, "abysscurse_subsystem_runs_total", "subsystem", subsystem.getId(),
+                profiler.getTotalCount(subsystem));
+        }
+
+        header(out, "abysscurse_effect_packets_total", "counter", "Potion effect add/remove packets sent.");
+        sample(out, "abysscurse_effect_packets_total", Metrics.getEffectPackets());
+
+        long sent = plugin.getActionBarChannel() != null ? plugin.getActionBarChannel().getSent() : 0;
+        long suppressed = plugin.getActionBarChannel() != null ? plugin.getActionBarChannel().getSuppressed() : 0;
+        header(out, "abysscurse_actionbar_packets_total", "counter", "ActionBar packets sent.");
+        sample(out, "abysscurse_actionbar_packets_total", sent);
+        header(out, "abysscurse_actionbar_suppressed_total", "counter", "ActionBar updates skipped because the content was unchanged.");
+        sample(out, "abysscurse_actionbar_suppressed_total", suppressed);
+
+        return out.toString();
+    }
+
+    /**
+     * 数据保存延迟直方图（桶计数按 Prometheus 约定累计输出）
+     */
+    private void renderSaveLatency(StringBuilder out) {
+        String name = "abysscurse_save_latency_seconds";
+        header(out, name, "histogram", "Latency from submitting a player data save to its completion.");
+        double[] bounds = Metrics.getSaveLatencyBuckets();
+        long[] counts = Metrics.getSaveLatencyCounts();
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            sample(out, name + "_bucket", "le", Double.toString(bounds[i]), cumulative);
+        }
+        cumulative += counts[bounds.length];
+        sample(out, name + "_bucket", "le", "+Inf", cumulative);
+        out.append(name).append("_sum ").append(Metrics.getSaveLatencySumNanos() / 1_000_000_000.0).append('\n');
+        // 与 +Inf 桶保持一致
+        sample(out, name + "_count", cumulative);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, long value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String labelValue, long value) {
+        out.append(name).append('{').append(label).append("=\"").append(labelValue).append("\"} ")
+            .append(value).append('\n');
+    }
+}
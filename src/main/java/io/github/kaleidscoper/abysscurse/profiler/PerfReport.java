@@ -0,0 +1,305 @@
+package io.github.kaleidscoper.abysscurse.profiler;
+
+import io.github.kaleidscoper.abysscurse.AbyssCursePlugin;
+import io.github.kaleidscoper.abysscurse.curse.LayerScoreTracker;
+import io.github.kaleidscoper.abysscurse.visual.ActionBarChannel;
+import io.github.kaleidscoper.abysscurse.visual.MessageCatalog;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 性能报告
+ * 汇总各子系统耗时、事件处理耗时、数据保存队列、缓存命中率与玩家开销，
+ * 渲染为分页的聊天组件，或导出为 CSV（每行一个指标：section,name,metric,value）
+ * 报告内容在创建时采集，渲染与导出不再读取实时数据
+ */
+public class PerfReport {
+    // 每页的行数
+    public static final int PAGE_SIZE = 10;
+
+    // 玩家开销榜显示的人数
+    private static final int TOP_PLAYERS = 5;
+
+    // 统计窗口（分钟）
+    private static final int[] WINDOWS = {1, 5, 15};
+
+    private static final String COMMAND = "/abysscurse perf";
+
+    private final AbyssCursePlugin plugin;
+    private final TickProfiler profiler;
+    private final boolean enabled;
+    private final RollingHistogram.Snapshot[][] snapshots;
+    private final int pendingSaves;
+    private final long riseHits;
+    private final long riseMisses;
+    private final long layerSkipped;
+    private final long layerWrites;
+    private final long actionBarSuppressed;
+    private final long actionBarSent;
+    private final List<TickProfiler.PlayerCost> topPlayers;
+
+    public PerfReport(AbyssCursePlugin plugin) {
+        this.plugin = plugin;
+        this.profiler = plugin.getTickProfiler();
+        this.enabled = profiler.isEnabled();
+
+        Subsystem[] subsystems = Subsystem.values();
+        this.snapshots = new RollingHistogram.Snapshot[subsystems.length][WINDOWS.length];
+        for (Subsystem subsystem : subsystems) {
+            for (int i = 0; i < WINDOWS.length; i++) {
+                snapshots[subsystem.ordinal()][i] = profiler.snapshot(subsystem, WINDOWS[i]);
+            }
+        }
+
+        this.pendingSaves = plugin.getPlayerDataManager() != null ? plugin.getPlayerDataManager().getPendingSaves() : 0;
+        this.riseHits = MessageCatalog.getRiseCacheHits();
+        this.riseMisses = MessageCatalog.getRiseCacheMisses();
+
+        LayerScoreTracker tracker = plugin.getCurseTickPipeline() != null
+            ? plugin.getCurseTickPipeline().getLayerScoreTracker() : null;
+        this.layerSkipped = tracker != null ? tracker.getSkipped() : 0;
+        this.layerWrites = tracker != null ? tracker.getWrites() : 0;
+
+        ActionBarChannel channel = plugin.getActionBarChannel();
+        this.actionBarSuppressed = channel != null ? channel.getSuppressed() : 0;
+        this.actionBarSent = channel != null ? channel.getSent() : 0;
+
+        this.topPlayers = profiler.topPlayers(TOP_PLAYERS);
+    }
+
+    // ========== 聊天组件 ==========
+
+    /**
+     * 总览（各子系统取最近 1 分钟）
+     */
+    public List<Component> overviewLines() {
+        List<Component> lines = new ArrayList<>();
+        if (!enabled) {
+            lines.add(Component.text("耗时统计未开启（profiling.enabled），以下为关闭前的数据", NamedTextColor.RED));
+        }
+
+        lines.add(section("定时任务（最近 1 分钟）"));
+        for (Subsystem subsystem : Subsystem.values()) {
+            if (subsystem.getCategory() == Subsystem.Category.TASK) {
+                lines.add(subsystemLine(subsystem, 0));
+            }
+        }
+
+        lines.add(section("事件处理（最近 1 分钟）"));
+        for (Subsystem subsystem : Subsystem.values()) {
+            if (subsystem.getCategory() == Subsystem.Category.EVENT) {
+                lines.add(subsystemLine(subsystem, 0));
+            }
+        }
+
+        lines.add(section("数据保存"));
+        lines.add(Component.text()
+            .append(label("排队中 "))
+            .append(value(String.valueOf(pendingSaves)))
+            .build());
+        lines.add(subsystemLine(Subsystem.SAVE, 0));
+
+        lines.add(section("缓存命中"));
+        lines.add(cacheLine("上升高度文字", riseHits, riseMisses));
+        lines.add(cacheLine("层级记分", layerSkipped, layerWrites));
+        lines.add(cacheLine("ActionBar 去重", actionBarSuppressed, actionBarSent));
+
+        lines.add(section("玩家开销（自上次重置，前 " + TOP_PLAYERS + " 名）"));
+        if (topPlayers.isEmpty()) {
+            lines.add(label("暂无数据"));
+        }
+        for (TickProfiler.PlayerCost cost : topPlayers) {
+            lines.add(Component.text()
+                .append(Component.text(playerName(cost) + " ", NamedTextColor.YELLOW))
+                .append(value(formatMillis(cost.getNanos())))
+                .build());
+        }
+        return lines;
+    }
+
+    /**
+     * 单个子系统的 1/5/15 分钟统计
+     */
+    public List<Component> subsystemLines(Subsystem subsystem) {
+        List<Component> lines = new ArrayList<>();
+        lines.add(section(subsystem.getDisplayName() + "（" + subsystem.getId() + "）"));
+        for (int i = 0; i < WINDOWS.length; i++) {
+            RollingHistogram.Snapshot snapshot = snapshots[subsystem.ordinal()][i];
+            lines.add(Component.text()
+                .append(Component.text("最近 " + WINDOWS[i] + " 分钟 ", NamedTextColor.YELLOW))
+                .append(stats(snapshot, WINDOWS[i]))
+                .build());
+        }
+        return lines;
+    }
+
+    /**
+     * 渲染一页（带页码与翻页按钮）
+     * @param lines 全部行
+     * @param page 页码（从 1 开始，超出范围时取最近的一页）
+     */
+    public static Component page(List<Component> lines, int page) {
+        int pages = Math.max(1, (lines.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int current = Math.max(1, Math.min(page, pages));
+
+        TextComponent.Builder builder = Component.text()
+            .append(MessageCatalog.PREFIX)
+            .append(Component.text("性能统计 ", NamedTextColor.GRAY))
+            .append(Component.text(current + "/" + pages, NamedTextColor.YELLOW));
+        if (current > 1) {
+            builder.append(Component.text(" ")).append(navigation("[上一页]", current - 1));
+        }
+        if (current < pages) {
+            builder.append(Component.text(" ")).append(navigation("[下一页]", current + 1));
+        }
+
+        int from = (current - 1) * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, lines.size());
+        for (int i = from; i < to; i++) {
+            builder.append(Component.newline()).append(MessageCatalog.PREFIX).append(lines.get(i));
+        }
+        return builder.build();
+    }
+
+    private static Component navigation(String text, int page) {
+        return Component.text(text, NamedTextColor.AQUA)
+            .clickEvent(ClickEvent.runCommand(COMMAND + " " + page))
+            .hoverEvent(HoverEvent.showText(Component.text("第 " + page + " 页", NamedTextColor.GRAY)));
+    }
+
+    private Component subsystemLine(Subsystem subsystem, int window) {
+        return Component.text()
+            .append(Component.text(subsystem.getDisplayName() + " ", NamedTextColor.YELLOW)
+                .clickEvent(ClickEvent.runCommand(COMMAND + " " + subsystem.getId()))
+                .hoverEvent(HoverEvent.showText(Component.text("查看 1/5/15 分钟统计", NamedTextColor.GRAY))))
+            .append(stats(snapshots[subsystem.ordinal()][window], WINDOWS[window]))
+            .build();
+    }
+
+    private static Component stats(RollingHistogram.Snapshot snapshot, int minutes) {
+        if (snapshot.getCount() == 0) {
+            return label("无记录");
+        }
+        // 平均每秒占用的时间
+        long perSecond = snapshot.getTotalNanos() / (minutes * 60L);
+        return Component.text()
+            .append(label("次数 ")).append(value(String.valueOf(snapshot.getCount())))
+            .append(label(" p50 ")).append(value(formatMillis(snapshot.getP50())))
+            .append(label(" p95 ")).append(value(formatMillis(snapshot.getP95())))
+            .append(label(" p99 ")).append(value(formatMillis(snapshot.getP99())))
+            .append(label(" 最大 ")).append(value(formatMillis(snapshot.getMax())))
+            .append(label(" 每秒 ")).append(value(formatMillis(perSecond)))
+            .build();
+    }
+
+    private static Component cacheLine(String name, long hits, long misses) {
+        return Component.text()
+            .append(Component.text(name + " ", NamedTextColor.YELLOW))
+            .append(value(formatRate(hits, misses)))
+            .append(label("（" + hits + "/" + (hits + misses) + "）"))
+            .build();
+    }
+
+    private static Component section(String text) {
+        return Component.text("— " + text + " —", NamedTextColor.GOLD);
+    }
+
+    private static Component label(String text) {
+        return Component.text(text, NamedTextColor.GRAY);
+    }
+
+    private static Component value(String text) {
+        return Component.text(text, NamedTextColor.WHITE);
+    }
+
+    // ========== CSV ==========
+
+    /**
+     * 导出为 CSV 行（含表头）
+     */
+    public List<String> csvRows() {
+        List<String> rows = new ArrayList<>();
+        rows.add("section,name,metric,value");
+
+        for (Subsystem subsystem : Subsystem.values()) {
+            String section = subsystem.getCategory().name().toLowerCase(Locale.ROOT);
+            for (int i = 0; i < WINDOWS.length; i++) {
+                RollingHistogram.Snapshot snapshot = snapshots[subsystem.ordinal()][i];
+                String prefix = section + "," + subsystem.getId() + ",";
+                String suffix = "_" + WINDOWS[i] + "m,";
+                rows.add(prefix + "count" + suffix + snapshot.getCount());
+                rows.add(prefix + "p50_ms" + suffix + toMillis(snapshot.getP50()));
+                rows.add(prefix + "p95_ms" + suffix + toMillis(snapshot.getP95()));
+                rows.add(prefix + "p99_ms" + suffix + toMillis(snapshot.getP99()));
+                rows.add(prefix + "max_ms" + suffix + toMillis(snapshot.getMax()));
+                rows.add(prefix + "total_ms" + suffix + toMillis(snapshot.getTotalNanos()));
+            }
+        }
+
+        rows.add("io,save,pending," + pendingSaves);
+
+        rows.add("cache,rise_text,hits," + riseHits);
+        rows.add("cache,rise_text,misses," + riseMisses);
+        rows.add("cache,layer_score,hits," + layerSkipped);
+        rows.add("cache,layer_score,misses," + layerWrites);
+        rows.add("cache,action_bar,hits," + actionBarSuppressed);
+        rows.add("cache,action_bar,misses," + actionBarSent);
+
+        for (TickProfiler.PlayerCost cost : topPlayers) {
+            rows.add("player," + cost.getUuid() + ",total_ms," + toMillis(cost.getNanos()));
+        }
+        return rows;
+    }
+
+    /**
+     * 将 CSV 写入数据文件夹下的 perf 目录（在异步线程调用）
+     * @return 写入的文件
+     */
+    public File writeCsv(List<String> rows) throws IOException {
+        File folder = new File(plugin.getDataFolder(), "perf");
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("无法创建目录: " + folder.getPath());
+        }
+        String name = "perf-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv";
+        File file = new File(folder, name);
+        Files.write(file.toPath(), rows, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    // ========== 格式化 ==========
+
+    private String playerName(TickProfiler.PlayerCost cost) {
+        Player player = plugin.getServer().getPlayer(cost.getUuid());
+        return player != null ? player.getName() : cost.getUuid().toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.4f", nanos / 1_000_000.0);
+    }
+
+    private static String formatRate(long hits, long misses) {
+        long total = hits + misses;
+        if (total == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.1f%%", hits * 100.0 / total);
+    }
+}
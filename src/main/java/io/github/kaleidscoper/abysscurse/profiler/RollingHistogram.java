@@ -0,0 +1,224 @@
+package io.github.kaleidscoper.abysscurse.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 滚动耗时直方图
+ * 按分钟分槽，保留最近 15 分钟；每槽为对数分桶的计数（每个 2 的幂区间再分 8 桶，相对误差不超过 12.5%）。
+ * 记录为无锁的原子自增，只有进入新的一分钟时才加锁清空对应的槽。
+ * 可在多个线程（Folia 区域线程）上并发记录。
+ */
+public final class RollingHistogram {
+    // 保留的分钟数（也是支持的最大统计窗口）
+    public static final int MAX_WINDOW_MINUTES = 15;
+
+    // 每个 2 的幂区间的分桶位数（2^3 = 8 桶）
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    // 可区分的最大耗时为 2^36 纳秒（约 68 秒），更大的值计入最后一桶
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final Slot[] slots = new Slot[MAX_WINDOW_MINUTES];
+
+    /**
+     * 一分钟的计数
+     */
+    private static final class Slot {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        // 本槽对应的分钟（Long.MIN_VALUE 表示空槽）
+        private volatile long minute = Long.MIN_VALUE;
+
+        private void reset(long minute) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0);
+            }
+            total.set(0);
+            max.set(0);
+            this.minute = minute;
+        }
+    }
+
+    /**
+     * 统计窗口内的耗时分布（纳秒）
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long totalNanos;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        private Snapshot(long count, long totalNanos, long p50, long p95, long p99, long max) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+
+    public RollingHistogram() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     * @param nanos 耗时（纳秒）
+     * @param now 当前 System.nanoTime()（用于确定所在分钟）
+     */
+    public void record(long nanos, long now) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        Slot slot = slotFor(Math.floorDiv(now, NANOS_PER_MINUTE));
+        slot.counts.incrementAndGet(bucketIndex(nanos));
+        slot.total.addAndGet(nanos);
+        long currentMax;
+        while (nanos > (currentMax = slot.max.get())) {
+            if (slot.max.compareAndSet(currentMax, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 统计最近若干分钟（含当前分钟）的耗时分布
+     * @param minutes 窗口长度（1-15 分钟）
+     * @param now 当前 System.nanoTime()
+     */
+    public Snapshot snapshot(int minutes, long now) {
+        int window = Math.max(1, Math.min(minutes, MAX_WINDOW_MINUTES));
+        long currentMinute = Math.floorDiv(now, NANOS_PER_MINUTE);
+
+        long[] merged = new long[BUCKET_COUNT];
+        long count = 0;
+        long total = 0;
+        long max = 0;
+        for (Slot slot : slots) {
+            long minute = slot.minute;
+            if (minute == Long.MIN_VALUE || minute > currentMinute || currentMinute - minute >= window) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long c = slot.counts.get(i);
+                merged[i] += c;
+                count += c;
+            }
+            total += slot.total.get();
+            max = Math.max(max, slot.max.get());
+        }
+
+        return new Snapshot(count, total,
+            quantile(merged, count, 0.50, max),
+            quantile(merged, count, 0.95, max),
+            quantile(merged, count, 0.99, max),
+            max);
+    }
+
+    /**
+     * 清空全部数据
+     */
+    public void reset() {
+        for (Slot slot : slots) {
+            synchronized (slot) {
+                slot.reset(Long.MIN_VALUE);
+            }
+        }
+    }
+
+    /**
+     * 获取分钟对应的槽，槽中是旧数据时先清空
+     */
+    private Slot slotFor(long minute) {
+        Slot slot = slots[(int) Math.floorMod(minute, (long) MAX_WINDOW_MINUTES)];
+        if (slot.minute != minute) {
+            synchronized (slot) {
+                if (slot.minute != minute) {
+                    slot.reset(minute);
+                }
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * 按累计计数求分位数（取桶上界，不超过窗口内的最大值）
+     */
+    private static long quantile(long[] counts, long total, double q, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 耗时对应的桶下标
+     * 小于 8 纳秒时每纳秒一桶；否则按最高位确定 2 的幂区间，再取其后 3 位确定区间内的桶
+     */
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_COUNT) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int sub = (int) ((nanos >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 桶可表示的最大耗时
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
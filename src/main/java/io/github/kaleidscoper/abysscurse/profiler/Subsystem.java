@@ -0,0 +1,73 @@
+package io.github.kaleidscoper.abysscurse.profiler;
+
+/**
+ * 计时子系统
+ * 每个定时任务入口、事件处理器与数据保存各对应一个子系统，各自维护独立的耗时直方图
+ * 注意：Folia 上经 forEachOnlinePlayer 分派到区域线程的逐玩家处理不计入全局任务的耗时
+ */
+public enum Subsystem {
+    CURSE_PIPELINE("pipeline", "诅咒检测流水线", Category.TASK),
+    CURSE_CHECK("curse", "诅咒检查", Category.TASK),
+    EFFECT_REFRESH("effect", "效果刷新", Category.TASK),
+    LAYER_EFFECT("layer", "层级效果", Category.TASK),
+    FILTER("filter", "滤镜", Category.TASK),
+    NAREHATE("narehate", "生骸转换", Category.TASK),
+    SOUND("sound", "环境音效", Category.TASK),
+    DEBUG("debug", "调试信息", Category.TASK),
+    AUTOSAVE("autosave", "自动保存", Category.TASK),
+    MOVE_EVENT("move", "移动事件", Category.EVENT),
+    INTERACT_EVENT("interact", "右键事件", Category.EVENT),
+    CHAT_EVENT("chat", "聊天事件", Category.EVENT),
+    // 从提交保存到写入完成的延迟（包含在异步线程中排队的时间）
+    SAVE("save", "数据保存", Category.IO);
+
+    /**
+     * 子系统类别
+     */
+    public enum Category {
+        // 定时任务
+        TASK,
+        // 事件处理器
+        EVENT,
+        // 异步读写
+        IO
+    }
+
+    private final String id;
+    private final String displayName;
+    private final Category category;
+
+    Subsystem(String id, String displayName, Category category) {
+        this.id = id;
+        this.displayName = displayName;
+        this.category = category;
+    }
+
+    /**
+     * 命令与导出中使用的标识
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * 按标识查找子系统
+     * @return 子系统，不存在时返回 null
+     */
+    public static Subsystem fromId(String id) {
+        for (Subsystem subsystem : values()) {
+            if (subsystem.id.equalsIgnoreCase(id)) {
+                return subsystem;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.kaleidscoper.abysscurse.profiler;
+
+import io.github.kaleidscoper.abysscurse.jfr.SubsystemTickEvent;
+import jdk.jfr.EventType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 定时任务耗时统计
+ * 各子系统的定时任务入口经 {@link #wrap} 包装后，每次执行用 System.nanoTime() 计时并记入该子系统的滚动直方图。
+ * 关闭时包装后的任务只多一次 volatile 读取，不调用 nanoTime 也不记录。
+ * 包装后的任务同时作为 JFR 时长事件（{@link SubsystemTickEvent}）提交：只有该事件在 JFR 录制中启用时才创建事件对象，
+ * 未录制时只多一次事件类型的启用检查。
+ * 归属于玩家的耗时（逐玩家任务与事件处理）另按玩家累计，用于找出开销最大的玩家。
+ */
+public class TickProfiler {
+    // start() 在关闭时返回的值
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    // 子系统时长事件的类型（用于在未录制时跳过创建事件对象）
+    private static final EventType TICK_EVENT_TYPE = EventType.getEventType(SubsystemTickEvent.class);
+
+    private final Map<Subsystem, RollingHistogram> histograms = new EnumMap<>(Subsystem.class);
+
+    // 各子系统自启动以来的累计耗时（纳秒）与次数（按 ordinal 索引，重置统计时不清空，供指标导出）
+    private final LongAdder[] totalNanos = new LongAdder[Subsystem.values().length];
+    private final LongAdder[] totalCounts = new LongAdder[Subsystem.values().length];
+
+    // 每位玩家自上次清空以来的累计耗时（纳秒）
+    private final Map<UUID, LongAdder> playerCosts = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    /**
+     * 玩家累计耗时
+     */
+    public static final class PlayerCost {
+        private final UUID uuid;
+        private final long nanos;
+
+        private PlayerCost(UUID uuid, long nanos) {
+            this.uuid = uuid;
+            this.nanos = nanos;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    public TickProfiler() {
+        for (Subsystem subsystem : Subsystem.values()) {
+            histograms.put(subsystem, new RollingHistogram());
+            totalNanos[subsystem.ordinal()] = new LongAdder();
+            totalCounts[subsystem.ordinal()] = new LongAdder();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开启或关闭计时（关闭时保留已有数据）
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 包装定时任务入口，每次执行时计入子系统的耗时
+     */
+    public Runnable wrap(Subsystem subsystem, Runnable task) {
+        return wrap(subsystem, null, task);
+    }
+
+    /**
+     * 包装逐玩家的定时任务入口，每次执行时计入子系统与该玩家的耗时
+     * @param player 玩家 UUID（为 null 时只计入子系统）
+     */
+    public Runnable wrap(Subsystem subsystem, UUID player, Runnable task) {
+        return () -> {
+            SubsystemTickEvent span = null;
+            if (TICK_EVENT_TYPE.isEnabled()) {
+                span = new SubsystemTickEvent();
+                span.begin();
+            }
+            long start = enabled ? System.nanoTime() : DISABLED;
+            try {
+                task.run();
+            } finally {
+                if (start != DISABLED) {
+                    long end = System.nanoTime();
+                    record(subsystem, end - start, end, player);
+                }
+                if (span != null && span.shouldCommit()) {
+                    span.subsystem = subsystem.getId();
+                    span.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * 开始一次内联计时
+     * @return 开始时刻，关闭时返回 {@link #DISABLED}
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * 结束一次内联计时并计入子系统
+     * @param start {@link #start()} 的返回值
+     */
+    public void stop(Subsystem subsystem, long start) {
+        stop(subsystem, start, null);
+    }
+
+    /**
+     * 结束一次内联计时并计入子系统与玩家
+     * @param start {@link #start()} 的返回值
+     * @param player 玩家 UUID（为 null 时只计入子系统）
+     */
+    public void stop(Subsystem subsystem, long start, UUID player) {
+        if (start == DISABLED) {
+            return;
+        }
+        long end = System.nanoTime();
+        record(subsystem, end - start, end, player);
+    }
+
+    /**
+     * 计入一次已测得的耗时（关闭时忽略）
+     */
+    public void record(Subsystem subsystem, long nanos) {
+        if (enabled) {
+            record(subsystem, nanos, System.nanoTime(), null);
+        }
+    }
+
+    private void record(Subsystem subsystem, long nanos, long now, UUID player) {
+        histograms.get(subsystem).record(nanos, now);
+        totalNanos[subsystem.ordinal()].add(nanos);
+        totalCounts[subsystem.ordinal()].increment();
+        if (player != null) {
+            playerCosts.computeIfAbsent(player, uuid -> new LongAdder()).add(nanos);
+        }
+    }
+
+    /**
+     * 子系统自启动以来的累计耗时（纳秒，仅统计开启期间）
+     */
+    public long getTotalNanos(Subsystem subsystem) {
+        return totalNanos[subsystem.ordinal()].sum();
+    }
+
+    /**
+     * 子系统自启动以来的累计执行次数（仅统计开启期间）
+     */
+    public long getTotalCount(Subsystem subsystem) {
+        return totalCounts[subsystem.ordinal()].sum();
+    }
+
+    /**
+     * 统计子系统最近若干分钟的耗时分布
+     * @param minutes 窗口长度（1-15 分钟）
+     */
+    public RollingHistogram.Snapshot snapshot(Subsystem subsystem, int minutes) {
+        return histograms.get(subsystem).snapshot(minutes, System.nanoTime());
+    }
+
+    /**
+     * 累计耗时最大的若干位玩家（按耗时降序）
+     */
+    public List<PlayerCost> topPlayers(int limit) {
+        List<PlayerCost> costs = new ArrayList<>(playerCosts.size());
+        for (Map.Entry<UUID, LongAdder> entry : playerCosts.entrySet()) {
+            costs.add(new PlayerCost(entry.getKey(), entry.getValue().sum()));
+        }
+        costs.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+        return costs.size() > limit ? costs.subList(0, limit) : costs;
+    }
+
+    /**
+     * 移除玩家的累计耗时（玩家退出时调用）
+     */
+    public void forgetPlayer(UUID uuid) {
+        playerCosts.remove(uuid);
+    }
+
+    /**
+     * 清空单个子系统的数据
+     */
+    public void reset(Subsystem subsystem) {
+        histograms.get(subsystem).reset();
+    }
+
+    /**
+     * 清空所有子系统与玩家的数据
+     */
+    public void reset() {
+        for (RollingHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        playerCosts.clear();
+    }
+}
@@ -11,6 +11,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 区域管理器
@@ -31,8 +32,9 @@ public class RegionManager {
         this.plugin = plugin;
         this.configManager = configManager;
         this.modeManager = modeManager;
-        this.exemptionZones = new ArrayList<>();
-        this.exemptPlayers = new ArrayList<>();
+        // 写少读多，且会被多个区域线程同时读取
+        this.exemptionZones = new CopyOnWriteArrayList<>();
+        this.exemptPlayers = new CopyOnWriteArrayList<>();
         
         // 从配置文件加载豁免区和豁免者
         loadExemptionZones();
@@ -145,7 +147,14 @@ public class RegionManager {
      * @return 是否在豁免区内
      */
     public boolean isInExemptionZone(Location location) {
-        for (ExemptionZone zone : exemptionZones) {
+        return isInAnyZone(exemptionZones, location);
+    }
+
+    /**
+     * 判断位置是否在任一豁免区内（逐个检查）
+     */
+    static boolean isInAnyZone(List<ExemptionZone> zones, Location location) {
+        for (ExemptionZone zone : zones) {
             if (zone.contains(location)) {
                 return true;
             }
@@ -0,0 +1,102 @@
+package io.github.kaleidscoper.abysscurse.scheduler;
+
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Folia 调度器实现
+ * 全局任务走 GlobalRegionScheduler，玩家任务走玩家自身的 EntityScheduler，
+ * 使诅咒处理随服务端区域分布在多个线程上执行
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+    private final JavaPlugin plugin;
+    private final TickProfiler profiler;
+
+    public FoliaTaskScheduler(JavaPlugin plugin, TickProfiler profiler) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return true;
+    }
+
+    @Override
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    public ScheduledHandle runGlobal(Runnable task) {
+        return wrap(plugin.getServer().getGlobalRegionScheduler().run(plugin, t -> task.run()));
+    }
+
+    @Override
+    public ScheduledHandle runGlobalLater(Runnable task, long delay) {
+        return wrap(plugin.getServer().getGlobalRegionScheduler()
+            .runDelayed(plugin, t -> task.run(), normalizeDelay(delay)));
+    }
+
+    @Override
+    public ScheduledHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(plugin.getServer().getGlobalRegionScheduler()
+            .runAtFixedRate(plugin, t -> task.run(), normalizeDelay(delay), period));
+    }
+
+    @Override
+    public ScheduledHandle runForPlayer(Player player, Runnable task) {
+        return wrap(player.getScheduler().run(plugin, t -> task.run(), null));
+    }
+
+    @Override
+    public ScheduledHandle runForPlayerLater(Player player, Runnable task, long delay) {
+        return wrap(player.getScheduler().runDelayed(plugin, t -> task.run(), null, normalizeDelay(delay)));
+    }
+
+    @Override
+    public ScheduledHandle runForPlayerTimer(Player player, Runnable task, long delay, long period) {
+        return wrap(player.getScheduler().runAtFixedRate(plugin, t -> task.run(), null, normalizeDelay(delay), period));
+    }
+
+    @Override
+    public ScheduledHandle runAsync(Runnable task) {
+        return wrap(plugin.getServer().getAsyncScheduler().runNow(plugin, t -> task.run()));
+    }
+
+    @Override
+    public void forEachOnlinePlayer(Consumer<Player> action) {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            player.getScheduler().run(plugin, t -> action.accept(player), null);
+        }
+    }
+
+    /**
+     * Folia 的延迟任务要求延迟至少为 1 tick
+     */
+    private static long normalizeDelay(long delay) {
+        return Math.max(1L, delay);
+    }
+
+    private static ScheduledHandle wrap(ScheduledTask task) {
+        if (task == null) {
+            // 实体已失效，任务未被调度
+            return ScheduledHandle.CANCELLED;
+        }
+        return new ScheduledHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.kaleidscoper.abysscurse.scheduler;
+
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+
+/**
+ * Paper 调度器实现
+ * 所有同步任务都在服务端主线程执行
+ */
+public class PaperTaskScheduler implements TaskScheduler {
+    private final JavaPlugin plugin;
+    private final TickProfiler profiler;
+
+    public PaperTaskScheduler(JavaPlugin plugin, TickProfiler profiler) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+    }
+
+    private BukkitScheduler scheduler() {
+        return plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+    @Override
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    @Override
+    public ScheduledHandle runGlobal(Runnable task) {
+        return wrap(scheduler().runTask(plugin, task));
+    }
+
+    @Override
+    public ScheduledHandle runGlobalLater(Runnable task, long delay) {
+        return wrap(scheduler().runTaskLater(plugin, task, delay));
+    }
+
+    @Override
+    public ScheduledHandle runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(scheduler().runTaskTimer(plugin, task, delay, period));
+    }
+
+    @Override
+    public ScheduledHandle runForPlayer(Player player, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public ScheduledHandle runForPlayerLater(Player player, Runnable task, long delay) {
+        return runGlobalLater(task, delay);
+    }
+
+    @Override
+    public ScheduledHandle runForPlayerTimer(Player player, Runnable task, long delay, long period) {
+        return runGlobalTimer(task, delay, period);
+    }
+
+    @Override
+    public ScheduledHandle runAsync(Runnable task) {
+        return wrap(scheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    @Override
+    public void forEachOnlinePlayer(Consumer<Player> action) {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            action.accept(player);
+        }
+    }
+
+    private static ScheduledHandle wrap(BukkitTask task) {
+        return new ScheduledHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.kaleidscoper.abysscurse.scheduler;
+
+/**
+ * 调度任务句柄
+ * 屏蔽 BukkitTask 与 Folia ScheduledTask 的差异
+ */
+public interface ScheduledHandle {
+    /**
+     * 已取消的空句柄（任务未能调度时返回，例如玩家实体已失效）
+     */
+    ScheduledHandle CANCELLED = new ScheduledHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    /**
+     * 取消任务
+     */
+    void cancel();
+
+    /**
+     * 任务是否已取消
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,95 @@
+package io.github.kaleidscoper.abysscurse.scheduler;
+
+import io.github.kaleidscoper.abysscurse.profiler.TickProfiler;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.function.Consumer;
+
+/**
+ * 任务调度器接口
+ * 统一 Paper（单主线程）与 Folia（按区域多线程）的调度方式：
+ * 全局任务走全局调度，涉及玩家实体的任务走玩家所在区域的调度
+ */
+public interface TaskScheduler {
+
+    /**
+     * 根据运行环境创建调度器（检测到 Folia 时使用区域化调度）
+     * @param profiler 定时任务耗时统计（各管理器通过 {@link #getProfiler()} 包装任务入口）
+     */
+    static TaskScheduler create(JavaPlugin plugin, TickProfiler profiler) {
+        if (isFolia()) {
+            return new FoliaTaskScheduler(plugin, profiler);
+        }
+        return new PaperTaskScheduler(plugin, profiler);
+    }
+
+    /**
+     * 检测当前服务端是否为 Folia
+     */
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 是否为区域化调度（Folia）
+     */
+    boolean isRegionized();
+
+    /**
+     * 定时任务耗时统计
+     */
+    TickProfiler getProfiler();
+
+    /**
+     * 立即执行全局任务（下一 tick）
+     */
+    ScheduledHandle runGlobal(Runnable task);
+
+    /**
+     * 延迟执行全局任务
+     * @param delay 延迟（tick）
+     */
+    ScheduledHandle runGlobalLater(Runnable task, long delay);
+
+    /**
+     * 周期执行全局任务（不得直接访问玩家实体，需通过 {@link #forEachOnlinePlayer} 分派）
+     * @param delay 首次延迟（tick）
+     * @param period 周期（tick）
+     */
+    ScheduledHandle runGlobalTimer(Runnable task, long delay, long period);
+
+    /**
+     * 在玩家所属线程上执行任务
+     */
+    ScheduledHandle runForPlayer(Player player, Runnable task);
+
+    /**
+     * 在玩家所属线程上延迟执行任务
+     * @param delay 延迟（tick）
+     */
+    ScheduledHandle runForPlayerLater(Player player, Runnable task, long delay);
+
+    /**
+     * 在玩家所属线程上周期执行任务（玩家退出后自动失效）
+     * @param delay 首次延迟（tick）
+     * @param period 周期（tick）
+     */
+    ScheduledHandle runForPlayerTimer(Player player, Runnable task, long delay, long period);
+
+    /**
+     * 异步执行任务（不得访问任何世界或实体状态）
+     */
+    ScheduledHandle runAsync(Runnable task);
+
+    /**
+     * 对所有在线玩家执行操作
+     * Paper 上在当前线程内直接执行；Folia 上分派到各玩家所在区域线程
+     */
+    void forEachOnlinePlayer(Consumer<Player> action);
+}
@@ -0,0 +1,90 @@
+package io.github.kaleidscoper.abysscurse.sound;
+
+import java.util.Random;
+
+/**
+ * 别名表（Walker 别名法，Vose 构建）
+ * 构建为 O(n)，每次按权重抽样为 O(1)：
+ * 先均匀选一列，再用一次伯努利试验决定取该列本身还是它的别名。
+ * 不可变，可跨线程共享。
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights 各项权重（必须非负且总和大于 0）
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("权重不能为空");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("权重无效: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("权重总和必须大于 0");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // 缩放到平均值为 1，按小于 1 / 不小于 1 分为两组
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // 每次用一个大项补满一个小项
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // 剩余项（含浮点误差导致的残留）概率为 1
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /**
+     * 项数
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * 按权重抽取一项
+     * @return 项的下标
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
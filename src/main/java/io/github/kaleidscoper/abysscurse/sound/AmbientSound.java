@@ -0,0 +1,59 @@
+package io.github.kaleidscoper.abysscurse.sound;
+
+import org.bukkit.Sound;
+
+import java.util.Random;
+
+/**
+ * 环境音效定义
+ * 音效池中的一项：音效、权重、音量与音调范围、冷却时间
+ */
+public final class AmbientSound {
+    private final Sound sound;
+    private final double weight;
+    private final float minVolume;
+    private final float maxVolume;
+    private final float minPitch;
+    private final float maxPitch;
+    private final int cooldownTicks;
+
+    public AmbientSound(Sound sound, double weight, float minVolume, float maxVolume,
+                        float minPitch, float maxPitch, int cooldownTicks) {
+        this.sound = sound;
+        this.weight = weight;
+        this.minVolume = Math.min(minVolume, maxVolume);
+        this.maxVolume = Math.max(minVolume, maxVolume);
+        this.minPitch = Math.min(minPitch, maxPitch);
+        this.maxPitch = Math.max(minPitch, maxPitch);
+        this.cooldownTicks = Math.max(0, cooldownTicks);
+    }
+
+    public Sound getSound() {
+        return sound;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * 同一音效对同一玩家的最短重复间隔（tick）
+     */
+    public int getCooldownTicks() {
+        return cooldownTicks;
+    }
+
+    /**
+     * 在音量范围内随机取值
+     */
+    public float randomVolume(Random random) {
+        return minVolume == maxVolume ? minVolume : minVolume + random.nextFloat() * (maxVolume - minVolume);
+    }
+
+    /**
+     * 在音调范围内随机取值
+     */
+    public float randomPitch(Random random) {
+        return minPitch == maxPitch ? minPitch : minPitch + random.nextFloat() * (maxPitch - minPitch);
+    }
+}
@@ -1,83 +1,77 @@
 package io.github.kaleidscoper.abysscurse.sound;
 
+import io.github.kaleidscoper.abysscurse.profiler.Subsystem;
+import io.github.kaleidscoper.abysscurse.scheduler.ScheduledHandle;
+import io.github.kaleidscoper.abysscurse.scheduler.TaskScheduler;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 音效管理器
  * 负责管理音效播放
+ * 受诅咒玩家的环境音效由一个全局音效时钟驱动：按下次播放时刻维护最小堆，
+ * 每 tick 只弹出到期的玩家，从其所在层级的音效池按权重抽取音效播放，
+ * 再按音效池的间隔重新随机下一次播放时刻并放回堆中
  */
 public class SoundManager {
+    // 冷却中的音效重新抽取的最大次数（全部冷却中时本次不播放）
+    private static final int MAX_SAMPLE_ATTEMPTS = 4;
+
     private final JavaPlugin plugin;
-    
-    // 第三层随机音效库
-    private final List<Sound> randomSoundLibrary;
-    
-    // 存储玩家的随机音效任务（第三层）
-    private final Map<UUID, BukkitTask> randomSoundTasks = new HashMap<>();
-    
-    public SoundManager(JavaPlugin plugin) {
+    private final TaskScheduler scheduler;
+
+    // 各层环境音效池（重载时整体替换）
+    private volatile SoundPools soundPools;
+
+    // 按下次播放时刻排序的最小堆（访问时持有堆的锁）
+    private final PriorityQueue<SoundEntry> schedule = new PriorityQueue<>(
+        Comparator.comparingLong(entry -> entry.nextFireTick));
+
+    // 正在播放环境音效的玩家（堆中不在此表中的条目视为已取消，弹出时丢弃）
+    private final Map<UUID, SoundEntry> activeEntries = new ConcurrentHashMap<>();
+
+    // 音效时钟的当前 tick
+    private long currentTick;
+
+    // 全局音效时钟任务
+    private ScheduledHandle tickerTask;
+
+    /**
+     * 堆条目：玩家、诅咒层级与下次播放时刻（重新入堆时复用同一对象）
+     */
+    private static final class SoundEntry {
+        private final UUID uuid;
+        private final int layer;
+        private long nextFireTick;
+        // 各音效上次播放的 tick（用于冷却，音效池替换后按新大小重建）
+        private long[] lastPlayed = new long[0];
+
+        private SoundEntry(UUID uuid, int layer) {
+            this.uuid = uuid;
+            this.layer = layer;
+        }
+    }
+
+    public SoundManager(JavaPlugin plugin, TaskScheduler scheduler) {
         this.plugin = plugin;
-        this.randomSoundLibrary = buildRandomSoundLibrary();
+        this.scheduler = scheduler;
+        this.soundPools = new SoundPools(new SoundPool[0]);
+        this.tickerTask = scheduler.runGlobalTimer(scheduler.getProfiler().wrap(Subsystem.SOUND, this::tick), 1, 1);
     }
-    
+
     /**
-     * 构建随机音效库
-     * 包括：所有怪物音效、所有洞穴氛围音效、TNT点燃音效
+     * 替换环境音效池（加载与重载配置时调用）
+     * 正在播放的玩家在下一次播放时使用新的音效池
      */
-    private List<Sound> buildRandomSoundLibrary() {
-        List<Sound> sounds = new ArrayList<>();
-        
-        // 怪物音效
-        sounds.add(Sound.ENTITY_ZOMBIE_AMBIENT);
-        sounds.add(Sound.ENTITY_SKELETON_AMBIENT);
-        sounds.add(Sound.ENTITY_CREEPER_PRIMED);
-        sounds.add(Sound.ENTITY_SPIDER_AMBIENT);
-        sounds.add(Sound.ENTITY_ENDERMAN_STARE);
-        sounds.add(Sound.ENTITY_WITCH_AMBIENT);
-        sounds.add(Sound.ENTITY_GHAST_AMBIENT);
-        sounds.add(Sound.ENTITY_BLAZE_AMBIENT);
-        sounds.add(Sound.ENTITY_ENDER_DRAGON_AMBIENT);
-        sounds.add(Sound.ENTITY_WITHER_AMBIENT);
-        sounds.add(Sound.ENTITY_ELDER_GUARDIAN_AMBIENT);
-        sounds.add(Sound.ENTITY_GUARDIAN_AMBIENT);
-        sounds.add(Sound.ENTITY_SHULKER_AMBIENT);
-        sounds.add(Sound.ENTITY_ILLUSIONER_AMBIENT);
-        sounds.add(Sound.ENTITY_EVOKER_AMBIENT);
-        sounds.add(Sound.ENTITY_VINDICATOR_AMBIENT);
-        sounds.add(Sound.ENTITY_PILLAGER_AMBIENT);
-        sounds.add(Sound.ENTITY_RAVAGER_AMBIENT);
-        sounds.add(Sound.ENTITY_HOGLIN_AMBIENT);
-        sounds.add(Sound.ENTITY_PIGLIN_AMBIENT);
-        sounds.add(Sound.ENTITY_ZOMBIFIED_PIGLIN_AMBIENT);
-        sounds.add(Sound.ENTITY_PIGLIN_BRUTE_AMBIENT);
-        sounds.add(Sound.ENTITY_ZOGLIN_AMBIENT);
-        sounds.add(Sound.ENTITY_WARDEN_AMBIENT);
-        sounds.add(Sound.ENTITY_WARDEN_ANGRY);
-        sounds.add(Sound.ENTITY_WARDEN_HEARTBEAT);
-        
-        // 洞穴氛围音效
-        sounds.add(Sound.AMBIENT_CAVE);
-        sounds.add(Sound.AMBIENT_UNDERWATER_ENTER);
-        sounds.add(Sound.AMBIENT_UNDERWATER_EXIT);
-        sounds.add(Sound.AMBIENT_UNDERWATER_LOOP);
-        sounds.add(Sound.AMBIENT_UNDERWATER_LOOP_ADDITIONS);
-        sounds.add(Sound.AMBIENT_UNDERWATER_LOOP_ADDITIONS_ULTRA_RARE);
-        sounds.add(Sound.AMBIENT_UNDERWATER_LOOP_ADDITIONS_RARE);
-        // AMBIENT_UNDERWATER_LOOP_ADDITIONS_URBAN 可能不存在，使用其他音效替代
-        // sounds.add(Sound.AMBIENT_UNDERWATER_LOOP_ADDITIONS_URBAN);
-        
-        // TNT 点燃音效
-        sounds.add(Sound.ENTITY_TNT_PRIMED);
-        
-        return sounds;
+    public void updateSoundPools(SoundPools soundPools) {
+        this.soundPools = soundPools;
     }
-    
+
     /**
      * 播放诅咒触发音效
      * 远古守卫者施加挖掘疲劳时的音效
@@ -86,50 +80,106 @@ public class SoundManager {
         if (player == null || !player.isOnline()) {
             return;
         }
-        
+
         player.playSound(player.getLocation(), Sound.ENTITY_ELDER_GUARDIAN_CURSE, 1.0f, 1.0f);
     }
-    
+
     /**
-     * 开始播放第三层随机音效
+     * 开始播放诅咒层级的环境音效
+     * 该层没有配置音效池时不播放；有音效池时立即播放一次，之后按音效池的间隔随机播放
      */
-    public void startRandomSounds(Player player) {
-        UUID uuid = player.getUniqueId();
-        
-        // 如果已有任务，先取消
-        BukkitTask existingTask = randomSoundTasks.get(uuid);
-        if (existingTask != null && !existingTask.isCancelled()) {
-            existingTask.cancel();
+    public void startAmbientSounds(Player player, int layer) {
+        if (soundPools.pool(layer) == null) {
+            stopAmbientSounds(player);
+            return;
         }
-        
-        // 创建随机音效任务（每3-5秒随机播放一次）
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!player.isOnline()) {
-                    this.cancel();
-                    randomSoundTasks.remove(uuid);
-                    return;
+
+        SoundEntry entry = new SoundEntry(player.getUniqueId(), layer);
+        synchronized (schedule) {
+            entry.nextFireTick = currentTick;
+            // 替换已有条目，旧条目在弹出时被丢弃
+            activeEntries.put(entry.uuid, entry);
+            schedule.offer(entry);
+        }
+    }
+
+    /**
+     * 停止播放环境音效
+     */
+    public void stopAmbientSounds(Player player) {
+        activeEntries.remove(player.getUniqueId());
+    }
+
+    /**
+     * 全局音效时钟：每 tick 弹出到期的条目并播放
+     */
+    private void tick() {
+        SoundPools pools = soundPools;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        synchronized (schedule) {
+            currentTick++;
+            SoundEntry entry;
+            while ((entry = schedule.peek()) != null && entry.nextFireTick <= currentTick) {
+                schedule.poll();
+                if (activeEntries.get(entry.uuid) != entry) {
+                    continue; // 已停止或已被新条目替换
+                }
+
+                SoundPool pool = pools.pool(entry.layer);
+                Player player = plugin.getServer().getPlayer(entry.uuid);
+                if (pool == null || player == null || !player.isOnline()) {
+                    activeEntries.remove(entry.uuid, entry);
+                    continue;
                 }
-                
-                // 随机选择音效
-                Sound randomSound = randomSoundLibrary.get(new Random().nextInt(randomSoundLibrary.size()));
-                player.playSound(player.getLocation(), randomSound, 0.5f, 1.0f);
+
+                playAmbientSound(player, entry, pool, random);
+
+                // 每次重新随机下一次间隔
+                entry.nextFireTick = currentTick + pool.nextInterval(random);
+                schedule.offer(entry);
             }
-        }.runTaskTimer(plugin, 0, 60 + new Random().nextInt(40)); // 每3-5秒（60-100tick）播放一次
-        
-        randomSoundTasks.put(uuid, task);
+        }
     }
-    
+
     /**
-     * 停止播放第三层随机音效
+     * 从音效池抽取一个不在冷却中的音效并播放（Folia 上转到玩家所在区域线程）
      */
-    public void stopRandomSounds(Player player) {
-        UUID uuid = player.getUniqueId();
-        BukkitTask task = randomSoundTasks.remove(uuid);
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
+    private void playAmbientSound(Player player, SoundEntry entry, SoundPool pool, Random random) {
+        if (entry.lastPlayed.length != pool.size()) {
+            entry.lastPlayed = new long[pool.size()];
+            Arrays.fill(entry.lastPlayed, Long.MIN_VALUE / 2);
+        }
+
+        for (int attempt = 0; attempt < MAX_SAMPLE_ATTEMPTS; attempt++) {
+            int index = pool.sample(random);
+            AmbientSound ambient = pool.get(index);
+            if (currentTick - entry.lastPlayed[index] < ambient.getCooldownTicks()) {
+                continue;
+            }
+            entry.lastPlayed[index] = currentTick;
+
+            Sound sound = ambient.getSound();
+            float volume = ambient.randomVolume(random);
+            float pitch = ambient.randomPitch(random);
+            if (scheduler.isRegionized()) {
+                scheduler.runForPlayer(player, () -> player.playSound(player.getLocation(), sound, volume, pitch));
+            } else {
+                player.playSound(player.getLocation(), sound, volume, pitch);
+            }
+            return;
         }
     }
-}
 
+    /**
+     * 停止音效管理器
+     */
+    public void stop() {
+        if (tickerTask != null && !tickerTask.isCancelled()) {
+            tickerTask.cancel();
+        }
+        synchronized (schedule) {
+            schedule.clear();
+        }
+        activeEntries.clear();
+    }
+}
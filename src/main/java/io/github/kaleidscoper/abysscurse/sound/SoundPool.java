@@ -0,0 +1,55 @@
+package io.github.kaleidscoper.abysscurse.sound;
+
+import java.util.Random;
+
+/**
+ * 单层的环境音效池
+ * 音效按权重编译为别名表，播放间隔在 [intervalMin, intervalMax] tick 内随机。
+ * 不可变，可跨线程共享。
+ */
+public final class SoundPool {
+    private final AmbientSound[] sounds;
+    private final AliasTable table;
+    private final int intervalMin;
+    private final int intervalMax;
+
+    public SoundPool(AmbientSound[] sounds, int intervalMin, int intervalMax) {
+        this.sounds = sounds.clone();
+        double[] weights = new double[sounds.length];
+        for (int i = 0; i < sounds.length; i++) {
+            weights[i] = sounds[i].getWeight();
+        }
+        this.table = new AliasTable(weights);
+        this.intervalMin = Math.max(1, Math.min(intervalMin, intervalMax));
+        this.intervalMax = Math.max(this.intervalMin, Math.max(intervalMin, intervalMax));
+    }
+
+    /**
+     * 音效数量
+     */
+    public int size() {
+        return sounds.length;
+    }
+
+    /**
+     * 获取指定下标的音效
+     */
+    public AmbientSound get(int index) {
+        return sounds[index];
+    }
+
+    /**
+     * 按权重抽取一个音效
+     * @return 音效下标
+     */
+    public int sample(Random random) {
+        return table.sample(random);
+    }
+
+    /**
+     * 随机下一次播放的间隔（tick）
+     */
+    public int nextInterval(Random random) {
+        return intervalMin == intervalMax ? intervalMin : intervalMin + random.nextInt(intervalMax - intervalMin + 1);
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.kaleidscoper.abysscurse.sound;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 各层环境音效池
+ * 由配置中的 sounds 段编译而成，没有配置音效池的层级不播放环境音效。
+ * 不可变，重载时整体替换。
+ */
+public final class SoundPools {
+    // 层级数量
+    public static final int LAYER_COUNT = 7;
+
+    // 默认间隔（tick）：每3-5秒播放一次
+    private static final int DEFAULT_INTERVAL_MIN = 60;
+    private static final int DEFAULT_INTERVAL_MAX = 100;
+
+    // 默认音量与音调
+    private static final float DEFAULT_VOLUME = 0.5f;
+    private static final float DEFAULT_PITCH = 1.0f;
+
+    // 第三层默认音效：所有怪物音效、洞穴氛围音效、TNT点燃音效
+    private static final String[] DEFAULT_LAYER3_SOUNDS = {
+        // 怪物音效
+        "entity.zombie.ambient",
+        "entity.skeleton.ambient",
+        "entity.creeper.primed",
+        "entity.spider.ambient",
+        "entity.enderman.stare",
+        "entity.witch.ambient",
+        "entity.ghast.ambient",
+        "entity.blaze.ambient",
+        "entity.ender_dragon.ambient",
+        "entity.wither.ambient",
+        "entity.elder_guardian.ambient",
+        "entity.guardian.ambient",
+        "entity.shulker.ambient",
+        "entity.illusioner.ambient",
+        "entity.evoker.ambient",
+        "entity.vindicator.ambient",
+        "entity.pillager.ambient",
+        "entity.ravager.ambient",
+        "entity.hoglin.ambient",
+        "entity.piglin.ambient",
+        "entity.zombified_piglin.ambient",
+        "entity.piglin_brute.ambient",
+        "entity.zoglin.ambient",
+        "entity.warden.ambient",
+        "entity.warden.angry",
+        "entity.warden.heartbeat",
+        // 洞穴氛围音效
+        "ambient.cave",
+        "ambient.underwater.enter",
+        "ambient.underwater.exit",
+        "ambient.underwater.loop",
+        "ambient.underwater.loop.additions",
+        "ambient.underwater.loop.additions.ultra_rare",
+        "ambient.underwater.loop.additions.rare",
+        // TNT 点燃音效
+        "entity.tnt.primed"
+    };
+
+    // 下标 0 对应第一层，null 表示该层没有环境音效
+    private final SoundPool[] pools;
+
+    public SoundPools(SoundPool[] pools) {
+        this.pools = new SoundPool[LAYER_COUNT];
+        System.arraycopy(pools, 0, this.pools, 0, Math.min(pools.length, LAYER_COUNT));
+    }
+
+    /**
+     * 获取层级的音效池
+     * @param layer 层级（1-7）
+     * @return 音效池，该层没有环境音效时返回 null
+     */
+    public SoundPool pool(int layer) {
+        if (layer < 1 || layer > LAYER_COUNT) {
+            return null;
+        }
+        return pools[layer - 1];
+    }
+
+    /**
+     * 默认音效池（与配置文件默认值一致）
+     */
+    public static SoundPools defaults() {
+        List<AmbientSound> sounds = new ArrayList<>();
+        for (String id : DEFAULT_LAYER3_SOUNDS) {
+            Sound sound = resolve(id);
+            if (sound != null) {
+                sounds.add(new AmbientSound(sound, 1.0, DEFAULT_VOLUME, DEFAULT_VOLUME, DEFAULT_PITCH, DEFAULT_PITCH, 0));
+            }
+        }
+        SoundPool[] pools = new SoundPool[LAYER_COUNT];
+        if (!sounds.isEmpty()) {
+            pools[2] = new SoundPool(sounds.toArray(new AmbientSound[0]), DEFAULT_INTERVAL_MIN, DEFAULT_INTERVAL_MAX);
+        }
+        return new SoundPools(pools);
+    }
+
+    /**
+     * 默认音效配置（写入 config.yml 的 sounds 段）
+     */
+    public static Map<String, Object> defaultConfig() {
+        List<Map<String, Object>> pool = new ArrayList<>();
+        for (String id : DEFAULT_LAYER3_SOUNDS) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("sound", id);
+            pool.add(entry);
+        }
+
+        Map<String, Object> layer3 = new LinkedHashMap<>();
+        layer3.put("interval-min", DEFAULT_INTERVAL_MIN);
+        layer3.put("interval-max", DEFAULT_INTERVAL_MAX);
+        layer3.put("pool", pool);
+
+        Map<String, Object> layers = new LinkedHashMap<>();
+        layers.put("3", layer3);
+
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("layers", layers);
+        return section;
+    }
+
+    /**
+     * 从配置编译音效池
+     * 任何条目无效时记录警告并跳过该条目；整段缺失时使用默认值
+     * @param section sounds 配置段（可为 null）
+     * @param logger 日志
+     */
+    public static SoundPools compile(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return defaults();
+        }
+
+        SoundPool[] pools = new SoundPool[LAYER_COUNT];
+        for (int layer = 1; layer <= LAYER_COUNT; layer++) {
+            ConfigurationSection layerSection = section.getConfigurationSection("layers." + layer);
+            if (layerSection == null) {
+                continue;
+            }
+            String path = "sounds.layers." + layer;
+
+            List<AmbientSound> sounds = new ArrayList<>();
+            for (Map<?, ?> entry : layerSection.getMapList("pool")) {
+                AmbientSound sound = parseEntry(entry, logger, path);
+                if (sound != null) {
+                    sounds.add(sound);
+                }
+            }
+            if (sounds.isEmpty()) {
+                logger.warning(path + " 中没有有效的音效，该层不播放环境音效");
+                continue;
+            }
+
+            int intervalMin = layerSection.getInt("interval-min", DEFAULT_INTERVAL_MIN);
+            int intervalMax = layerSection.getInt("interval-max", DEFAULT_INTERVAL_MAX);
+            if (intervalMin < 1 || intervalMax < intervalMin) {
+                logger.warning(path + " 的播放间隔无效: " + intervalMin + "-" + intervalMax + "，使用默认值");
+                intervalMin = DEFAULT_INTERVAL_MIN;
+                intervalMax = DEFAULT_INTERVAL_MAX;
+            }
+            pools[layer - 1] = new SoundPool(sounds.toArray(new AmbientSound[0]), intervalMin, intervalMax);
+        }
+        return new SoundPools(pools);
+    }
+
+    /**
+     * 解析单个音效条目
+     * 支持的键：sound、weight、volume-min、volume-max、pitch-min、pitch-max、cooldown
+     */
+    private static AmbientSound parseEntry(Map<?, ?> entry, Logger logger, String path) {
+        Object id = entry.get("sound");
+        if (id == null) {
+            logger.warning(path + " 中存在缺少 sound 的音效，已跳过");
+            return null;
+        }
+
+        Sound sound = resolve(id.toString());
+        if (sound == null) {
+            logger.warning(path + " 中的音效无效: " + id + "，已跳过");
+            return null;
+        }
+
+        double weight = toDouble(entry.get("weight"), 1.0);
+        if (weight <= 0) {
+            logger.warning(path + " 中 " + id + " 的 weight 必须大于 0，已跳过");
+            return null;
+        }
+
+        float minVolume = (float) toDouble(entry.get("volume-min"), DEFAULT_VOLUME);
+        float maxVolume = (float) toDouble(entry.get("volume-max"), minVolume);
+        float minPitch = (float) toDouble(entry.get("pitch-min"), DEFAULT_PITCH);
+        float maxPitch = (float) toDouble(entry.get("pitch-max"), minPitch);
+        int cooldown = (int) toDouble(entry.get("cooldown"), 0);
+
+        return new AmbientSound(sound, weight, minVolume, maxVolume, minPitch, maxPitch, cooldown);
+    }
+
+    private static Sound resolve(String id) {
+        NamespacedKey key = NamespacedKey.fromString(id.trim().toLowerCase());
+        return key != null ? Registry.SOUNDS.get(key) : null;
+    }
+
+    private static double toDouble(Object value, double defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+                // 使用默认值
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.kaleidscoper.abysscurse.trace;
+
+/**
+ * 移动轨迹文件格式（大端序）
+ * <pre>
+ * 文件头：int MAGIC, short VERSION
+ * 之后为若干条记录，每条以一个类型字节开头：
+ *   PLAYER  int 玩家编号, long UUID 高位, long UUID 低位    （首次出现该玩家时写入）
+ *   WORLD   int 世界编号, UTF 世界名                        （首次出现该世界时写入）
+ *   其他    int tick, int 玩家编号, int 世界编号, int x, double y, int z
+ * </pre>
+ * x、z 为方块坐标（只用于区块与豁免区判断），y 保留完整精度（上升统计需要浮点增量）。
+ */
+public final class TraceFormat {
+    public static final int MAGIC = 0x41435452; // "ACTR"
+    public static final short VERSION = 1;
+
+    // 定义记录
+    public static final byte PLAYER = 1;
+    public static final byte WORLD = 2;
+
+    // 位置记录
+    // 诅咒检测流水线读取的位置（每 10 tick）
+    public static final byte SAMPLE = 10;
+    public static final byte JOIN = 11;
+    public static final byte QUIT = 12;
+    public static final byte DEATH = 13;
+    public static final byte RESPAWN = 14;
+
+    private TraceFormat() {
+    }
+}
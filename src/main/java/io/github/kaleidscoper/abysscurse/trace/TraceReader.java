@@ -0,0 +1,69 @@
+package io.github.kaleidscoper.abysscurse.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 读取 {@link TraceRecorder} 写入的轨迹文件
+ */
+public final class TraceReader {
+
+    /**
+     * 按文件顺序接收记录
+     */
+    public interface Visitor {
+        void player(int id, UUID uuid);
+
+        void world(int id, String name);
+
+        /**
+         * @param type {@link TraceFormat} 中的位置记录类型
+         */
+        void record(byte type, int tick, int player, int world, int x, double y, int z);
+    }
+
+    private TraceReader() {
+    }
+
+    /**
+     * 读取整个文件（文件末尾不完整的记录会被忽略，例如服务器崩溃时未写完的部分）
+     */
+    public static void read(File file, Visitor visitor) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+            if (in.readInt() != TraceFormat.MAGIC) {
+                throw new IOException("不是轨迹文件: " + file);
+            }
+            short version = in.readShort();
+            if (version != TraceFormat.VERSION) {
+                throw new IOException("不支持的轨迹文件版本: " + version);
+            }
+
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    return;
+                }
+                try {
+                    switch (type) {
+                        case TraceFormat.PLAYER:
+                            visitor.player(in.readInt(), new UUID(in.readLong(), in.readLong()));
+                            break;
+                        case TraceFormat.WORLD:
+                            visitor.world(in.readInt(), in.readUTF());
+                            break;
+                        default:
+                            visitor.record((byte) type, in.readInt(), in.readInt(), in.readInt(),
+                                in.readInt(), in.readDouble(), in.readInt());
+                    }
+                } catch (EOFException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package io.github.kaleidscoper.abysscurse.trace;
+
+import io.github.kaleidscoper.abysscurse.AbyssCursePlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 移动轨迹记录（默认关闭）
+ * 记录诅咒检测流水线读取的玩家位置以及进入、退出、死亡、复活，供离线回放使用（格式见 {@link TraceFormat}）。
+ * 调用线程只把基本类型写入预先分配的环形缓冲区（多生产者、单消费者，与事件日志相同的序号方案，不产生分配），
+ * 后台线程每秒取出并写入数据文件夹 traces 目录；缓冲区满时丢弃新记录，文件达到大小上限时停止记录。
+ * 每次开始记录都创建独立的会话（缓冲区、文件、编号表与后台线程），
+ * 停止后旧线程即使尚未退出也只会写完自己的文件，不会与重新开始的记录共享任何可变状态。
+ */
+public class TraceRecorder {
+    // 环形缓冲区容量（2 的幂）
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = 2000;
+
+    private final AbyssCursePlugin plugin;
+    private final File directory;
+
+    // 当前记录会话，未记录时为 null
+    private volatile Session session;
+
+    private final LongAdder dropped = new LongAdder();
+
+    public TraceRecorder(AbyssCursePlugin plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "traces");
+    }
+
+    /**
+     * 按配置开始或停止记录（启用与重载配置时调用，已在记录时继续写入当前文件）
+     */
+    public synchronized void reload() {
+        boolean enabled = plugin.getConfigManager().isTraceEnabled();
+        if (enabled && session == null) {
+            start();
+        } else if (!enabled && session != null) {
+            stop();
+        }
+    }
+
+    private void start() {
+        if (!directory.exists() && !directory.mkdirs()) {
+            plugin.getLogger().warning("无法创建轨迹目录: " + directory);
+            return;
+        }
+        File file = new File(directory, "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".bin");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+            out.writeInt(TraceFormat.MAGIC);
+            out.writeShort(TraceFormat.VERSION);
+        } catch (IOException e) {
+            plugin.getLogger().warning("无法创建轨迹文件: " + e.getMessage());
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // 已记录创建失败
+                }
+            }
+            return;
+        }
+
+        long maxFileBytes = Math.max(1, plugin.getConfigManager().getTraceMaxFileSizeMb()) * 1024L * 1024L;
+        Session started = new Session(file, out, maxFileBytes);
+        session = started;
+        started.worker.start();
+        plugin.getLogger().info("轨迹记录已开始: " + file.getName());
+    }
+
+    /**
+     * 停止记录（写完缓冲区中剩余的记录）
+     */
+    public synchronized void stop() {
+        Session stopped = session;
+        if (stopped == null) {
+            return;
+        }
+        session = null;
+        stopped.active = false;
+        LockSupport.unpark(stopped.worker);
+        try {
+            // 超时后旧线程继续写完自己的文件后退出
+            stopped.worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRecording() {
+        return session != null;
+    }
+
+    /**
+     * 记录一条位置（任意线程，不阻塞；未开启时直接返回）
+     * @param type {@link TraceFormat} 中的位置记录类型
+     */
+    public void record(byte type, UUID player, Location location) {
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        World world = location.getWorld();
+        current.offer(type, Bukkit.getCurrentTick(), current.playerId(player), world != null ? current.worldId(world) : -1,
+            location.getBlockX(), location.getY(), location.getBlockZ());
+    }
+
+    /**
+     * 记录玩家退出（没有位置）
+     */
+    public void recordQuit(UUID player) {
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        current.offer(TraceFormat.QUIT, Bukkit.getCurrentTick(), current.playerId(player), -1, 0, 0.0, 0);
+    }
+
+    /**
+     * 因缓冲区已满而丢弃的记录数量
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 一次记录会话：环形缓冲区、输出文件、玩家与世界编号表以及写入线程
+     */
+    private final class Session {
+        private final File file;
+        private final long maxFileBytes;
+        private final Thread worker;
+        private volatile boolean active = true;
+
+        // 环形缓冲区：各字段分别存放，序号等于写入位置时可写，等于写入位置 + 1 时可读
+        private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+        private final byte[] types = new byte[CAPACITY];
+        private final int[] ticks = new int[CAPACITY];
+        private final int[] players = new int[CAPACITY];
+        private final int[] worlds = new int[CAPACITY];
+        private final int[] xs = new int[CAPACITY];
+        private final double[] ys = new double[CAPACITY];
+        private final int[] zs = new int[CAPACITY];
+        private final AtomicLong tail = new AtomicLong();
+        private long head;
+
+        // 玩家与世界的编号（按首次出现的顺序，列表下标即编号）
+        private final Map<UUID, Integer> playerIds = new ConcurrentHashMap<>();
+        private final List<UUID> playerList = new ArrayList<>();
+        private final Map<UUID, Integer> worldIds = new ConcurrentHashMap<>();
+        private final List<String> worldNames = new ArrayList<>();
+
+        // 以下字段只由写入线程访问
+        private DataOutputStream out;
+        private int writtenPlayers;
+        private int writtenWorlds;
+        private long reportedDrops;
+
+        private Session(File file, DataOutputStream out, long maxFileBytes) {
+            this.file = file;
+            this.out = out;
+            this.maxFileBytes = maxFileBytes;
+            this.reportedDrops = dropped.sum();
+            for (int i = 0; i < CAPACITY; i++) {
+                sequences.set(i, i);
+            }
+            this.worker = new Thread(this::run, "AbyssCurse-Trace");
+            this.worker.setDaemon(true);
+        }
+
+        private int playerId(UUID uuid) {
+            Integer id = playerIds.get(uuid);
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                return playerIds.computeIfAbsent(uuid, key -> {
+                    playerList.add(key);
+                    return playerList.size() - 1;
+                });
+            }
+        }
+
+        private int worldId(World world) {
+            Integer id = worldIds.get(world.getUID());
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                return worldIds.computeIfAbsent(world.getUID(), key -> {
+                    worldNames.add(world.getName());
+                    return worldNames.size() - 1;
+                });
+            }
+        }
+
+        private void offer(byte type, int tick, int player, int world, int x, double y, int z) {
+            if (!active) {
+                return;
+            }
+            long position = tail.get();
+            while (true) {
+                int index = (int) position & MASK;
+                long diff = sequences.get(index) - position;
+                if (diff == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        types[index] = type;
+                        ticks[index] = tick;
+                        players[index] = player;
+                        worlds[index] = world;
+                        xs[index] = x;
+                        ys[index] = y;
+                        zs[index] = z;
+                        sequences.lazySet(index, position + 1);
+                        return;
+                    }
+                    position = tail.get();
+                } else if (diff < 0) {
+                    dropped.increment();
+                    return;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        // ========== 写入线程 ==========
+
+        private void run() {
+            while (active) {
+                drain();
+                LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+            }
+            drain();
+            closeFile();
+            plugin.getLogger().info("轨迹记录已停止: " + file.getName());
+        }
+
+        private void drain() {
+            if (out == null) {
+                // 写入失败或达到大小上限后只清空缓冲区
+                while (poll()) {
+                    // 丢弃
+                }
+                return;
+            }
+            try {
+                while (true) {
+                    int index = (int) head & MASK;
+                    if (sequences.get(index) != head + 1) {
+                        break;
+                    }
+                    writeDefinitions(players[index], worlds[index]);
+                    out.writeByte(types[index]);
+                    out.writeInt(ticks[index]);
+                    out.writeInt(players[index]);
+                    out.writeInt(worlds[index]);
+                    out.writeInt(xs[index]);
+                    out.writeDouble(ys[index]);
+                    out.writeInt(zs[index]);
+                    release(index);
+                }
+                out.flush();
+                if (out.size() >= maxFileBytes) {
+                    plugin.getLogger().warning("轨迹文件已达到大小上限，停止写入: " + file.getName());
+                    closeFile();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("写入轨迹文件失败: " + e.getMessage());
+                closeFile();
+            }
+
+            long drops = dropped.sum();
+            if (drops > reportedDrops) {
+                plugin.getLogger().warning("轨迹缓冲区已满，丢弃了 " + (drops - reportedDrops) + " 条记录");
+                reportedDrops = drops;
+            }
+        }
+
+        /**
+         * 写入尚未写过的玩家与世界定义（编号在记录进入缓冲区前分配）
+         */
+        private void writeDefinitions(int player, int world) throws IOException {
+            while (writtenPlayers <= player) {
+                UUID uuid;
+                synchronized (this) {
+                    uuid = playerList.get(writtenPlayers);
+                }
+                out.writeByte(TraceFormat.PLAYER);
+                out.writeInt(writtenPlayers);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                writtenPlayers++;
+            }
+            while (writtenWorlds <= world) {
+                String name;
+                synchronized (this) {
+                    name = worldNames.get(writtenWorlds);
+                }
+                out.writeByte(TraceFormat.WORLD);
+                out.writeInt(writtenWorlds);
+                out.writeUTF(name);
+                writtenWorlds++;
+            }
+        }
+
+        private boolean poll() {
+            int index = (int) head & MASK;
+            if (sequences.get(index) != head + 1) {
+                return false;
+            }
+            release(index);
+            return true;
+        }
+
+        private void release(int index) {
+            sequences.lazySet(index, head + CAPACITY);
+            head++;
+        }
+
+        private void closeFile() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("关闭轨迹文件失败: " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.kaleidscoper.abysscurse.visual;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ActionBar 通道
+ * 各模块不再直接调用 sendActionBar，而是按优先级提交内容，
+ * 由通道决定每个玩家最终显示的内容：
+ * 只有获胜内容变化，或常驻内容即将在客户端淡出（约每 2 秒）时才发送数据包
+ */
+public class ActionBarChannel {
+    /**
+     * 内容优先级（声明顺序即优先级，越靠前越优先）
+     */
+    public enum Priority {
+        // 调试信息（常驻）
+        DEBUG(true),
+        // 第一层诅咒滤镜（常驻）
+        CURSE_FILTER(true),
+        // 累计上升高度（一次性，显示后由客户端自然淡出）
+        RISE_METER(false);
+
+        private final boolean sticky;
+
+        Priority(boolean sticky) {
+            this.sticky = sticky;
+        }
+
+        /**
+         * 是否为常驻内容（需要定期续显）
+         */
+        public boolean isSticky() {
+            return sticky;
+        }
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    // 常驻内容的续显间隔（毫秒）
+    // 客户端 ActionBar 约 3 秒后淡出，提交方每秒提交一次，超过 1.5 秒即在下一次提交时续显，实际约每 2 秒发送一次
+    private static final long KEEPALIVE_MS = 1500;
+
+    private final Map<UUID, PlayerChannel> channels = new ConcurrentHashMap<>();
+    
+    // 发送与因内容未变化而省略的次数（用于性能统计）
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * 单个玩家的通道状态
+     */
+    private static final class PlayerChannel {
+        // 各优先级当前提交的内容，null 表示没有内容
+        private final Component[] slots = new Component[PRIORITIES.length];
+        // 上次发送的内容
+        private Component lastSent;
+        // 上次发送的是否为常驻内容（撤回常驻内容时需要清除显示）
+        private boolean lastSticky;
+        // 上次发送时间
+        private long lastSentAt;
+    }
+
+    /**
+     * 提交内容
+     * @param player 玩家
+     * @param priority 优先级
+     * @param content 内容
+     */
+    public void submit(Player player, Priority priority, Component content) {
+        if (player == null || !player.isOnline()) {
+            return;
+        }
+        PlayerChannel channel = channels.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerChannel());
+        synchronized (channel) {
+            channel.slots[priority.ordinal()] = content;
+            flush(player, channel);
+        }
+    }
+
+    /**
+     * 撤回某优先级的内容
+     * 若撤回后没有任何内容，会发送一次空 ActionBar 清除显示
+     */
+    public void clear(Player player, Priority priority) {
+        if (player == null) {
+            return;
+        }
+        PlayerChannel channel = channels.get(player.getUniqueId());
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            if (channel.slots[priority.ordinal()] == null) {
+                return;
+            }
+            channel.slots[priority.ordinal()] = null;
+            if (player.isOnline()) {
+                flush(player, channel);
+            }
+        }
+    }
+
+    /**
+     * 决定获胜内容并在需要时发送（调用方持有通道锁）
+     */
+    private void flush(Player player, PlayerChannel channel) {
+        Priority winner = null;
+        for (Priority priority : PRIORITIES) {
+            if (channel.slots[priority.ordinal()] != null) {
+                winner = priority;
+                break;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (winner == null) {
+            // 没有任何内容：仅当上次显示的是常驻内容时清除一次
+            if (channel.lastSticky) {
+                player.sendActionBar(Component.empty());
+                channel.lastSent = Component.empty();
+                channel.lastSticky = false;
+                channel.lastSentAt = now;
+            }
+            return;
+        }
+
+        Component content = channel.slots[winner.ordinal()];
+        // 内容相同且尚未淡出时不重复发送
+        boolean changed = !content.equals(channel.lastSent);
+        boolean fading = now - channel.lastSentAt >= KEEPALIVE_MS;
+        if (changed || fading) {
+            player.sendActionBar(content);
+            channel.lastSent = content;
+            channel.lastSticky = winner.isSticky();
+            channel.lastSentAt = now;
+            sent.increment();
+        } else {
+            suppressed.increment();
+        }
+
+        // 一次性内容提交后即消费，被更高优先级覆盖时直接丢弃
+        for (Priority priority : PRIORITIES) {
+            if (!priority.isSticky()) {
+                channel.slots[priority.ordinal()] = null;
+            }
+        }
+    }
+
+    /**
+     * 已发送的 ActionBar 数量
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+    
+    /**
+     * 因内容未变化且尚未淡出而省略的发送数量
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+    
+    /**
+     * 清理玩家通道（玩家退出时调用）
+     */
+    public void cleanupPlayer(UUID uuid) {
+        channels.remove(uuid);
+    }
+
+    /**
+     * 停止通道，丢弃所有玩家的状态
+     */
+    public void stop() {
+        channels.clear();
+    }
+}
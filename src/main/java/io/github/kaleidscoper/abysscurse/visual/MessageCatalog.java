@@ -0,0 +1,205 @@
+package io.github.kaleidscoper.abysscurse.visual;
+
+import io.github.kaleidscoper.abysscurse.mode.PluginMode;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.title.Title;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 消息目录
+ * 加载时预先构建所有静态的 Adventure 组件（层级 Title、BossBar 名称、调试标签），
+ * 动态数值文本（累计上升高度，精确到 0.1）从有界缓存中获取。
+ * Adventure 组件不可变，可在任意线程共享。
+ */
+public final class MessageCatalog {
+    // 层级数量
+    public static final int LAYER_COUNT = 7;
+
+    private static final String[] LAYER_TITLES = {
+        "阿比斯之渊", "诱惑之森", "大断层", "巨人之杯", "亡骸之海", "来无还之都", "最终极之涡"
+    };
+
+    private static final String[] LAYER_SUBTITLES = {
+        "Edge of the Abyss", "Forest of Temptation", "Great Fault", "Goblets of Giants",
+        "Sea of Corpses", "Capital of the Unreturned", "Final Maelstrom"
+    };
+
+    private static final String[] LAYER_ORDINALS = {
+        "第一层", "第二层", "第三层", "第四层", "第五层", "第六层", "第七层"
+    };
+
+    private static final NamedTextColor[] LAYER_TITLE_COLORS = {
+        NamedTextColor.RED,
+        NamedTextColor.GREEN,
+        NamedTextColor.GRAY,
+        NamedTextColor.AQUA, // 天青色（使用 AQUA 作为近似）
+        NamedTextColor.BLUE,
+        NamedTextColor.GOLD,
+        NamedTextColor.WHITE
+    };
+
+    private static final Title.Times LAYER_TITLE_TIMES = Title.Times.times(
+        Duration.ofMillis(500),  // 淡入时间
+        Duration.ofSeconds(3),   // 显示时间
+        Duration.ofMillis(500)   // 淡出时间
+    );
+
+    private static final Title[] LAYER_TITLE_OBJECTS = new Title[LAYER_COUNT];
+    private static final Component[] LAYER_BOSS_BAR_NAMES = new Component[LAYER_COUNT];
+
+    static {
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            LAYER_TITLE_OBJECTS[i] = Title.title(
+                Component.text(LAYER_TITLES[i], LAYER_TITLE_COLORS[i]),
+                Component.text(LAYER_SUBTITLES[i]),
+                LAYER_TITLE_TIMES
+            );
+            LAYER_BOSS_BAR_NAMES[i] = Component.text(LAYER_ORDINALS[i] + "：" + LAYER_TITLES[i]);
+        }
+    }
+
+    // ========== 累计上升高度文本 ==========
+
+    // 滤镜颜色：0时为灰色，非0时统一为红色
+    public static final TextColor FILTER_GRAY = TextColor.color(160, 160, 160);
+    public static final TextColor FILTER_RED = TextColor.color(200, 0, 0);
+
+    private static final String RISE_PREFIX = "累计上升高度";
+
+    // 已清空时显示的文本
+    private static final Component RISE_ZERO_GRAY = Component.text(RISE_PREFIX + "0", FILTER_GRAY);
+    private static final Component RISE_ZERO_RED = Component.text(RISE_PREFIX + "0", FILTER_RED);
+
+    // 缓存的最大值（单位 0.1 格），超出时直接构建不缓存
+    private static final int RISE_CACHE_SIZE = 1024;
+
+    // 按 [颜色][0.1 格数] 缓存的文本，懒加载
+    private static final AtomicReferenceArray<Component> RISE_CACHE_GRAY = new AtomicReferenceArray<>(RISE_CACHE_SIZE);
+    private static final AtomicReferenceArray<Component> RISE_CACHE_RED = new AtomicReferenceArray<>(RISE_CACHE_SIZE);
+
+    // 累计上升高度文字的缓存命中与未命中次数（用于性能统计）
+    private static final LongAdder RISE_CACHE_HITS = new LongAdder();
+    private static final LongAdder RISE_CACHE_MISSES = new LongAdder();
+
+    // ========== 消息前缀 ==========
+
+    // 与聊天消息中的 §8[§5AbyssCurse§8] 前缀一致
+    public static final Component PREFIX = Component.text()
+        .append(Component.text("[", NamedTextColor.DARK_GRAY))
+        .append(Component.text("AbyssCurse", NamedTextColor.DARK_PURPLE))
+        .append(Component.text("] ", NamedTextColor.DARK_GRAY))
+        .build();
+
+    // ========== 调试信息标签 ==========
+
+    public static final Component DEBUG_SEPARATOR = Component.text(" | ", NamedTextColor.GRAY);
+    public static final Component DEBUG_MODE = Component.text("模式: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_POSITION = Component.text("位置: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_ABYSS_CENTER = Component.text("Abyss中心: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_RADIUS = Component.text(" 半径: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_RISE = Component.text("上升: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_SAFE_HEIGHT = Component.text("安全高度: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_LAYER = Component.text("层级: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_IN_ABYSS = Component.text("Abyss: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_YES_RED = Component.text("是", NamedTextColor.RED);
+    public static final Component DEBUG_NO_GREEN = Component.text("否", NamedTextColor.GREEN);
+    public static final Component DEBUG_EXEMPTION_ZONE = Component.text("豁免区: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_YES_GREEN = Component.text("是", NamedTextColor.GREEN);
+    public static final Component DEBUG_EXEMPT_PLAYER = Component.text("豁免者: ", NamedTextColor.GRAY);
+    public static final Component DEBUG_YES_GOLD = Component.text("是", NamedTextColor.GOLD);
+
+    private static final Component[] DEBUG_MODE_NAMES = new Component[PluginMode.values().length];
+
+    static {
+        for (PluginMode mode : PluginMode.values()) {
+            DEBUG_MODE_NAMES[mode.ordinal()] = Component.text(mode.name(), NamedTextColor.YELLOW);
+        }
+    }
+
+    private MessageCatalog() {
+    }
+
+    /**
+     * 获取层级 Title
+     * @param layer 层级（1-7）
+     * @return Title，层级无效时返回 null
+     */
+    public static Title layerTitle(int layer) {
+        if (layer < 1 || layer > LAYER_COUNT) {
+            return null;
+        }
+        return LAYER_TITLE_OBJECTS[layer - 1];
+    }
+
+    /**
+     * 获取层级 BossBar 名称
+     * @param layer 层级（1-7）
+     */
+    public static Component layerBossBarName(int layer) {
+        if (layer < 1 || layer > LAYER_COUNT) {
+            return Component.empty();
+        }
+        return LAYER_BOSS_BAR_NAMES[layer - 1];
+    }
+
+    /**
+     * 获取累计上升高度文本（精确到 0.1 格）
+     * @param totalRise 累计上升高度
+     * @param red 是否使用红色（否则为灰色）
+     */
+    public static Component riseText(double totalRise, boolean red) {
+        if (totalRise <= 0) {
+            return red ? RISE_ZERO_RED : RISE_ZERO_GRAY;
+        }
+
+        // 与 %.1f 一致的四舍五入
+        long tenths = Math.round(totalRise * 10);
+        if (tenths >= RISE_CACHE_SIZE) {
+            RISE_CACHE_MISSES.increment();
+            return buildRiseText(tenths, red);
+        }
+
+        AtomicReferenceArray<Component> cache = red ? RISE_CACHE_RED : RISE_CACHE_GRAY;
+        int index = (int) tenths;
+        Component cached = cache.get(index);
+        if (cached == null) {
+            RISE_CACHE_MISSES.increment();
+            cached = buildRiseText(tenths, red);
+            cache.set(index, cached);
+        } else {
+            RISE_CACHE_HITS.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * 累计上升高度文字的缓存命中次数
+     */
+    public static long getRiseCacheHits() {
+        return RISE_CACHE_HITS.sum();
+    }
+
+    /**
+     * 累计上升高度文字的缓存未命中次数（首次构建或超出缓存范围）
+     */
+    public static long getRiseCacheMisses() {
+        return RISE_CACHE_MISSES.sum();
+    }
+
+    private static Component buildRiseText(long tenths, boolean red) {
+        String text = RISE_PREFIX + (tenths / 10) + "." + (tenths % 10);
+        return Component.text(text, red ? FILTER_RED : FILTER_GRAY);
+    }
+
+    /**
+     * 获取调试信息中的模式名称
+     */
+    public static Component debugModeName(PluginMode mode) {
+        return DEBUG_MODE_NAMES[mode.ordinal()];
+    }
+}
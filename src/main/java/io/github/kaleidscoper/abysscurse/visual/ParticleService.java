@@ -0,0 +1,185 @@
+package io.github.kaleidscoper.abysscurse.visual;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 粒子效果服务
+ * 粒子效果预先编译为少量按数量发送的粒子团（每团一个数据包，由客户端按偏移随机散布），
+ * 只发送给视距内的玩家；同一 tick 内在同一方块位置重复触发的同一效果只发送一次
+ */
+public class ParticleService {
+    // 非强制粒子的客户端渲染距离（方块）
+    private static final int MAX_PARTICLE_RANGE = 32;
+
+    // 不死图腾粒子类型（启动时解析一次，不存在时为 null）
+    private final Particle totemParticle;
+
+    // 不死图腾效果：身体周围的粒子柱（原为 20 个单独粒子，拆为上下两团）与头顶的粒子团
+    private final Burst[] totemPattern;
+
+    // 当前 tick 已发送的效果（用于合并同一 tick 内的重复效果，访问时持有集合的锁）
+    private final Set<EmissionKey> emittedThisTick = new HashSet<>();
+    private int emittedTick = Integer.MIN_VALUE;
+
+    /**
+     * 粒子团：相对效果原点的中心偏移、数量、散布范围与速度
+     */
+    private static final class Burst {
+        private final double x;
+        private final double y;
+        private final double z;
+        private final int count;
+        private final double offsetX;
+        private final double offsetY;
+        private final double offsetZ;
+        private final double extra;
+
+        private Burst(double x, double y, double z, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.count = count;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.extra = extra;
+        }
+    }
+
+    /**
+     * 合并键：效果、世界与方块坐标
+     */
+    private static final class EmissionKey {
+        private final Object pattern;
+        private final UUID world;
+        private final int blockX;
+        private final int blockY;
+        private final int blockZ;
+
+        private EmissionKey(Object pattern, Location location) {
+            this.pattern = pattern;
+            this.world = location.getWorld().getUID();
+            this.blockX = location.getBlockX();
+            this.blockY = location.getBlockY();
+            this.blockZ = location.getBlockZ();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EmissionKey)) {
+                return false;
+            }
+            EmissionKey other = (EmissionKey) o;
+            return pattern == other.pattern && world.equals(other.world)
+                && blockX == other.blockX && blockY == other.blockY && blockZ == other.blockZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(pattern), world, blockX, blockY, blockZ);
+        }
+    }
+
+    public ParticleService(JavaPlugin plugin) {
+        this.totemParticle = resolveTotemParticle();
+        if (totemParticle == null) {
+            plugin.getLogger().warning("无法找到 TOTEM 粒子类型，不死图腾效果将不显示粒子");
+        }
+        // 粒子柱原为 x/z ±0.25、y 0-1.5 内均匀分布，按相同的中心与标准差拆成上下两团
+        this.totemPattern = new Burst[] {
+            new Burst(0, 0.375, 0, 10, 0.15, 0.2, 0.15, 0.0),
+            new Burst(0, 1.125, 0, 10, 0.15, 0.2, 0.15, 0.0),
+            // 头顶（站立玩家高度）的粒子团
+            new Burst(0, 1.8, 0, 30, 0.3, 0.3, 0.3, 0.1)
+        };
+    }
+
+    /**
+     * 在指定位置播放不死图腾粒子效果
+     * 必须在该位置所属的线程调用
+     */
+    public void playTotemParticles(Location location) {
+        if (totemParticle == null) {
+            return;
+        }
+        emit(totemParticle, totemPattern, location);
+    }
+
+    /**
+     * 发送一个预编译的粒子效果
+     * 同一 tick 内同一效果在同一方块位置已发送过、或视距内没有玩家时不发送
+     */
+    private void emit(Particle particle, Burst[] pattern, Location location) {
+        World world = location.getWorld();
+        if (world == null || !markEmitted(new EmissionKey(pattern, location))) {
+            return;
+        }
+
+        int radius = Math.min(world.getViewDistance() * 16, MAX_PARTICLE_RANGE);
+        List<Player> receivers = List.copyOf(location.getNearbyPlayers(radius));
+        if (receivers.isEmpty()) {
+            return;
+        }
+
+        // 所有粒子团共用同一组接收者
+        ParticleBuilder builder = new ParticleBuilder(particle).receivers(receivers);
+        double baseX = location.getX();
+        double baseY = location.getY();
+        double baseZ = location.getZ();
+        for (Burst burst : pattern) {
+            builder.location(world, baseX + burst.x, baseY + burst.y, baseZ + burst.z)
+                .count(burst.count)
+                .offset(burst.offsetX, burst.offsetY, burst.offsetZ)
+                .extra(burst.extra)
+                .spawn();
+        }
+    }
+
+    /**
+     * 记录本 tick 发送的效果
+     * @return 本 tick 尚未发送过时返回 true
+     */
+    private boolean markEmitted(EmissionKey key) {
+        int tick = Bukkit.getCurrentTick();
+        synchronized (emittedThisTick) {
+            if (tick != emittedTick) {
+                emittedThisTick.clear();
+                emittedTick = tick;
+            }
+            return emittedThisTick.add(key);
+        }
+    }
+
+    /**
+     * 获取不死图腾粒子类型
+     * 尝试多种可能的粒子名称以兼容不同版本
+     */
+    private static Particle resolveTotemParticle() {
+        String[] particleNames = {"TOTEM_OF_UNDYING", "TOTEM"};
+
+        for (String name : particleNames) {
+            try {
+                return Particle.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                // 继续尝试下一个
+            }
+        }
+        return null;
+    }
+}
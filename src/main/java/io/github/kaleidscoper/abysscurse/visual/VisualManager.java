@@ -1,32 +1,40 @@
 package io.github.kaleidscoper.abysscurse.visual;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.title.Title;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 视觉管理器
  * 负责管理 Title/Subtitle 层级提示和 BossBar
+ * 每个层级共用一个 BossBar，玩家层级变化时才在各层 BossBar 之间移动
  */
 public class VisualManager {
     private final JavaPlugin plugin;
     
-    // 存储玩家当前层级（用于检测层级变化）
-    private final Map<UUID, Integer> playerLayers = new HashMap<>();
+    // 存储玩家当前层级（用于检测层级变化，也表示玩家正在查看的 BossBar）
+    private final Map<UUID, Integer> playerLayers = new ConcurrentHashMap<>();
     
-    // 存储玩家的 BossBar（用于显示当前层级）
-    private final Map<UUID, org.bukkit.boss.BossBar> playerBossBars = new HashMap<>();
+    // 各层共用的 BossBar（下标 0 对应第一层），内容固定不变
+    private final BossBar[] layerBossBars = new BossBar[7];
     
     public VisualManager(JavaPlugin plugin) {
         this.plugin = plugin;
+        for (int layer = 1; layer <= layerBossBars.length; layer++) {
+            // 进度根据层级，1-7层对应0.14-1.0
+            layerBossBars[layer - 1] = BossBar.bossBar(
+                MessageCatalog.layerBossBarName(layer),
+                (float) layer / 7.0f,
+                getBossBarColor(layer),
+                BossBar.Overlay.PROGRESS
+            );
+        }
     }
     
     /**
@@ -50,150 +58,70 @@ public class VisualManager {
         UUID uuid = player.getUniqueId();
         Integer previousLayer = playerLayers.get(uuid);
         
-        // 如果层级变化，显示 Title
-        if (previousLayer == null || previousLayer != layer) {
-            showLayerTitle(player, layer);
-            playerLayers.put(uuid, layer);
+        // 层级未变化时不发送任何数据包
+        if (previousLayer != null && previousLayer == layer) {
+            return;
         }
         
-        // 更新 BossBar
-        updateBossBar(player, layer);
+        // 层级变化：显示 Title，并把玩家移到新层级的 BossBar
+        showLayerTitle(player, layer);
+        if (previousLayer != null) {
+            hideBossBar(player, previousLayer);
+        }
+        BossBar bossBar = getBossBar(layer);
+        if (bossBar != null) {
+            player.showBossBar(bossBar);
+            playerLayers.put(uuid, layer);
+        } else {
+            playerLayers.remove(uuid);
+        }
     }
     
     /**
-     * 显示层级 Title
+     * 显示层级 Title（使用消息目录中预先构建的 Title）
      */
     private void showLayerTitle(Player player, int layer) {
-        Component title;
-        Component subtitle;
-        NamedTextColor titleColor;
-        
-        switch (layer) {
-            case 1: // 第一层：阿比斯之渊
-                title = Component.text("阿比斯之渊");
-                subtitle = Component.text("Edge of the Abyss");
-                titleColor = NamedTextColor.RED;
-                break;
-            case 2: // 第二层：诱惑之森
-                title = Component.text("诱惑之森");
-                subtitle = Component.text("Forest of Temptation");
-                titleColor = NamedTextColor.GREEN;
-                break;
-            case 3: // 第三层：大断层
-                title = Component.text("大断层");
-                subtitle = Component.text("Great Fault");
-                titleColor = NamedTextColor.GRAY;
-                break;
-            case 4: // 第四层：巨人之杯
-                title = Component.text("巨人之杯");
-                subtitle = Component.text("Goblets of Giants");
-                titleColor = NamedTextColor.AQUA; // 天青色（使用 AQUA 作为近似）
-                break;
-            case 5: // 第五层：亡骸之海
-                title = Component.text("亡骸之海");
-                subtitle = Component.text("Sea of Corpses");
-                titleColor = NamedTextColor.BLUE;
-                break;
-            case 6: // 第六层：来无还之都
-                title = Component.text("来无还之都");
-                subtitle = Component.text("Capital of the Unreturned");
-                titleColor = NamedTextColor.GOLD;
-                break;
-            case 7: // 第七层：最终极之涡
-                title = Component.text("最终极之涡");
-                subtitle = Component.text("Final Maelstrom");
-                titleColor = NamedTextColor.WHITE;
-                break;
-            default:
-                return; // 不在任何层级
+        Title title = MessageCatalog.layerTitle(layer);
+        if (title == null) {
+            return; // 不在任何层级
         }
-        
-        Title titleObj = Title.title(
-            title.color(titleColor),
-            subtitle,
-            Title.Times.times(
-                Duration.ofMillis(500),  // 淡入时间
-                Duration.ofSeconds(3),   // 显示时间
-                Duration.ofMillis(500)   // 淡出时间
-            )
-        );
-        
-        player.showTitle(titleObj);
+        player.showTitle(title);
     }
     
     /**
-     * 更新 BossBar
+     * 获取层级共用的 BossBar
+     * @return BossBar，层级无效时返回 null
      */
-    private void updateBossBar(Player player, int layer) {
-        if (layer == 0) {
-            // 移除 BossBar
-            removeBossBar(player);
-            return;
-        }
-        
-        UUID uuid = player.getUniqueId();
-        org.bukkit.boss.BossBar bossBar = playerBossBars.get(uuid);
-        
-        if (bossBar == null) {
-            // 创建新的 BossBar
-            bossBar = plugin.getServer().createBossBar(
-                getLayerName(layer),
-                getBossBarColor(layer),
-                org.bukkit.boss.BarStyle.SOLID
-            );
-            bossBar.addPlayer(player);
-            playerBossBars.put(uuid, bossBar);
-        } else {
-            // 更新现有 BossBar
-            bossBar.setTitle(getLayerName(layer));
-            bossBar.setColor(getBossBarColor(layer));
+    private BossBar getBossBar(int layer) {
+        if (layer < 1 || layer > layerBossBars.length) {
+            return null;
         }
-        
-        // 设置进度（根据层级，1-7层对应0.14-1.0）
-        bossBar.setProgress((double)layer / 7.0);
+        return layerBossBars[layer - 1];
     }
     
     /**
-     * 获取层级名称
+     * 让玩家不再查看指定层级的 BossBar
      */
-    private String getLayerName(int layer) {
-        switch (layer) {
-            case 1: return "第一层：阿比斯之渊";
-            case 2: return "第二层：诱惑之森";
-            case 3: return "第三层：大断层";
-            case 4: return "第四层：巨人之杯";
-            case 5: return "第五层：亡骸之海";
-            case 6: return "第六层：来无还之都";
-            case 7: return "第七层：最终极之涡";
-            default: return "";
+    private void hideBossBar(Player player, int layer) {
+        BossBar bossBar = getBossBar(layer);
+        if (bossBar != null) {
+            player.hideBossBar(bossBar);
         }
     }
     
     /**
      * 获取 BossBar 颜色
      */
-    private org.bukkit.boss.BarColor getBossBarColor(int layer) {
+    private BossBar.Color getBossBarColor(int layer) {
         switch (layer) {
-            case 1: return org.bukkit.boss.BarColor.RED;
-            case 2: return org.bukkit.boss.BarColor.GREEN;
-            case 3: return org.bukkit.boss.BarColor.WHITE;
-            case 4: return org.bukkit.boss.BarColor.BLUE;
-            case 5: return org.bukkit.boss.BarColor.BLUE;
-            case 6: return org.bukkit.boss.BarColor.YELLOW;
-            case 7: return org.bukkit.boss.BarColor.WHITE;
-            default: return org.bukkit.boss.BarColor.PURPLE;
-        }
-    }
-    
-    /**
-     * 移除 BossBar
-     */
-    private void removeBossBar(Player player) {
-        UUID uuid = player.getUniqueId();
-        org.bukkit.boss.BossBar bossBar = playerBossBars.remove(uuid);
-        if (bossBar != null) {
-            bossBar.removePlayer(player);
-            bossBar.removeAll();
+            case 1: return BossBar.Color.RED;
+            case 2: return BossBar.Color.GREEN;
+            case 3: return BossBar.Color.WHITE;
+            case 4: return BossBar.Color.BLUE;
+            case 5: return BossBar.Color.BLUE;
+            case 6: return BossBar.Color.YELLOW;
+            case 7: return BossBar.Color.WHITE;
+            default: return BossBar.Color.PURPLE;
         }
     }
     
@@ -205,20 +133,23 @@ public class VisualManager {
             return;
         }
         
-        UUID uuid = player.getUniqueId();
-        playerLayers.remove(uuid);
-        removeBossBar(player);
+        Integer previousLayer = playerLayers.remove(player.getUniqueId());
+        if (previousLayer != null) {
+            hideBossBar(player, previousLayer);
+        }
     }
     
     /**
      * 停止视觉管理器
      */
     public void stop() {
-        // 清除所有 BossBar
-        for (org.bukkit.boss.BossBar bossBar : playerBossBars.values()) {
-            bossBar.removeAll();
+        // 让所有在线玩家不再查看 BossBar
+        for (Map.Entry<UUID, Integer> entry : playerLayers.entrySet()) {
+            Player player = plugin.getServer().getPlayer(entry.getKey());
+            if (player != null) {
+                hideBossBar(player, entry.getValue());
+            }
         }
-        playerBossBars.clear();
         playerLayers.clear();
     }
 }
@@ -0,0 +1,84 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 诅咒事件序列摘要
+ * 按发生顺序把诅咒触发、过期与生骸转换写成文本行（tick 玩家 事件 [层级 持续时间]），计算 SHA-256，
+ * 用于确认同一输入下不同版本触发的诅咒完全一致
+ */
+final class EventDigest implements SimulationEngine.Listener {
+    private final Function<SimulatedPlayer, Object> labels;
+    private final MessageDigest digest;
+    // 为 null 时不保留事件文本
+    private final List<String> lines;
+    private long events;
+
+    /**
+     * @param labels 玩家在事件行中的标识（如 UUID 或编号）
+     * @param keepLines 是否保留事件文本（用于输出事件列表）
+     */
+    EventDigest(Function<SimulatedPlayer, Object> labels, boolean keepLines) {
+        this.labels = labels;
+        this.lines = keepLines ? new ArrayList<>() : null;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void curseTriggered(SimulatedPlayer player, long tick, int layer, long duration) {
+        event(tick, player, "trigger", layer + " " + duration);
+    }
+
+    @Override
+    public void curseExpired(SimulatedPlayer player, long tick, int layer) {
+        event(tick, player, "expire", String.valueOf(layer));
+    }
+
+    @Override
+    public void narehateConverted(SimulatedPlayer player, long tick) {
+        event(tick, player, "narehate", "");
+    }
+
+    private void event(long tick, SimulatedPlayer player, String kind, String detail) {
+        String line = tick + " " + labels.apply(player) + " " + kind + (detail.isEmpty() ? "" : " " + detail);
+        if (lines != null) {
+            lines.add(line);
+        }
+        digest.update(line.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        events++;
+    }
+
+    long getEvents() {
+        return events;
+    }
+
+    /**
+     * 已记录的事件文本（构造时未要求保留时为空）
+     */
+    List<String> getLines() {
+        return lines != null ? Collections.unmodifiableList(lines) : Collections.emptyList();
+    }
+
+    /**
+     * 十六进制摘要（调用后不应再记录事件）
+     */
+    String hex() {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import io.github.kaleidscoper.abysscurse.config.LayerTable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 无服务端负载模拟
+ * 生成 N 个按合成移动方式（攀爬、下潜、挂机、鞘翅）移动的玩家，逐 tick 推进 {@link SimulationEngine}，
+ * 报告每 tick 的插件耗时、分配速率与诅咒/生骸数量，用于估算不同玩家数量所需的硬件。
+ * 同时用 {@link LayerScoreTracker} 记录每次检测的深度层级，对比检测次数、层级实际变化次数与层级记分写入次数
+ * （写入次数应接近层级变化次数，而不是检测次数；不计入耗时）。
+ * 只测量诅咒逻辑本身（与 Paper 上计算阶段相同的代码，在单线程中顺序执行），不包含发送给客户端的部分。
+ *
+ * 用法：LoadSimulator [玩家数量列表，如 200,500,1000] [tick 数] [随机种子]
+ */
+public final class LoadSimulator {
+    // 各移动方式的占比（攀爬、下潜、挂机、鞘翅）
+    private static final double[] PROFILE_WEIGHTS = {0.35, 0.30, 0.25, 0.10};
+    // 预热的 tick 数（让 JIT 完成编译，不计入结果）
+    private static final int WARMUP_TICKS = 2400;
+    private static final int ABYSS_RADIUS = 5;
+    private static final double RISE_THRESHOLD = 2.0;
+
+    private LoadSimulator() {
+    }
+
+    public static void main(String[] args) {
+        int[] playerCounts = Arrays.stream((args.length > 0 ? args[0] : "200,500,1000").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 6000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // 预热
+        run(playerCounts[0], WARMUP_TICKS, seed, threads);
+
+        System.out.println(String.format(Locale.ROOT,
+            "AbyssCurse 负载模拟：%d tick（%.1f 分钟游戏时间），随机种子 %d", ticks, ticks / 1200.0, seed));
+        System.out.println(String.format(Locale.ROOT, "%8s %10s %10s %10s %10s %12s %12s %9s %8s %8s %7s %9s",
+            "玩家", "平均µs", "p50µs", "p99µs", "最大µs", "检测tick p99", "分配KB/tick", "诅咒触发", "过期", "死亡", "生骸", "持续诅咒"));
+        List<Result> results = new ArrayList<>();
+        for (int players : playerCounts) {
+            Result result = run(players, ticks, seed, threads);
+            results.add(result);
+            System.out.println(result.format());
+        }
+
+        System.out.println();
+        System.out.println("层级记分（只在深度层级变化时写入）：");
+        System.out.println(String.format(Locale.ROOT, "%8s %12s %12s %12s %12s",
+            "玩家", "检测次数", "层级变化", "记分写入", "写入/检测"));
+        for (Result result : results) {
+            System.out.println(result.formatScores());
+        }
+    }
+
+    private static Result run(int playerCount, int ticks, long seed, com.sun.management.ThreadMXBean threads) {
+        SimulationEngine engine = createEngine(seed);
+        MovementProfile.Mover[] movers = spawnPlayers(engine, playerCount, seed);
+
+        // 深度层级（与 CurseTickPipeline 的快照阶段一致，合成玩家均在 Abyss 内）
+        LayerTable layerTable = SimulationEngine.defaultLayerTable();
+        LayerScoreTracker scores = new LayerScoreTracker();
+        UUID[] uuids = new UUID[playerCount];
+        int[] layers = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            uuids[i] = new UUID(0L, i);
+        }
+        long samples = 0;
+        long transitions = 0;
+
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[ticks];
+        long[] pipelineNanos = new long[(ticks + SimulationEngine.PIPELINE_PERIOD - 1) / SimulationEngine.PIPELINE_PERIOD];
+        int pipelineCount = 0;
+        long allocated = 0;
+        for (int t = 0; t < ticks; t++) {
+            move(engine, movers);
+
+            boolean pipelineTick = t % SimulationEngine.PIPELINE_PERIOD == 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            engine.advanceTo(t);
+            if (pipelineTick) {
+                engine.observeAll();
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated += threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            nanos[t] = elapsed;
+            if (pipelineTick) {
+                pipelineNanos[pipelineCount++] = elapsed;
+
+                for (SimulatedPlayer player : engine.getPlayers()) {
+                    int layer = layerTable.layerOf(player.y);
+                    samples++;
+                    if (layer != layers[player.id]) {
+                        transitions++;
+                        layers[player.id] = layer;
+                    }
+                    scores.record(uuids[player.id], layer);
+                }
+            }
+        }
+        return new Result(playerCount, ticks, nanos, Arrays.copyOf(pipelineNanos, pipelineCount), allocated, engine,
+            samples, transitions, scores.getWrites());
+    }
+
+    /**
+     * 创建模拟引擎（默认层级表，第七层诅咒过期后模拟死亡并在地表复活）
+     */
+    static SimulationEngine createEngine(long seed) {
+        return new SimulationEngine(SimulationEngine.defaultLayerTable(),
+            RISE_THRESHOLD, ABYSS_RADIUS, true, MovementProfile.SURFACE_Y, seed);
+    }
+
+    /**
+     * 按移动方式占比生成合成玩家
+     * @return 每名玩家的移动状态（下标为玩家编号）
+     */
+    static MovementProfile.Mover[] spawnPlayers(SimulationEngine engine, int playerCount, long seed) {
+        Random random = new Random(seed);
+        MovementProfile.Mover[] movers = new MovementProfile.Mover[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            MovementProfile profile = pickProfile(random);
+            double startY = -60.0 + random.nextDouble() * 150.0;
+            engine.spawn(startY, random.nextInt(ABYSS_RADIUS));
+            movers[i] = new MovementProfile.Mover(profile, new Random(random.nextLong()), startY);
+        }
+        return movers;
+    }
+
+    /**
+     * 所有合成玩家移动一个 tick
+     */
+    static void move(SimulationEngine engine, MovementProfile.Mover[] movers) {
+        for (SimulatedPlayer player : engine.getPlayers()) {
+            player.y = movers[player.id].step(player.y);
+        }
+    }
+
+    private static MovementProfile pickProfile(Random random) {
+        double u = random.nextDouble();
+        MovementProfile[] profiles = MovementProfile.values();
+        for (int i = 0; i < profiles.length; i++) {
+            u -= PROFILE_WEIGHTS[i];
+            if (u < 0) {
+                return profiles[i];
+            }
+        }
+        return profiles[profiles.length - 1];
+    }
+
+    /**
+     * 单次模拟的结果
+     */
+    private static final class Result {
+        private final int players;
+        private final int ticks;
+        private final long[] nanos;
+        private final long[] pipelineNanos;
+        private final long allocated;
+        private final SimulationEngine engine;
+        private final long scoreSamples;
+        private final long layerTransitions;
+        private final long scoreWrites;
+
+        private Result(int players, int ticks, long[] nanos, long[] pipelineNanos, long allocated, SimulationEngine engine,
+                       long scoreSamples, long layerTransitions, long scoreWrites) {
+            this.players = players;
+            this.ticks = ticks;
+            this.nanos = nanos.clone();
+            this.pipelineNanos = pipelineNanos.clone();
+            this.allocated = allocated;
+            this.engine = engine;
+            this.scoreSamples = scoreSamples;
+            this.layerTransitions = layerTransitions;
+            this.scoreWrites = scoreWrites;
+            Arrays.sort(this.nanos);
+            Arrays.sort(this.pipelineNanos);
+        }
+
+        private String format() {
+            double mean = Arrays.stream(nanos).average().orElse(0) / 1000.0;
+            return String.format(Locale.ROOT, "%8d %10.1f %10.1f %10.1f %10.1f %12.1f %12.1f %9d %8d %8d %7d %9d",
+                players, mean,
+                percentile(nanos, 0.50) / 1000.0, percentile(nanos, 0.99) / 1000.0,
+                nanos[nanos.length - 1] / 1000.0, percentile(pipelineNanos, 0.99) / 1000.0,
+                allocated / 1024.0 / ticks,
+                engine.getTotalTriggers(), engine.getExpiries(), engine.getDeaths(),
+                engine.getNarehates(), engine.getActiveCurses());
+        }
+
+        private String formatScores() {
+            return String.format(Locale.ROOT, "%8d %12d %12d %12d %11.2f%%",
+                players, scoreSamples, layerTransitions, scoreWrites,
+                scoreSamples == 0 ? 0.0 : 100.0 * scoreWrites / scoreSamples);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import java.util.Random;
+
+/**
+ * 合成玩家的移动方式
+ * 每种方式在目标高度之间移动，到达后停留一段时间再选下一个目标
+ */
+enum MovementProfile {
+    // 从深处向上攀爬（梯子、楼梯），到达地表后重新下探
+    CLIMBER(0.15, 0.3),
+    // 不断下潜，偶尔跳出坑洞，到底后慢慢爬回地表
+    DIVER(0.4, 0.15),
+    // 原地挂机，偶尔跳一下
+    AFK(0.0, 0.0),
+    // 鞘翅飞行，大幅度上下起伏
+    ELYTRA(1.5, 1.5);
+
+    // 地表高度（第一层顶部附近）
+    static final double SURFACE_Y = 90.0;
+    static final double BOTTOM_Y = -62.0;
+
+    private final double upSpeed;
+    private final double downSpeed;
+
+    MovementProfile(double upSpeed, double downSpeed) {
+        this.upSpeed = upSpeed;
+        this.downSpeed = downSpeed;
+    }
+
+    /**
+     * 单个玩家的移动状态
+     */
+    static final class Mover {
+        private final MovementProfile profile;
+        private final Random random;
+        private double target;
+        private int pause;
+        private double phase;
+        private final double base;
+
+        Mover(MovementProfile profile, Random random, double startY) {
+            this.profile = profile;
+            this.random = random;
+            this.target = startY;
+            this.phase = random.nextDouble() * Math.PI * 2;
+            this.base = 20.0 + random.nextDouble() * 40.0;
+        }
+
+        /**
+         * 计算下一 tick 的高度
+         */
+        double step(double y) {
+            switch (profile) {
+                case AFK:
+                    // 约每 10 秒跳一次（跳起 1.25 格，之后落回）
+                    if (y > target) {
+                        return Math.max(target, y - 0.4);
+                    }
+                    return random.nextInt(200) == 0 ? y + 1.25 : y;
+                case ELYTRA:
+                    phase += 0.02 + random.nextDouble() * 0.03;
+                    // StrictMath：各平台结果一致，模拟回归检查的摘要可复现
+                    return clamp(base + 45.0 * StrictMath.sin(phase));
+                default:
+                    return walk(y);
+            }
+        }
+
+        private double walk(double y) {
+            if (pause > 0) {
+                pause--;
+                return y;
+            }
+            if (Math.abs(target - y) < 1e-6) {
+                target = nextTarget(y);
+                pause = 20 + random.nextInt(100);
+                return y;
+            }
+            if (target > y) {
+                return Math.min(target, y + profile.upSpeed);
+            }
+            return Math.max(target, y - profile.downSpeed);
+        }
+
+        private double nextTarget(double y) {
+            if (profile == CLIMBER) {
+                if (y >= SURFACE_Y - 1) {
+                    return clamp(-60.0 + random.nextDouble() * 100.0);
+                }
+                return clamp(y + 5.0 + random.nextDouble() * 25.0);
+            }
+            // DIVER
+            if (y <= BOTTOM_Y + 1) {
+                return SURFACE_Y;
+            }
+            if (random.nextInt(4) == 0) {
+                return clamp(y + 1.0 + random.nextDouble() * 3.0);
+            }
+            return clamp(y - 5.0 - random.nextDouble() * 35.0);
+        }
+
+        private static double clamp(double y) {
+            return Math.max(BOTTOM_Y, Math.min(SURFACE_Y, y));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 模拟中的玩家
+ * 高度与诅咒臂由驱动方（合成移动或轨迹回放）写入，其余状态由 {@link SimulationEngine} 维护
+ */
+final class SimulatedPlayer {
+    final int id;
+    final PlayerCurseData data;
+
+    // 当前高度
+    double y;
+    // 诅咒臂（所在区块与 Abyss 中心区块的切比雪夫距离）
+    int armOfCurse;
+
+    // 当前诅咒开始的 tick
+    long curseStartTick;
+    // 深层诅咒暴露开始的 tick，-1 表示未暴露
+    long exposureStartTick = -1;
+    // 已转变为生骸（豁免诅咒）
+    boolean narehate;
+
+    // 待执行的过期检查与生骸转换（版本号变化即视为取消）
+    int expiryVersion;
+    int transformationVersion;
+    boolean transformationPending;
+
+    SimulatedPlayer(int id, double y, int armOfCurse, LongSupplier clock) {
+        this.id = id;
+        this.y = y;
+        this.armOfCurse = armOfCurse;
+        this.data = new PlayerCurseData(y, clock);
+    }
+
+    boolean isCursed() {
+        return data.getCurrentLayer() > 0;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+/**
+ * 模拟回归检查（test 阶段运行）
+ * 以固定规模与随机种子运行一次合成玩家模拟：先按合成移动方式活动，再全部原地停留超过最长诅咒持续时间，
+ * 检查诅咒确实会触发、过期且停留结束时已全部结束，
+ * 并与预期的诅咒事件序列摘要比较：诅咒逻辑的任何行为变化都会改变摘要，使检查失败。
+ * 行为变化是有意的时，确认新的结果后把 EXPECTED_DIGEST 更新为输出中的实际摘要。
+ * 不计时，规模足够小，只用于发现行为变化；负载测量见 {@link LoadSimulator}。
+ */
+public final class SimulationCheck {
+    private static final int PLAYERS = 100;
+    // 活动阶段（10 分钟游戏时间）
+    private static final int ACTIVE_TICKS = 12000;
+    // 停留阶段：长于最长 10 分钟的诅咒持续时间，期间所有诅咒都应过期
+    private static final int IDLE_TICKS = 12400;
+    private static final long SEED = 42L;
+
+    // 以上参数下诅咒事件序列的 SHA-256
+    private static final String EXPECTED_DIGEST = "d577cfdacb1f2beaa7fb3d1fdeb4e0c08ea346af325de6ad5ce708af8a2d2e6c";
+
+    private SimulationCheck() {
+    }
+
+    public static void main(String[] args) {
+        SimulationEngine engine = LoadSimulator.createEngine(SEED);
+        EventDigest digest = new EventDigest(player -> player.id, false);
+        engine.setListener(digest);
+        MovementProfile.Mover[] movers = LoadSimulator.spawnPlayers(engine, PLAYERS, SEED);
+
+        for (int t = 0; t < ACTIVE_TICKS + IDLE_TICKS; t++) {
+            if (t < ACTIVE_TICKS) {
+                LoadSimulator.move(engine, movers);
+            }
+            engine.advanceTo(t);
+            if (t % SimulationEngine.PIPELINE_PERIOD == 0) {
+                engine.observeAll();
+            }
+        }
+
+        String actual = digest.hex();
+        System.out.println("模拟回归检查：" + PLAYERS + " 名玩家，活动 " + ACTIVE_TICKS + " tick，停留 " + IDLE_TICKS
+            + " tick，随机种子 " + SEED);
+        System.out.println("诅咒触发 " + engine.getTotalTriggers() + " 次，过期 " + engine.getExpiries()
+            + "，死亡 " + engine.getDeaths() + "，生骸 " + engine.getNarehates() + "，事件 " + digest.getEvents());
+        System.out.println("事件序列摘要（SHA-256）：" + actual);
+
+        if (engine.getTotalTriggers() == 0 || engine.getExpiries() == 0) {
+            fail("诅咒没有触发或没有过期");
+        }
+        if (engine.getActiveCurses() != 0) {
+            fail("停留阶段结束时仍有 " + engine.getActiveCurses() + " 个诅咒未过期");
+        }
+        if (!EXPECTED_DIGEST.equals(actual)) {
+            fail("事件序列摘要与预期不一致（预期 " + EXPECTED_DIGEST + "），诅咒逻辑的行为发生了变化；"
+                + "如果变化是有意的，请将 SimulationCheck.EXPECTED_DIGEST 更新为实际摘要");
+        }
+        System.out.println("检查通过");
+    }
+
+    private static void fail(String message) {
+        System.err.println("模拟回归检查失败：" + message);
+        System.exit(1);
+    }
+}
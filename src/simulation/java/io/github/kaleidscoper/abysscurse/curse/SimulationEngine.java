@@ -0,0 +1,357 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import io.github.kaleidscoper.abysscurse.config.LayerTable;
+import io.github.kaleidscoper.abysscurse.data.PlayerCurseData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * 无服务端的诅咒逻辑模拟
+ * 上升统计与诅咒判定直接调用 {@link CurseTickPipeline#compute}（与服务端相同的代码）；
+ * 施加、过期、死亡复活与生骸转换按 CurseManager、NarehateManager 与监听器的规则以 tick 为单位模拟，
+ * 不调用任何 Bukkit API（不含药水效果、音效、粒子等发送给客户端的部分）。
+ * 时间为虚拟时钟（1 tick = 50 毫秒），累计上升记录的过期也按虚拟时钟计算；
+ * 诅咒过期与生骸转换放入按 tick 排序的队列，推进时间的开销只与发生的事件数量有关。
+ */
+final class SimulationEngine {
+    // 与 CurseTickPipeline 的检测周期一致
+    static final int PIPELINE_PERIOD = 10;
+    // 与 CurseManager 的诅咒检查周期一致
+    static final int CURSE_CHECK_PERIOD = 20;
+    // 生骸转换的掷骰间隔（tick）
+    static final long TICKS_PER_CHECK = NarehateHazard.CHECK_INTERVAL_MS / 50;
+
+    /**
+     * 诅咒事件（回放时用于对比不同版本触发的诅咒是否一致）
+     */
+    interface Listener {
+        default void curseTriggered(SimulatedPlayer player, long tick, int layer, long duration) {
+        }
+
+        default void curseExpired(SimulatedPlayer player, long tick, int layer) {
+        }
+
+        default void narehateConverted(SimulatedPlayer player, long tick) {
+        }
+    }
+
+    /**
+     * 队列中的定时事件
+     */
+    private static final class Timed implements Comparable<Timed> {
+        private final long tick;
+        // 同一 tick 内按加入顺序执行，保证结果确定
+        private final long sequence;
+        private final SimulatedPlayer player;
+        private final boolean expiry;
+        private final int version;
+
+        private Timed(long tick, long sequence, SimulatedPlayer player, boolean expiry, int version) {
+            this.tick = tick;
+            this.sequence = sequence;
+            this.player = player;
+            this.expiry = expiry;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(Timed other) {
+            int byTick = Long.compare(tick, other.tick);
+            return byTick != 0 ? byTick : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final CurseTickPipeline.Parameters parameters;
+    private final Random random;
+    // 第七层诅咒过期后是否模拟死亡并在 respawnY 复活（回放时死亡与复活来自轨迹）
+    private final boolean simulateDeaths;
+    private final double respawnY;
+
+    private final List<SimulatedPlayer> players = new ArrayList<>();
+    private final PriorityQueue<Timed> queue = new PriorityQueue<>();
+    private long sequence;
+    private long tick;
+    private Listener listener = new Listener() {
+    };
+
+    // 统计（下标为层级，0 不使用）
+    private final long[] triggers = new long[LayerTable.LAYER_COUNT + 1];
+    private long expiries;
+    private long deaths;
+    private long narehates;
+
+    SimulationEngine(LayerTable layerTable, double riseThreshold, int abyssRadius,
+                     boolean simulateDeaths, double respawnY, long seed) {
+        this.parameters = new CurseTickPipeline.Parameters(layerTable, riseThreshold, abyssRadius);
+        this.simulateDeaths = simulateDeaths;
+        this.respawnY = respawnY;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 与 config.yml 默认值一致的层级表
+     */
+    static LayerTable defaultLayerTable() {
+        return new LayerTable(
+            new double[] {85.0, 75.0, 40.0, 0.0, -8.0, -28.0, -64.0},
+            new double[] {96.0, 85.0, 75.0, 40.0, 0.0, -8.0, -28.0});
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    SimulatedPlayer spawn(double y, int armOfCurse) {
+        SimulatedPlayer player = new SimulatedPlayer(players.size(), y, armOfCurse, this::currentMillis);
+        players.add(player);
+        return player;
+    }
+
+    List<SimulatedPlayer> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    long getTick() {
+        return tick;
+    }
+
+    /**
+     * 虚拟时钟（毫秒）
+     */
+    long currentMillis() {
+        return tick * 50L;
+    }
+
+    /**
+     * 推进到指定 tick，依次执行其间到期的诅咒过期与生骸转换
+     */
+    void advanceTo(long target) {
+        while (!queue.isEmpty() && queue.peek().tick <= target) {
+            Timed timed = queue.poll();
+            tick = Math.max(tick, timed.tick);
+            if (timed.expiry) {
+                if (timed.version == timed.player.expiryVersion) {
+                    expireCurse(timed.player);
+                }
+            } else if (timed.version == timed.player.transformationVersion) {
+                timed.player.transformationPending = false;
+                convertToNarehate(timed.player);
+            }
+        }
+        tick = Math.max(tick, target);
+    }
+
+    /**
+     * 对所有玩家执行一轮诅咒检测（合成负载：所有玩家在同一 tick 检测）
+     */
+    void observeAll() {
+        for (SimulatedPlayer player : players) {
+            observe(player, player.y, true, player.armOfCurse);
+        }
+    }
+
+    /**
+     * 在当前 tick 对一个玩家执行诅咒检测
+     * @param affected 所在位置是否受诅咒影响（在 Abyss 内且不在豁免区内；生骸始终不受影响）
+     */
+    void observe(SimulatedPlayer player, double y, boolean affected, int armOfCurse) {
+        player.y = y;
+        boolean cursable = affected && !player.narehate;
+        player.armOfCurse = cursable ? armOfCurse : 0;
+        CurseTickPipeline.Snapshot snapshot = new CurseTickPipeline.Snapshot(
+            null, player.data, player.data.copyTracking(), y, cursable, player.armOfCurse);
+        CurseTickPipeline.Outcome outcome = CurseTickPipeline.compute(snapshot, parameters);
+        if (outcome != null && player.data.commitTracking(outcome.tracking) && outcome.layer > 0) {
+            applyCurse(player, outcome.layer, outcome.duration);
+        }
+    }
+
+    // ========== 诅咒 ==========
+
+    /**
+     * 对应 CurseManager.applyCurse 与 EffectManager 记录深层诅咒暴露
+     */
+    private void applyCurse(SimulatedPlayer player, int layer, long duration) {
+        PlayerCurseData data = player.data;
+        data.setCurrentLayer(layer);
+        data.setCurseDuration(duration);
+        player.curseStartTick = tick;
+        triggers[layer]++;
+        listener.curseTriggered(player, tick, layer, duration);
+
+        // 过期检查每 20 tick 一次，从施加诅咒时开始计时
+        long checks = Math.max(1, (duration + CURSE_CHECK_PERIOD - 1) / CURSE_CHECK_PERIOD);
+        schedule(player, tick + checks * CURSE_CHECK_PERIOD, true, ++player.expiryVersion);
+
+        if (layer >= CurseManager.DEEP_CURSE_LAYER) {
+            if (player.exposureStartTick < 0) {
+                player.exposureStartTick = tick;
+            }
+            if (!player.transformationPending) {
+                scheduleTransformation(player);
+            }
+        } else {
+            endExposure(player);
+        }
+    }
+
+    /**
+     * 对应 CurseManager.handleCurseExpiry
+     */
+    private void expireCurse(SimulatedPlayer player) {
+        int layer = player.data.getCurrentLayer();
+        if (layer == 0) {
+            return;
+        }
+        endExposure(player);
+        player.data.setCurrentLayer(0);
+        expiries++;
+        listener.curseExpired(player, tick, layer);
+
+        // 第七层：诅咒结束后强制击杀
+        if (layer == LayerTable.LAYER_COUNT && simulateDeaths) {
+            death(player, player.y);
+            respawn(player, respawnY);
+        }
+    }
+
+    // ========== 生骸 ==========
+
+    /**
+     * 对应 NarehateManager.scheduleTransformation
+     */
+    private void scheduleTransformation(SimulatedPlayer player) {
+        long exposure = tick - player.exposureStartTick;
+        int elapsedChecks = (int) (exposure / TICKS_PER_CHECK);
+        int check = NarehateHazard.sampleTransformationCheck(elapsedChecks, random.nextDouble());
+        long due = player.exposureStartTick + check * TICKS_PER_CHECK;
+        player.transformationPending = true;
+        schedule(player, Math.max(tick + 1, due), false, ++player.transformationVersion);
+    }
+
+    private void cancelTransformation(SimulatedPlayer player) {
+        player.transformationPending = false;
+        player.transformationVersion++;
+    }
+
+    private void endExposure(SimulatedPlayer player) {
+        player.exposureStartTick = -1;
+        cancelTransformation(player);
+    }
+
+    /**
+     * 对应 NarehateManager.convertToNarehate：清除诅咒并加入豁免者
+     */
+    private void convertToNarehate(SimulatedPlayer player) {
+        endExposure(player);
+        player.data.clearRiseRecords();
+        player.data.setCurrentLayer(0);
+        player.expiryVersion++;
+        player.narehate = true;
+        narehates++;
+        listener.narehateConverted(player, tick);
+    }
+
+    // ========== 进入、退出、死亡与复活（对应监听器） ==========
+
+    /**
+     * 玩家进入：已过期的诅咒被清除，从当前高度重新开始统计，深层诅咒仍在持续则继续生骸计时
+     * 注意：与服务端一致，进入时不会重新启动诅咒检查
+     */
+    void join(SimulatedPlayer player, double y) {
+        PlayerCurseData data = player.data;
+        if (player.isCursed() && tick - player.curseStartTick >= data.getCurseDuration()) {
+            data.setCurrentLayer(0);
+        }
+        player.y = y;
+        data.setLastY(y);
+        data.clearRiseRecords();
+
+        if (player.exposureStartTick >= 0) {
+            if (data.getCurrentLayer() >= CurseManager.DEEP_CURSE_LAYER) {
+                if (!player.transformationPending) {
+                    scheduleTransformation(player);
+                }
+            } else {
+                player.exposureStartTick = -1;
+            }
+        }
+    }
+
+    /**
+     * 玩家退出：诅咒检查随玩家离线停止，取消待执行的生骸转换（保留暴露开始时间）
+     */
+    void quit(SimulatedPlayer player) {
+        player.expiryVersion++;
+        cancelTransformation(player);
+    }
+
+    /**
+     * 玩家死亡：清除诅咒与累计上升，安全高度重置为死亡位置
+     */
+    void death(SimulatedPlayer player, double y) {
+        PlayerCurseData data = player.data;
+        data.setCurrentLayer(0);
+        data.clearRiseRecords();
+        data.setSafeHeight(y);
+        data.setLastY(y);
+        endExposure(player);
+        player.expiryVersion++;
+        deaths++;
+    }
+
+    /**
+     * 玩家复活：安全高度重置为复活位置
+     */
+    void respawn(SimulatedPlayer player, double y) {
+        PlayerCurseData data = player.data;
+        data.setSafeHeight(y);
+        data.setLastY(y);
+        data.clearRiseRecords();
+        player.y = y;
+    }
+
+    private void schedule(SimulatedPlayer player, long at, boolean expiry, int version) {
+        queue.add(new Timed(at, sequence++, player, expiry, version));
+    }
+
+    // ========== 统计 ==========
+
+    long getTriggers(int layer) {
+        return triggers[layer];
+    }
+
+    long getTotalTriggers() {
+        long total = 0;
+        for (long count : triggers) {
+            total += count;
+        }
+        return total;
+    }
+
+    long getExpiries() {
+        return expiries;
+    }
+
+    long getDeaths() {
+        return deaths;
+    }
+
+    long getNarehates() {
+        return narehates;
+    }
+
+    int getActiveCurses() {
+        int active = 0;
+        for (SimulatedPlayer player : players) {
+            if (player.isCursed()) {
+                active++;
+            }
+        }
+        return active;
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.kaleidscoper.abysscurse.curse;
+
+import io.github.kaleidscoper.abysscurse.config.LayerTable;
+import io.github.kaleidscoper.abysscurse.trace.TraceFormat;
+import io.github.kaleidscoper.abysscurse.trace.TraceReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 轨迹回放
+ * 读取服务器录制的移动轨迹（trace.enabled），按录制时的 tick 驱动 {@link SimulationEngine}（虚拟时钟，不等待真实时间），
+ * 输出回放速度与诅咒触发、过期、生骸转换的事件序列摘要（SHA-256）。
+ * 同一轨迹、同一参数与随机种子下摘要应保持不变，可用来确认优化没有改变触发的诅咒；
+ * 摘要不同时用 --out 输出两个版本的事件列表逐行比较。
+ * 豁免区不参与回放（轨迹中没有豁免区配置），生骸转换的随机数由 --seed 决定。
+ *
+ * 用法：TraceReplay &lt;轨迹文件&gt; [--abyss 中心X,中心Z] [--radius 半径] [--threshold 上升阈值] [--seed 随机种子] [--out 事件列表文件]
+ * 未指定 --abyss 时按 WORLD 模式回放（下界与末地以外的世界均受影响，诅咒臂为 0）
+ */
+public final class TraceReplay {
+
+    private TraceReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("用法：TraceReplay <轨迹文件> [--abyss 中心X,中心Z] [--radius 半径] [--threshold 上升阈值] [--seed 随机种子] [--out 事件列表文件]");
+            System.exit(1);
+        }
+
+        File trace = new File(args[0]);
+        Integer centerX = null;
+        int centerZ = 0;
+        int radius = 5;
+        double threshold = 2.0;
+        long seed = 42L;
+        File out = null;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--abyss":
+                    String[] center = value.split(",");
+                    centerX = Integer.parseInt(center[0].trim());
+                    centerZ = Integer.parseInt(center[1].trim());
+                    break;
+                case "--radius":
+                    radius = Integer.parseInt(value);
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = new File(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+
+        Replay replay = new Replay(new SimulationEngine(SimulationEngine.defaultLayerTable(), threshold, radius,
+            false, 0.0, seed), centerX, centerZ, radius, out != null);
+        long start = System.nanoTime();
+        TraceReader.read(trace, replay);
+        long wallNanos = System.nanoTime() - start;
+        replay.report(trace, wallNanos);
+
+        if (out != null) {
+            try (PrintWriter writer = new PrintWriter(out, StandardCharsets.UTF_8)) {
+                for (String line : replay.digest.getLines()) {
+                    writer.println(line);
+                }
+            }
+            System.out.println("事件列表已写入 " + out);
+        }
+    }
+
+    /**
+     * 把轨迹记录转换为引擎调用，并按顺序记录诅咒事件
+     */
+    private static final class Replay implements TraceReader.Visitor {
+        private final SimulationEngine engine;
+        // ABYSS 模式的中心（为 null 时按 WORLD 模式）
+        private final Integer centerX;
+        private final int centerZ;
+        private final int radius;
+
+        private final Map<Integer, UUID> uuids = new HashMap<>();
+        private final Map<Integer, String> worlds = new HashMap<>();
+        private final Map<Integer, SimulatedPlayer> players = new HashMap<>();
+        private final Map<SimulatedPlayer, UUID> playerUuids = new HashMap<>();
+        private final EventDigest digest;
+
+        private long records;
+        private long firstTick = -1;
+        private long lastTick;
+
+        private Replay(SimulationEngine engine, Integer centerX, int centerZ, int radius, boolean keepEvents) {
+            this.engine = engine;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = radius;
+            this.digest = new EventDigest(playerUuids::get, keepEvents);
+            engine.setListener(digest);
+        }
+
+        @Override
+        public void player(int id, UUID uuid) {
+            uuids.put(id, uuid);
+        }
+
+        @Override
+        public void world(int id, String name) {
+            worlds.put(id, name);
+        }
+
+        @Override
+        public void record(byte type, int tick, int playerId, int world, int x, double y, int z) {
+            records++;
+            if (firstTick < 0) {
+                firstTick = tick;
+            }
+            // Folia 下不同区域线程的记录可能稍有乱序，晚到的记录按当前 tick 处理
+            engine.advanceTo(tick);
+            lastTick = engine.getTick();
+
+            SimulatedPlayer player = players.get(playerId);
+            if (player == null) {
+                player = engine.spawn(y, 0);
+                players.put(playerId, player);
+                playerUuids.put(player, uuids.getOrDefault(playerId, new UUID(0L, playerId)));
+            }
+
+            switch (type) {
+                case TraceFormat.SAMPLE:
+                    int arm = armOfCurse(x, z);
+                    engine.observe(player, y, isInAbyss(world, arm), arm);
+                    break;
+                case TraceFormat.JOIN:
+                    engine.join(player, y);
+                    break;
+                case TraceFormat.QUIT:
+                    engine.quit(player);
+                    break;
+                case TraceFormat.DEATH:
+                    engine.death(player, y);
+                    break;
+                case TraceFormat.RESPAWN:
+                    engine.respawn(player, y);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 对应 RegionManager.isInAbyss（WORLD 模式按世界名判断主世界）
+         */
+        private boolean isInAbyss(int world, int arm) {
+            if (centerX == null) {
+                String name = worlds.getOrDefault(world, "");
+                return !name.endsWith("_nether") && !name.endsWith("_the_end");
+            }
+            return arm <= radius;
+        }
+
+        /**
+         * 对应 RegionManager.getArmOfCurse（区块切比雪夫距离）
+         */
+        private int armOfCurse(int x, int z) {
+            if (centerX == null) {
+                return 0;
+            }
+            int dx = Math.abs((x >> 4) - (centerX >> 4));
+            int dz = Math.abs((z >> 4) - (centerZ >> 4));
+            return Math.max(dx, dz);
+        }
+
+        private void report(File trace, long wallNanos) {
+            long ticks = firstTick < 0 ? 0 : lastTick - firstTick;
+            double wallMs = wallNanos / 1_000_000.0;
+            double speedup = wallMs > 0 ? ticks * 50.0 / wallMs : 0;
+
+            System.out.println("AbyssCurse 轨迹回放：" + trace);
+            System.out.println(String.format(Locale.ROOT, "记录 %d 条，玩家 %d 名，%d tick（%.1f 分钟游戏时间）",
+                records, players.size(), ticks, ticks / 1200.0));
+            System.out.println(String.format(Locale.ROOT, "耗时 %.1f ms，%.0f 倍实时速度", wallMs, speedup));
+            StringBuilder layers = new StringBuilder();
+            for (int layer = 1; layer <= LayerTable.LAYER_COUNT; layer++) {
+                layers.append(layer == 1 ? "" : " / ").append(engine.getTriggers(layer));
+            }
+            System.out.println(String.format(Locale.ROOT, "诅咒触发 %d 次（各层 %s），过期 %d，死亡 %d，生骸 %d",
+                engine.getTotalTriggers(), layers, engine.getExpiries(), engine.getDeaths(), engine.getNarehates()));
+            System.out.println("事件序列摘要（SHA-256）：" + digest.hex());
+        }
+    }
+}